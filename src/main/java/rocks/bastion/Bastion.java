@@ -10,9 +10,14 @@ import rocks.bastion.core.builder.PostExecutionBuilder;
 import rocks.bastion.core.configuration.BastionConfigurationLoader;
 import rocks.bastion.core.configuration.Configuration;
 import rocks.bastion.core.configuration.GlobalRequestAttributes;
+import rocks.bastion.core.feeder.Feeder;
 import rocks.bastion.core.json.JsonRequest;
+import rocks.bastion.core.load.LoadRunner;
 import rocks.bastion.core.resource.ResourceLoader;
 
+import java.util.Map;
+import java.util.function.Function;
+
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -51,6 +56,9 @@ import static java.util.Objects.requireNonNull;
  * <li>{@link rocks.bastion.core.builder.CallbackBuilder#thenDo(Callback)}: Specify a callback function to execute when the response is received and it passes its assertions. We
  * recommend supplying the {@link Callback} as a lambda function.</li>
  * <li>{@link ExecuteRequestBuilder#call()}: Starts the Bastion test by executing the HTTP request.</li>
+ * <li>{@link ExecuteRequestBuilder#callAsync()}: Starts the Bastion test by executing the HTTP request on another thread,
+ * returning a {@link java.util.concurrent.CompletableFuture} which completes once the test has been executed. This allows
+ * independent tests to execute their requests concurrently.</li>
  * </ul>
  * <p>
  * You cannot call any of the methods above before any of the methods listed before it. Therefore, in your test, you should call
@@ -140,6 +148,16 @@ import static java.util.Objects.requireNonNull;
  * {@link rocks.bastion.core.builder.CallbackBuilder#thenDo(Callback)} method of the Bastion test builder as a Java 8
  * lambda.
  * </p>
+ * <h1>Load Testing</h1>
+ * <p>
+ * The same requests and assertions used for functional tests can be used to put a server under load by passing the request
+ * to the {@link #load(HttpRequest)} method. The returned {@link LoadRunner} sends the request repeatedly, from as many
+ * threads as you specify, and returns a {@link rocks.bastion.core.load.LoadReport report} containing the latency
+ * percentiles, throughput and number of failed requests. Use {@link LoadRunner#atFixedRate(double)} to send requests at a
+ * fixed rate instead of as fast as the server responds. To send a different request for every row of a CSV or JSON Lines
+ * file, such as a templated request whose variables are taken from the row, pass a {@link Feeder} to
+ * {@link #load(Feeder, Function)} instead.
+ * </p>
  * <h1>Groovy Tests</h1>
  * <p>
  * Certain features of Bastion such as the {@link rocks.bastion.core.json.JsonRequest} and the {@link rocks.bastion.core.json.JsonResponseAssertions}
@@ -193,6 +211,45 @@ public final class Bastion {
         return BastionFactory.getDefaultBastionFactory().getBastion("", request);
     }
 
+    /**
+     * <p>
+     * Starts building a load run which will execute the specified HTTP request many times and report on the latency and
+     * throughput achieved. The method returns a {@link LoadRunner} which lets you bind a model type, add assertions and
+     * configure the number of iterations, duration, concurrency and warm-up of the run.
+     * </p>
+     * <p>
+     * Each request sent during the load run goes through the same decoding and assertion steps as a normal Bastion test,
+     * so the same request and assertion definitions can be used for both functional tests and performance checks.
+     * </p>
+     *
+     * @param request The HTTP request that Bastion will execute during the load run.
+     * @return A load runner which will let you configure and start the load run.
+     */
+    public static LoadRunner<Object> load(HttpRequest request) {
+        return new LoadRunner<>(BastionFactory.getDefaultBastionFactory(), request);
+    }
+
+    /**
+     * <p>
+     * Starts building a load run which will execute one HTTP request for every row returned by the specified feeder. The
+     * request for each row is created by the given function just before it is sent, for example:
+     * </p>
+     * <pre>{@code
+     * Bastion.load(Feeder.fromCsv("classpath:/sushi.csv"), row -> JsonRequest.fromTemplate(HttpMethod.POST, "http://sushi.test/sushi", "classpath:/sushi-template.json", row))
+     * }</pre>
+     * <p>
+     * The run stops early if the feeder runs out of rows. Otherwise, the returned {@link LoadRunner} is configured in the same
+     * way as one returned by {@link #load(HttpRequest)}.
+     * </p>
+     *
+     * @param feeder         The feeder which supplies a row of test data for each request.
+     * @param requestFactory The function which creates the HTTP request to execute for a row.
+     * @return A load runner which will let you configure and start the load run.
+     */
+    public static LoadRunner<Object> load(Feeder feeder, Function<? super Map<String, String>, ? extends HttpRequest> requestFactory) {
+        return new LoadRunner<>(BastionFactory.getDefaultBastionFactory(), feeder, requestFactory);
+    }
+
     /**
      * <p>
      * Loads Bastion's configuration from the provided resource location. The resource location should be a valid .yml file that
@@ -19,7 +19,15 @@ public interface Assertions<M> {
     /**
      * The constant representing the assertions which always pass.
      */
-    Assertions<?> NO_ASSERTIONS = (statusCode, response, model) -> {
+    Assertions<?> NO_ASSERTIONS = new Assertions<Object>() {
+        @Override
+        public void execute(int statusCode, ModelResponse<?> response, Object model) {
+        }
+
+        @Override
+        public boolean requiresModel() {
+            return false;
+        }
     };
 
     /**
@@ -46,6 +54,18 @@ public interface Assertions<M> {
      */
     void execute(int statusCode, ModelResponse<? extends M> response, M model) throws AssertionError;
 
+    /**
+     * Whether these assertions make use of the {@code model} passed to {@link #execute(int, ModelResponse, Object)}.
+     * Bastion only decodes the response body into a model when it is needed, so assertions which only inspect the status
+     * code, the headers or the {@link ModelResponse response} itself should override this method to return
+     * {@literal false}. Such assertions may receive a {@literal null} model. Defaults to {@literal true}.
+     *
+     * @return {@literal true} if these assertions need the decoded model; {@literal false}, otherwise
+     */
+    default boolean requiresModel() {
+        return true;
+    }
+
     /**
      * Combine two {@linkplain Assertions} objects together by sequential composition. This function will return a new
      * {@linkplain Assertions} object which will first execute this {@linkplain Assertions} objects and then execute the
@@ -56,9 +76,18 @@ public interface Assertions<M> {
      */
     default Assertions<M> and(Assertions<M> after) {
         Objects.requireNonNull(after);
-        return (statusCode, response, model) -> {
-            execute(statusCode, response, model);
-            after.execute(statusCode, response, model);
+        Assertions<M> before = this;
+        return new Assertions<M>() {
+            @Override
+            public void execute(int statusCode, ModelResponse<? extends M> response, M model) {
+                before.execute(statusCode, response, model);
+                after.execute(statusCode, response, model);
+            }
+
+            @Override
+            public boolean requiresModel() {
+                return before.requiresModel() || after.requiresModel();
+            }
         };
     }
 
@@ -1,16 +1,26 @@
 package rocks.bastion.core;
 
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.http.entity.ContentType;
 import rocks.bastion.core.builder.*;
 import rocks.bastion.core.configuration.Configuration;
 import rocks.bastion.core.event.*;
 import rocks.bastion.core.model.DecodingHints;
 import rocks.bastion.core.model.ResponseDecoder;
+import rocks.bastion.core.model.ResponseDecoderRegistry;
 import rocks.bastion.core.model.ResponseDecodersRegistrar;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static java.lang.String.format;
 
@@ -23,23 +33,28 @@ import static java.lang.String.format;
  */
 public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, ResponseDecodersRegistrar, BastionEventPublisher, PostExecutionBuilder<MODEL> {
 
+    private static final ExecutorService ASYNC_EXECUTOR = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("bastion-async-%d").setDaemon(true).build());
+
     private String message;
     private Collection<BastionListener> bastionListenerCollection;
-    private Collection<ResponseDecoder> modelConverters;
+    private ResponseDecoderRegistry decoderRegistry;
+    private boolean sharedDecoderRegistry;
     private HttpRequest request;
     private Class<MODEL> modelType;
     private boolean suppressAssertions;
     private Assertions<? super MODEL> assertions;
     private Callback<? super MODEL> callback;
-    private MODEL model;
     private ModelResponse<MODEL> modelResponse;
     private Configuration configuration;
+    private PreparedRequest preparedRequest;
 
     BastionBuilderImpl(String message, HttpRequest request) {
         Objects.requireNonNull(message);
         Objects.requireNonNull(request);
         bastionListenerCollection = new LinkedList<>();
-        modelConverters = new LinkedList<>();
+        decoderRegistry = new ResponseDecoderRegistry();
+        sharedDecoderRegistry = false;
         this.message = message;
         this.request = request;
         modelType = null;
@@ -95,11 +110,15 @@ public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, Respons
     @Override
     public PostExecutionBuilder<? extends MODEL> call() {
         modelResponse = null;
+        Response response = null;
         try {
             notifyListenersCallStarted(new BastionStartedEvent(request));
-            Response response = new RequestExecutor(request, getConfiguration()).execute();
-            model = decodeModel(response);
-            modelResponse = new ModelResponse<>(response, model);
+            response = (preparedRequest != null) ? preparedRequest.execute() : new RequestExecutor(request, getConfiguration()).execute();
+            Response receivedResponse = response;
+            modelResponse = ModelResponse.lazy(response, () -> decodeModel(receivedResponse));
+            if (isModelRequired()) {
+                modelResponse.getModel();
+            }
             executeAssertions(modelResponse);
             executeCallback(modelResponse);
             return this;
@@ -110,10 +129,51 @@ public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, Respons
             notifyListenersCallError(new BastionErrorEvent(request, modelResponse, t));
             return this;
         } finally {
-            notifyListenersCallFinished(new BastionFinishedEvent(request, modelResponse));
+            try {
+                notifyListenersCallFinished(new BastionFinishedEvent(request, modelResponse));
+            } finally {
+                pinStreamedModel(response);
+                closeStreamedResponse(response);
+            }
+        }
+    }
+
+    /**
+     * Decodes the model of a streamed response, unless it was already decoded, before the response is closed. The body of the
+     * response cannot be read once it is closed, so the model would otherwise be decoded from a body which is no longer there
+     * when it is first requested after the call.
+     */
+    private void pinStreamedModel(Response response) {
+        if ((modelResponse != null) && (response != null) && response.isStreamed()) {
+            try {
+                modelResponse.pinModel();
+            } catch (RuntimeException ignored) {
+                // the call did not need the model, so failing to decode it cannot affect the result
+            }
+        }
+    }
+
+    private static void closeStreamedResponse(Response response) {
+        if (response instanceof Closeable) {
+            try {
+                ((Closeable) response).close();
+            } catch (IOException ignored) {
+                // the response has already been processed, so failing to release its connection cannot affect the result
+            }
         }
     }
 
+    @Override
+    public CompletableFuture<PostExecutionBuilder<? extends MODEL>> callAsync() {
+        return callAsync(ASYNC_EXECUTOR);
+    }
+
+    @Override
+    public CompletableFuture<PostExecutionBuilder<? extends MODEL>> callAsync(Executor executor) {
+        Objects.requireNonNull(executor);
+        return CompletableFuture.supplyAsync(this::call, executor);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> AssertionsBuilder<? extends T> bind(Class<T> modelType) {
@@ -139,7 +199,7 @@ public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, Respons
 
     @Override
     public MODEL getModel() {
-        return model;
+        return (modelResponse == null) ? null : modelResponse.getModel();
     }
 
     @Override
@@ -150,7 +210,24 @@ public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, Respons
     @Override
     public void registerModelConverter(ResponseDecoder decoder) {
         Objects.requireNonNull(decoder);
-        modelConverters.add(decoder);
+        if (sharedDecoderRegistry) {
+            decoderRegistry = new ResponseDecoderRegistry(decoderRegistry);
+            sharedDecoderRegistry = false;
+        }
+        decoderRegistry.registerModelConverter(decoder);
+    }
+
+    /**
+     * Makes this builder decode responses using the decoders of the given registry, which is typically shared by all the
+     * builders created by the same {@link BastionFactory}. Decoders later registered with this builder are added to a
+     * private copy of the registry, leaving the shared registry unchanged.
+     *
+     * @param decoderRegistry The non-{@literal null} registry of decoders to use
+     */
+    public void setDecoderRegistry(ResponseDecoderRegistry decoderRegistry) {
+        Objects.requireNonNull(decoderRegistry);
+        this.decoderRegistry = decoderRegistry;
+        sharedDecoderRegistry = true;
     }
 
     private String getDescriptiveText() {
@@ -162,19 +239,34 @@ public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, Respons
     }
 
     private void executeCallback(ModelResponse<MODEL> modelResponse) {
-        callback.execute(modelResponse.getStatusCode(), modelResponse, modelResponse.getModel());
+        callback.execute(modelResponse.getStatusCode(), modelResponse, callback.requiresModel() ? modelResponse.getModel() : null);
     }
 
     private void executeAssertions(ModelResponse<MODEL> modelResponse) {
         if (!suppressAssertions) {
-            assertions.execute(modelResponse.getStatusCode(), modelResponse, modelResponse.getModel());
+            assertions.execute(modelResponse.getStatusCode(), modelResponse, assertions.requiresModel() ? modelResponse.getModel() : null);
         }
     }
 
+    /**
+     * Decides whether the model must be decoded straight away rather than only when it is first requested. This is the
+     * case when a model type is bound, so that responses which cannot be bound fail the test. Otherwise, the model is only
+     * decoded if the assertions or callback ask for it, so that the body of a streamed response goes to whichever of them
+     * needs it first: the model, or assertions which read the body themselves.
+     */
+    private boolean isModelRequired() {
+        return modelType != null;
+    }
+
     private MODEL decodeModel(Response response) {
-        DecodingHints decodingHints = new DecodingHints(modelType);
+        // once assertions have consumed a streamed body, the model is decoded from the representations they cached instead
+        if (response.isStreamed() && response.isBodyAvailable() && ((modelType == null) || modelType.isAssignableFrom(InputStream.class))) {
+            return castModel(response.getBody());
+        }
+        ContentType contentType = response.getContentType().orElse(ContentType.DEFAULT_TEXT);
+        DecodingHints decodingHints = new DecodingHints(modelType, contentType);
         Object decodedResponseModel = null;
-        for (ResponseDecoder converter : modelConverters) {
+        for (ResponseDecoder converter : decoderRegistry.getDecoders(contentType.getMimeType())) {
             decodedResponseModel = converter.decode(response, decodingHints).orElse(null);
             if (decodedResponseModel != null) {
                 break;
@@ -182,14 +274,18 @@ public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, Respons
         }
         MODEL model;
         if (isModelInstanceOfRequiredType(decodedResponseModel)) {
-            //noinspection unchecked
-            model = (MODEL) decodedResponseModel;
+            model = castModel(decodedResponseModel);
         } else {
             throw new AssertionError(format("Could not parse response into model object of type %s", modelType.getName()));
         }
         return model;
     }
 
+    @SuppressWarnings("unchecked")
+    private static <MODEL> MODEL castModel(Object model) {
+        return (MODEL) model;
+    }
+
     private boolean isModelInstanceOfRequiredType(Object decodedResponseModel) {
         return (modelType == null) || ((decodedResponseModel != null) && modelType.isAssignableFrom(decodedResponseModel.getClass()));
     }
@@ -201,4 +297,18 @@ public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, Respons
     public Configuration getConfiguration() {
         return configuration;
     }
+
+    /**
+     * Makes this builder send the given prepared request on every call instead of resolving its request again each time.
+     * This is used when the same request is sent many times, such as during a load run.
+     *
+     * @param preparedRequest A request prepared from the same {@link HttpRequest} that this builder was created with, or
+     *                        {@literal null} to resolve the request on every call
+     */
+    public void setPreparedRequest(PreparedRequest preparedRequest) {
+        if ((preparedRequest != null) && (preparedRequest.getRequest() != request)) {
+            throw new IllegalArgumentException("The prepared request should be prepared from the request of this builder.");
+        }
+        this.preparedRequest = preparedRequest;
+    }
 }
\ No newline at end of file
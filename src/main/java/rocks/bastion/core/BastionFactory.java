@@ -4,6 +4,7 @@ import rocks.bastion.Bastion;
 import rocks.bastion.core.builder.BastionBuilder;
 import rocks.bastion.core.configuration.BastionConfigurationLoader;
 import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.model.ResponseDecoderRegistry;
 
 import java.util.Objects;
 
@@ -13,7 +14,9 @@ import static java.util.Objects.*;
  * Creates and configures an instance of the {@link BastionBuilderImpl} fluent builder. A single factory can be designated as the
  * <i>Default</i> factory which is used by the {@link Bastion#request(String, HttpRequest)} method. Subclasses will generally
  * implement the {@link BastionFactory#prepareBastion(BastionBuilderImpl)} to further configure the instance with any additional
- * features necessary.
+ * features necessary. The {@link rocks.bastion.core.model.ResponseDecoder decoders} which every builder uses are registered
+ * once with the factory's {@link #getDecoderRegistry() decoder registry}, rather than once for every builder. The registry is
+ * built lazily, the first time it is needed, using the {@link #registerDecoders(ResponseDecoderRegistry)} method.
  */
 public abstract class BastionFactory {
 
@@ -21,6 +24,7 @@ public abstract class BastionFactory {
 
     private boolean suppressAssertions = false;
     private Configuration configuration;
+    private volatile ResponseDecoderRegistry decoderRegistry;
 
     /**
      * Gets the {@link BastionFactory} which is designated as the "Default" factory. This factory is the one used
@@ -64,6 +68,28 @@ public abstract class BastionFactory {
         this.configuration = configuration;
     }
 
+    /**
+     * Returns the registry of decoders shared by all the builders which this factory creates. Decoders registered with the
+     * registry are used by every request created afterwards. The registry is built, using
+     * {@link #registerDecoders(ResponseDecoderRegistry)}, the first time this method is called.
+     *
+     * @return The non-{@literal null} decoder registry of this factory
+     */
+    public ResponseDecoderRegistry getDecoderRegistry() {
+        ResponseDecoderRegistry currentDecoderRegistry = decoderRegistry;
+        if (currentDecoderRegistry == null) {
+            synchronized (this) {
+                if (decoderRegistry == null) {
+                    ResponseDecoderRegistry newDecoderRegistry = new ResponseDecoderRegistry();
+                    registerDecoders(newDecoderRegistry);
+                    decoderRegistry = newDecoderRegistry;
+                }
+                currentDecoderRegistry = decoderRegistry;
+            }
+        }
+        return currentDecoderRegistry;
+    }
+
     /**
      * Construct and initialise a new instance of the {@link BastionBuilderImpl} builder. By default, the returned builder
      * will bind the response to a plain {@linkplain Object} model. Also, the returned builder will use the specified
@@ -80,10 +106,31 @@ public abstract class BastionFactory {
         BastionBuilderImpl<Object> bastion = new BastionBuilderImpl<>(message, request);
         bastion.setSuppressAssertions(suppressAssertions);
         bastion.setConfiguration(getConfiguration());
+        bastion.setDecoderRegistry(getDecoderRegistry());
         prepareBastion(bastion);
         return bastion;
     }
 
+    /**
+     * Construct and initialise a new instance of the {@link BastionBuilderImpl} builder which will be used to send a single
+     * request as part of a {@link rocks.bastion.core.load.LoadRunner load run}. The returned builder is configured using
+     * the {@link #prepareLoadBastion(BastionBuilderImpl)} method instead of {@link #prepareBastion(BastionBuilderImpl)}, so
+     * that listeners meant for functional tests, such as those which report each request to a UI, are not notified of
+     * every request sent during the load run.
+     *
+     * @param message A non-{@literal null} String which describes the request that Bastion will be performing.
+     * @param request A non-{@literal null} instance of a {@linkplain HttpRequest} which will be performed by Bastion.
+     * @return A configured instance of the {@link BastionBuilderImpl} builder.
+     */
+    public BastionBuilderImpl<Object> getLoadBastion(String message, HttpRequest request) {
+        BastionBuilderImpl<Object> bastion = new BastionBuilderImpl<>(message, request);
+        bastion.setSuppressAssertions(suppressAssertions);
+        bastion.setConfiguration(getConfiguration());
+        bastion.setDecoderRegistry(getDecoderRegistry());
+        prepareLoadBastion(bastion);
+        return bastion;
+    }
+
     /**
      * Configures whether {@link BastionBuilderImpl} objects returned by this factory should be configured to suppress assertions or
      * not. When set to suppress assertions, Bastion will execute the HTTP request as normal as well as any callbacks provided
@@ -98,9 +145,30 @@ public abstract class BastionFactory {
     /**
      * Configures the specified instance of the {@link BastionBuilderImpl} builder. Factory subclasses must override this method to
      * configure the builder for use with external systems/libraries. An implementation will typically register event listeners
-     * or model converters to be used by Bastion.
+     * to be used by Bastion. Model converters which apply to every request should be registered with the
+     * {@link #getDecoderRegistry() decoder registry} instead.
      *
      * @param bastion The builder instance to configure.
      */
     protected abstract void prepareBastion(BastionBuilderImpl<?> bastion);
+
+    /**
+     * Registers the decoders which are shared by all the builders created by this factory. This is called once, the first
+     * time the {@link #getDecoderRegistry() decoder registry} is needed, and never from the factory's constructor, so
+     * implementations can safely make use of the fields of subclasses. The default implementation registers no decoders.
+     *
+     * @param decoderRegistry The registry to register the shared decoders with
+     */
+    protected void registerDecoders(ResponseDecoderRegistry decoderRegistry) {
+    }
+
+    /**
+     * Configures the specified instance of the {@link BastionBuilderImpl} builder for use in a {@link rocks.bastion.core.load.LoadRunner
+     * load run}. Any listeners registered by this method will be notified for every single request sent during a load run. The default
+     * implementation does nothing.
+     *
+     * @param bastion The builder instance to configure.
+     */
+    protected void prepareLoadBastion(BastionBuilderImpl<?> bastion) {
+    }
 }
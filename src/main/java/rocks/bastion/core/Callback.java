@@ -12,7 +12,15 @@ public interface Callback<M> {
     /**
      * The empty callback which does nothing.
      */
-    Callback<?> NO_OPERATION_CALLBACK = (statusCode, response, context) -> {
+    Callback<?> NO_OPERATION_CALLBACK = new Callback<Object>() {
+        @Override
+        public void execute(int statusCode, ModelResponse<?> response, Object model) {
+        }
+
+        @Override
+        public boolean requiresModel() {
+            return false;
+        }
     };
 
     /**
@@ -35,4 +43,14 @@ public interface Callback<M> {
      * @param model      The bound model which was extracted from the received HTTP response
      */
     void execute(int statusCode, ModelResponse<? extends M> response, M model);
+
+    /**
+     * Whether this callback makes use of the {@code model} passed to {@link #execute(int, ModelResponse, Object)}. See
+     * {@link Assertions#requiresModel()}. Defaults to {@literal true}.
+     *
+     * @return {@literal true} if this callback needs the decoded model; {@literal false}, otherwise
+     */
+    default boolean requiresModel() {
+        return true;
+    }
 }
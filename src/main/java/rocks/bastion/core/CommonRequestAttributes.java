@@ -28,6 +28,8 @@ public class CommonRequestAttributes {
      */
     public static final String EMPTY_BODY = "";
 
+    private static final long UNSET_TIMEOUT = -1;
+
     private String name;
     private String url;
     private HttpMethod method;
@@ -37,6 +39,10 @@ public class CommonRequestAttributes {
     private Collection<RouteParam> routeParams;
     private Object body;
     private long timeout;
+    private long connectTimeout;
+    private long readTimeout;
+    private long deadline;
+    private boolean streamResponse;
 
     /**
      * Constructs a new instance of this object containing the following initial defaults:
@@ -65,6 +71,8 @@ public class CommonRequestAttributes {
         headers = new LinkedList<>();
         queryParams = new LinkedList<>();
         routeParams = new LinkedList<>();
+        connectTimeout = UNSET_TIMEOUT;
+        readTimeout = UNSET_TIMEOUT;
         setBody(body);
     }
 
@@ -246,4 +254,89 @@ public class CommonRequestAttributes {
     public void setTimeout(long timeout) {
         this.timeout = timeout;
     }
+
+    /**
+     * See {@link HttpRequest#connectTimeout()}.
+     *
+     * @return the connect timeout for a request, or the {@link #timeout() general timeout} if no connect timeout was set
+     */
+    public long connectTimeout() {
+        return connectTimeout == UNSET_TIMEOUT ? timeout : connectTimeout;
+    }
+
+    /**
+     * Set the timeout for establishing the connection of a request.
+     * See {@link HttpRequest#connectTimeout()} for more details.
+     *
+     * @param connectTimeout the connect timeout (in milliseconds).
+     */
+    public void setConnectTimeout(long connectTimeout) {
+        requireNonNegative(connectTimeout);
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * See {@link HttpRequest#readTimeout()}.
+     *
+     * @return the read timeout for a request, or the {@link #timeout() general timeout} if no read timeout was set
+     */
+    public long readTimeout() {
+        return readTimeout == UNSET_TIMEOUT ? timeout : readTimeout;
+    }
+
+    /**
+     * Set the timeout for receiving response data of a request.
+     * See {@link HttpRequest#readTimeout()} for more details.
+     *
+     * @param readTimeout the read timeout (in milliseconds).
+     */
+    public void setReadTimeout(long readTimeout) {
+        requireNonNegative(readTimeout);
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * See {@link HttpRequest#deadline()}.
+     *
+     * @return the deadline for the whole of a request
+     */
+    public long deadline() {
+        return deadline;
+    }
+
+    /**
+     * Set the deadline for the whole of a request.
+     * See {@link HttpRequest#deadline()} for more details.
+     *
+     * @param deadline the deadline (in milliseconds).
+     */
+    public void setDeadline(long deadline) {
+        requireNonNegative(deadline);
+        this.deadline = deadline;
+    }
+
+    /**
+     * See {@link HttpRequest#streamResponse()}.
+     *
+     * @return whether the response body should be streamed
+     */
+    public boolean streamResponse() {
+        return streamResponse;
+    }
+
+    /**
+     * Set whether the response body should be streamed rather than read into memory.
+     * See {@link HttpRequest#streamResponse()} for more details.
+     *
+     * @param streamResponse {@literal true} to stream the response body.
+     */
+    public void setStreamResponse(boolean streamResponse) {
+        this.streamResponse = streamResponse;
+    }
+
+    private static void requireNonNegative(long timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeouts cannot be negative.");
+        }
+    }
 }
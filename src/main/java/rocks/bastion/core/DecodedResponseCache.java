@@ -0,0 +1,113 @@
+package rocks.bastion.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <p>
+ * Holds the representations which have been decoded from the body of a single {@link Response}, so that the body is only
+ * decoded once no matter how many {@link rocks.bastion.core.model.ResponseDecoder decoders}, {@link Assertions assertions}
+ * and callbacks need it. The cache holds the body decoded as text (for each charset it was requested in), the body parsed
+ * as a JSON tree, and the models which the body was bound to (for each model type).
+ * </p>
+ * <p>
+ * Each representation is computed by the first caller which asks for it, using the loader it supplies, and returned as is
+ * to every later caller. Cached representations are shared, so callers must not modify them. In particular, the cached
+ * {@link JsonNode} tree should be treated as read-only. Loaders which fail, or which return {@literal null}, are not
+ * cached and will be run again by the next caller.
+ * </p>
+ */
+public final class DecodedResponseCache {
+
+    /**
+     * Computes a representation of the response body when it is not already cached.
+     *
+     * @param <T> The type of representation computed
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws IOException;
+    }
+
+    private final Map<Charset, String> texts;
+    private final Map<Class<?>, Object> models;
+    private JsonNode jsonTree;
+
+    public DecodedResponseCache() {
+        texts = new HashMap<>();
+        models = new HashMap<>();
+    }
+
+    /**
+     * Returns the response body decoded as text using the given charset.
+     *
+     * @param charset The non-{@literal null} charset which the body is decoded with
+     * @param loader  Decodes the body if it has not been decoded using the given charset yet
+     * @return The body as text
+     * @throws IOException if the loader fails to decode the body
+     */
+    public synchronized String getText(Charset charset, Loader<String> loader) throws IOException {
+        Objects.requireNonNull(charset);
+        Objects.requireNonNull(loader);
+        String text = texts.get(charset);
+        if (text == null) {
+            text = loader.load();
+            if (text != null) {
+                texts.put(charset, text);
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Returns the response body parsed as a JSON tree.
+     *
+     * @param loader Parses the body if it has not been parsed yet
+     * @return The body as a JSON tree, which must not be modified
+     * @throws IOException if the loader fails to parse the body
+     */
+    public synchronized JsonNode getJsonTree(Loader<JsonNode> loader) throws IOException {
+        Objects.requireNonNull(loader);
+        if (jsonTree == null) {
+            jsonTree = loader.load();
+        }
+        return jsonTree;
+    }
+
+    /**
+     * Returns the JSON tree which the response body was parsed into, without parsing the body if it has not been parsed yet.
+     *
+     * @return The cached JSON tree, which must not be modified, or an empty {@link Optional} if the body has not been parsed
+     */
+    public synchronized Optional<JsonNode> getCachedJsonTree() {
+        return Optional.ofNullable(jsonTree);
+    }
+
+    /**
+     * Returns the model which the response body was bound to, for the given model type.
+     *
+     * @param modelType The non-{@literal null} type of model to return
+     * @param loader    Binds the body to a new model if it has not been bound to the given type yet
+     * @param <T>       The type of model to return
+     * @return The bound model
+     * @throws IOException if the loader fails to bind the body
+     */
+    public synchronized <T> T getModel(Class<T> modelType, Loader<? extends T> loader) throws IOException {
+        Objects.requireNonNull(modelType);
+        Objects.requireNonNull(loader);
+        Object model = models.get(modelType);
+        if (model == null) {
+            model = loader.load();
+            if (model != null) {
+                models.put(modelType, model);
+            }
+        }
+        return modelType.cast(model);
+    }
+}
@@ -4,6 +4,7 @@ import rocks.bastion.core.configuration.Configuration;
 import rocks.bastion.core.event.*;
 import rocks.bastion.core.model.JsonResponseDecoder;
 import rocks.bastion.core.model.ResponseDecoder;
+import rocks.bastion.core.model.ResponseDecoderRegistry;
 import rocks.bastion.core.model.ResponseDecodersRegistrar;
 import rocks.bastion.core.model.StringResponseDecoder;
 
@@ -19,6 +20,11 @@ import rocks.bastion.core.model.StringResponseDecoder;
  * a Java-based object using the
  * <a href="https://fasterxml.github.io/jackson-databind/javadoc/2.0.0/com/fasterxml/jackson/databind/ObjectMapper.html">Jackson Object Mappe</a>.</li>
  * </ul>
+ * The model converters are registered once, with the factory's {@link #getDecoderRegistry() decoder registry}, and shared by
+ * all the requests created by the factory. Subclasses which change the shared converters should override
+ * {@link #registerSharedModelConverters(ResponseDecoderRegistry)}, which is called lazily, the first time the registry is
+ * needed, or {@link #registerModelConverters(ResponseDecodersRegistrar)}, which it calls by default. Converters registered
+ * with a builder from {@link #prepareBastion(BastionBuilderImpl)} are used by that builder only.
  */
 public class DefaultBastionFactory extends BastionFactory implements BastionListener {
 
@@ -57,10 +63,25 @@ public class DefaultBastionFactory extends BastionFactory implements BastionList
 
     @Override
     protected void prepareBastion(BastionBuilderImpl<?> bastion) {
-        registerModelConverters(bastion);
         bastion.registerListener(this);
     }
 
+    @Override
+    protected final void registerDecoders(ResponseDecoderRegistry decoderRegistry) {
+        registerSharedModelConverters(decoderRegistry);
+    }
+
+    /**
+     * Registers the model converters which are shared by all the requests created by this factory. This is called once,
+     * the first time the factory's {@link #getDecoderRegistry() decoder registry} is needed. The default implementation
+     * registers the converters of {@link #registerModelConverters(ResponseDecodersRegistrar)}.
+     *
+     * @param decoderRegistry The shared registry to register the model converters with
+     */
+    protected void registerSharedModelConverters(ResponseDecoderRegistry decoderRegistry) {
+        registerModelConverters(decoderRegistry);
+    }
+
     protected void registerModelConverters(ResponseDecodersRegistrar bastion) {
         bastion.registerModelConverter(new JsonResponseDecoder());
         bastion.registerModelConverter(new StringResponseDecoder());
@@ -0,0 +1,48 @@
+package rocks.bastion.core;
+
+import java.nio.charset.Charset;
+import java.util.Objects;
+
+/**
+ * A request body which has already been encoded into bytes, such as one rendered by a
+ * {@link rocks.bastion.core.json.JsonTemplate}. Bastion sends the bytes of an encoded body as they are, without converting
+ * the body to a string and encoding it again using the request's content-type. The body is only encoded again if the
+ * request's content-type names a character set other than the one the body was encoded with.
+ */
+public final class EncodedRequestBody {
+
+    private final byte[] bytes;
+    private final Charset charset;
+
+    /**
+     * Constructs an encoded body from the given bytes. The bytes are not copied, so they should not be modified afterwards.
+     *
+     * @param bytes   The non-{@literal null} bytes to send as the body
+     * @param charset The non-{@literal null} character set which the bytes were encoded with, used to display the body
+     */
+    public EncodedRequestBody(byte[] bytes, Charset charset) {
+        Objects.requireNonNull(bytes);
+        Objects.requireNonNull(charset);
+        this.bytes = bytes;
+        this.charset = charset;
+    }
+
+    /**
+     * @return The bytes to send as the body, which must not be modified
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return The character set which the body was encoded with
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, charset);
+    }
+}
@@ -4,7 +4,14 @@ import org.apache.http.client.utils.URLEncodedUtils;
 import org.apache.http.entity.ContentType;
 import rocks.bastion.core.json.InvalidJsonException;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -13,6 +20,11 @@ import java.util.stream.Collectors;
  * the static factory methods, you can supply the content data to send with the request using the various {@link #addDataParameter(String, String)}
  * methods. The data will automatically be used to generate a URL encoded string which is used as the body content.
  * <p>
+ * Data parameters are encoded when the body is needed rather than every time a parameter is added, and parameters which
+ * were already encoded are not encoded again, so building a form with many parameters takes linear time. For forms with
+ * very many parameters or very large values, use {@link #setStreamBody(boolean)} to encode the parameters straight into
+ * the request while it is sent instead.
+ * <p>
  * Initially, the request is configured to send "application/x-www-form-urlencoded" as its Content-type header but this
  * can be overriden by the user by calling the {@link #overrideContentType(ContentType)} method.
  */
@@ -84,8 +96,16 @@ public class FormUrlEncodedRequest implements HttpRequest {
         return new FormUrlEncodedRequest(HttpMethod.PATCH, url);
     }
 
+    private static final int ENCODING_CHUNK_SIZE = 4096;
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
     private CommonRequestAttributes requestAttributes;
     private List<ApiDataParameter> dataParameters;
+    private StringBuilder encodedParameters;
+    private Charset encodedCharset;
+    private int encodedParameterCount;
+    private String encodedBody;
+    private boolean streamBody;
 
     protected FormUrlEncodedRequest(HttpMethod method, String url) throws InvalidJsonException {
         Objects.requireNonNull(method);
@@ -94,7 +114,8 @@ public class FormUrlEncodedRequest implements HttpRequest {
         requestAttributes = new CommonRequestAttributes(method, url, "");
         requestAttributes.setContentType(ContentType.APPLICATION_FORM_URLENCODED);
 
-        dataParameters = new LinkedList<>();
+        dataParameters = new ArrayList<>();
+        encodedParameters = new StringBuilder();
     }
 
     /**
@@ -104,11 +125,10 @@ public class FormUrlEncodedRequest implements HttpRequest {
      * @param value The non-{@literal null} value to use for this data parameter's key
      * @return This request (for method chaining)
      */
-    public FormUrlEncodedRequest addDataParameter(String name, String value) {
+    public synchronized FormUrlEncodedRequest addDataParameter(String name, String value) {
         Objects.requireNonNull(name);
         Objects.requireNonNull(value);
         dataParameters.add(new ApiDataParameter(name, value));
-        recomputeBody();
         return this;
     }
 
@@ -133,12 +153,11 @@ public class FormUrlEncodedRequest implements HttpRequest {
      *
      * @param parameters The non-{@literal null} iterable collection of data parameters to add to this request
      */
-    public void addDataParameters(Iterable<ApiDataParameter> parameters) {
+    public synchronized void addDataParameters(Iterable<ApiDataParameter> parameters) {
         Objects.requireNonNull(parameters);
         for (ApiDataParameter parameter : parameters) {
             dataParameters.add(new ApiDataParameter(parameter.getName(), parameter.getValue()));
         }
-        recomputeBody();
     }
 
     /**
@@ -148,10 +167,22 @@ public class FormUrlEncodedRequest implements HttpRequest {
      * @param contentType A content-type to use for this request. Can be {@literal null}.
      * @return This request (for method chaining)
      */
-    public FormUrlEncodedRequest overrideContentType(ContentType contentType) {
+    public synchronized FormUrlEncodedRequest overrideContentType(ContentType contentType) {
         requestAttributes.setContentType(contentType);
-        // Recompute the body because the charset could have changed
-        recomputeBody();
+        return this;
+    }
+
+    /**
+     * Configures whether the data parameters are encoded straight into the request while it is sent, rather than into a
+     * string held by this request. When streaming the body, {@link #body()} returns a {@link StreamedRequestBody} which is
+     * sent using chunked transfer encoding, and large values are encoded a chunk at a time, so the encoded form is never
+     * held in memory as a whole. Defaults to {@literal false}.
+     *
+     * @param streamBody {@literal true} to encode the data parameters while the request is sent
+     * @return This request (for method chaining)
+     */
+    public synchronized FormUrlEncodedRequest setStreamBody(boolean streamBody) {
+        this.streamBody = streamBody;
         return this;
     }
 
@@ -235,9 +266,39 @@ public class FormUrlEncodedRequest implements HttpRequest {
         return requestAttributes.routeParams();
     }
 
+    /**
+     * Returns the URL-encoded data parameters, using the charset of this request's content-type. Only the parameters added
+     * since the body was last returned are encoded, unless the charset has changed. When {@link #setStreamBody(boolean)
+     * streaming the body}, a {@link StreamedRequestBody} which encodes the parameters while it is sent is returned instead.
+     * The same request can be sent from many threads at the same time, so the body is encoded while holding this request's
+     * lock. Adding data parameters and changing the content-type or {@link #setStreamBody(boolean) streaming} hold the
+     * same lock, so they can safely happen while the body is being encoded.
+     *
+     * @return The body content to send with this request
+     */
     @Override
-    public Object body() {
-        return requestAttributes.body();
+    public synchronized Object body() {
+        if (streamBody) {
+            return new FormBody(new ArrayList<>(dataParameters), getEncodingCharset());
+        }
+        Charset charset = getEncodingCharset();
+        if (!charset.equals(encodedCharset)) {
+            encodedParameters.setLength(0);
+            encodedParameterCount = 0;
+            encodedCharset = charset;
+            encodedBody = null;
+        }
+        if ((encodedBody == null) || (encodedParameterCount < dataParameters.size())) {
+            for (ApiDataParameter parameter : dataParameters.subList(encodedParameterCount, dataParameters.size())) {
+                if (encodedParameters.length() > 0) {
+                    encodedParameters.append('&');
+                }
+                encodedParameters.append(URLEncodedUtils.format(BastionUtils.propertiesToNameValuePairs(Collections.singletonList(parameter)), charset));
+            }
+            encodedParameterCount = dataParameters.size();
+            encodedBody = encodedParameters.toString();
+        }
+        return encodedBody;
     }
 
     @Override
@@ -254,13 +315,117 @@ public class FormUrlEncodedRequest implements HttpRequest {
         return this;
     }
 
-    private void recomputeBody() {
-        Charset encodingCharset = getEncodingCharset();
-        String urlEncodedBody = URLEncodedUtils.format(BastionUtils.propertiesToNameValuePairs(dataParameters), encodingCharset);
-        requestAttributes.setBody(urlEncodedBody);
+    @Override
+    public long connectTimeout() {
+        return requestAttributes.connectTimeout();
+    }
+
+    /**
+     * See {@link HttpRequest#connectTimeout()} for details.
+     * @param connectTimeout the timeout for establishing the connection, in milliseconds
+     */
+    public FormUrlEncodedRequest setConnectTimeout(long connectTimeout) {
+        requestAttributes.setConnectTimeout(connectTimeout);
+        return this;
+    }
+
+    @Override
+    public long readTimeout() {
+        return requestAttributes.readTimeout();
+    }
+
+    /**
+     * See {@link HttpRequest#readTimeout()} for details.
+     * @param readTimeout the timeout for receiving response data, in milliseconds
+     */
+    public FormUrlEncodedRequest setReadTimeout(long readTimeout) {
+        requestAttributes.setReadTimeout(readTimeout);
+        return this;
+    }
+
+    @Override
+    public long deadline() {
+        return requestAttributes.deadline();
+    }
+
+    /**
+     * See {@link HttpRequest#deadline()} for details.
+     * @param deadline the deadline for the whole request, in milliseconds
+     */
+    public FormUrlEncodedRequest setDeadline(long deadline) {
+        requestAttributes.setDeadline(deadline);
+        return this;
+    }
+
+    @Override
+    public boolean streamResponse() {
+        return requestAttributes.streamResponse();
+    }
+
+    /**
+     * See {@link HttpRequest#streamResponse()} for details.
+     * @param streamResponse {@literal true} to stream the response body rather than read it into memory
+     */
+    public FormUrlEncodedRequest setStreamResponse(boolean streamResponse) {
+        requestAttributes.setStreamResponse(streamResponse);
+        return this;
     }
 
     private Charset getEncodingCharset() {
         return contentType().map(ContentType::getCharset).orElse(Charset.defaultCharset());
     }
+
+    /**
+     * A body which URL-encodes a snapshot of the data parameters as it is written, in the same way as
+     * {@link URLEncodedUtils#format(List, Charset)}.
+     */
+    private static final class FormBody extends StreamedRequestBody {
+
+        private final List<ApiDataParameter> parameters;
+        private final Charset charset;
+
+        private FormBody(List<ApiDataParameter> parameters, Charset charset) {
+            this.parameters = parameters;
+            this.charset = charset;
+        }
+
+        @Override
+        public InputStream open() throws IOException {
+            // only used by transports which read the body rather than have it written to the connection
+            String body = URLEncodedUtils.format(BastionUtils.propertiesToNameValuePairs(parameters), charset);
+            return new ByteArrayInputStream(body.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            OutputStream bufferedStream = new BufferedOutputStream(outputStream, STREAM_BUFFER_SIZE);
+            for (int index = 0; index < parameters.size(); index++) {
+                if (index > 0) {
+                    bufferedStream.write('&');
+                }
+                writeEncoded(bufferedStream, parameters.get(index).getName());
+                bufferedStream.write('=');
+                writeEncoded(bufferedStream, parameters.get(index).getValue());
+            }
+            bufferedStream.flush();
+        }
+
+        private void writeEncoded(OutputStream outputStream, String text) throws IOException {
+            int start = 0;
+            while (start < text.length()) {
+                int end = Math.min(start + ENCODING_CHUNK_SIZE, text.length());
+                if ((end < text.length()) && Character.isHighSurrogate(text.charAt(end - 1))) {
+                    // keep surrogate pairs in the same chunk so they are encoded as a single character
+                    end--;
+                }
+                outputStream.write(URLEncoder.encode(text.substring(start, end), charset.name()).getBytes(StandardCharsets.US_ASCII));
+                start = end;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "[streamed form of " + parameters.size() + " parameters]";
+        }
+    }
 }
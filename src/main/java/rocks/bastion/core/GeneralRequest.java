@@ -2,6 +2,7 @@ package rocks.bastion.core;
 
 import org.apache.http.entity.ContentType;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
@@ -13,8 +14,9 @@ import java.util.Optional;
  * <p>
  * By default, this request will contain no headers (except for the content-type) and no query parameters. Use the {@link #addHeader(String, String)}
  * and {@link #addQueryParam(String, String)}} to add them. Also, initially, the request will have the "text/plain" content-type MIME
- * (which is automatically added to the HTTP headers by Bastion): you can change this content-type by calling the {@link #setContentType(ContentType)}
- * method.
+ * with the UTF-8 charset (which is automatically added to the HTTP headers by Bastion whenever the request has a body): you
+ * can change this content-type by calling the {@link #setContentType(ContentType)} method. The body is encoded using the
+ * charset of the content-type, or UTF-8 if the content-type has no charset.
  */
 public class GeneralRequest implements HttpRequest {
 
@@ -23,6 +25,11 @@ public class GeneralRequest implements HttpRequest {
      */
     public static final String EMPTY_BODY = "";
 
+    /**
+     * The content-type which general requests are initially sent with: "text/plain; charset=UTF-8".
+     */
+    public static final ContentType DEFAULT_CONTENT_TYPE = ContentType.create("text/plain", StandardCharsets.UTF_8);
+
     /**
      * Construct an HTTP request, using the GET method, to be sent on the specified URL. It will also have
      * a descriptive name which is generated by combining the HTTP method with the URL. Use the {@link GeneralRequest#addQueryParam(String, String)}
@@ -95,6 +102,34 @@ public class GeneralRequest implements HttpRequest {
         return new GeneralRequest(HttpMethod.PATCH, url, body);
     }
 
+    /**
+     * Construct an HTTP request, using the POST method, to be sent on the specified URL and with a body which is streamed to
+     * the remote server while the request is sent, rather than loaded into memory. The request will initially be sent with
+     * a content-type of "application/octet-stream". It will also have a descriptive name which is generated by combining
+     * the HTTP method with the URL.
+     *
+     * @param url  A non-{@literal null} URL to send the request on
+     * @param body A non-{@literal null} streamed body, such as one created using {@link StreamedRequestBody#fromPath(java.nio.file.Path)}
+     * @return An HTTP request using the post method
+     */
+    public static GeneralRequest post(String url, StreamedRequestBody body) {
+        return new GeneralRequest(HttpMethod.POST, url, body);
+    }
+
+    /**
+     * Construct an HTTP request, using the PUT method, to be sent on the specified URL and with a body which is streamed to
+     * the remote server while the request is sent, rather than loaded into memory. The request will initially be sent with
+     * a content-type of "application/octet-stream". It will also have a descriptive name which is generated by combining
+     * the HTTP method with the URL.
+     *
+     * @param url  A non-{@literal null} URL to send the request on
+     * @param body A non-{@literal null} streamed body, such as one created using {@link StreamedRequestBody#fromPath(java.nio.file.Path)}
+     * @return An HTTP request using the put method
+     */
+    public static GeneralRequest put(String url, StreamedRequestBody body) {
+        return new GeneralRequest(HttpMethod.PUT, url, body);
+    }
+
     private CommonRequestAttributes requestAttributes;
 
     protected GeneralRequest(HttpMethod method, String url, String body) {
@@ -102,7 +137,16 @@ public class GeneralRequest implements HttpRequest {
         Objects.requireNonNull(url);
 
         requestAttributes = new CommonRequestAttributes(method, url, body);
-        requestAttributes.setContentType(ContentType.TEXT_PLAIN);
+        requestAttributes.setContentType(DEFAULT_CONTENT_TYPE);
+    }
+
+    private GeneralRequest(HttpMethod method, String url, StreamedRequestBody body) {
+        Objects.requireNonNull(method);
+        Objects.requireNonNull(url);
+        Objects.requireNonNull(body);
+
+        requestAttributes = new CommonRequestAttributes(method, url, body);
+        requestAttributes.setContentType(ContentType.APPLICATION_OCTET_STREAM);
     }
 
     /**
@@ -174,6 +218,19 @@ public class GeneralRequest implements HttpRequest {
         return this;
     }
 
+    /**
+     * Sets a body which will be streamed to the remote server while this request is sent, rather than loaded into memory.
+     * The content-type of the request is not changed.
+     *
+     * @param body A non-{@literal null} streamed body to send as the body content
+     * @return This request (for method chaining)
+     */
+    public GeneralRequest setBody(StreamedRequestBody body) {
+        Objects.requireNonNull(body);
+        requestAttributes.setBody(body);
+        return this;
+    }
+
     @Override
     public String name() {
         return requestAttributes.name();
@@ -227,4 +284,60 @@ public class GeneralRequest implements HttpRequest {
         requestAttributes.setTimeout(timeout);
         return this;
     }
+
+    @Override
+    public long connectTimeout() {
+        return requestAttributes.connectTimeout();
+    }
+
+    /**
+     * See {@link HttpRequest#connectTimeout()} for details.
+     * @param connectTimeout the timeout for establishing the connection, in milliseconds
+     */
+    public GeneralRequest setConnectTimeout(long connectTimeout) {
+        requestAttributes.setConnectTimeout(connectTimeout);
+        return this;
+    }
+
+    @Override
+    public long readTimeout() {
+        return requestAttributes.readTimeout();
+    }
+
+    /**
+     * See {@link HttpRequest#readTimeout()} for details.
+     * @param readTimeout the timeout for receiving response data, in milliseconds
+     */
+    public GeneralRequest setReadTimeout(long readTimeout) {
+        requestAttributes.setReadTimeout(readTimeout);
+        return this;
+    }
+
+    @Override
+    public long deadline() {
+        return requestAttributes.deadline();
+    }
+
+    /**
+     * See {@link HttpRequest#deadline()} for details.
+     * @param deadline the deadline for the whole request, in milliseconds
+     */
+    public GeneralRequest setDeadline(long deadline) {
+        requestAttributes.setDeadline(deadline);
+        return this;
+    }
+
+    @Override
+    public boolean streamResponse() {
+        return requestAttributes.streamResponse();
+    }
+
+    /**
+     * See {@link HttpRequest#streamResponse()} for details.
+     * @param streamResponse {@literal true} to stream the response body rather than read it into memory
+     */
+    public GeneralRequest setStreamResponse(boolean streamResponse) {
+        requestAttributes.setStreamResponse(streamResponse);
+        return this;
+    }
 }
@@ -101,4 +101,55 @@ public interface HttpRequest {
         return 0;
     }
 
+    /**
+     * A timeout (in milliseconds) for establishing the connection to the remote server. Tests which cannot connect
+     * within this time will throw an {@link AssertionError} and be marked as failed. A value of {@literal 0} indicates
+     * no timeout. By default, this is the same as {@link #timeout()}.
+     *
+     * @return a number (in milliseconds) representing the longest a test should wait for a connection to be established
+     */
+    default long connectTimeout() {
+        return timeout();
+    }
+
+    /**
+     * A timeout (in milliseconds) for receiving data from the remote server once the connection is established. This
+     * is the longest time Bastion will wait between consecutive packets of the response, so a slow but steady
+     * response can take longer than this value to arrive in full. Tests exceeding this timeout will throw an
+     * {@link AssertionError} and be marked as failed. A value of {@literal 0} indicates no timeout. By default, this is
+     * the same as {@link #timeout()}.
+     *
+     * @return a number (in milliseconds) representing the longest a test should wait for response data
+     */
+    default long readTimeout() {
+        return timeout();
+    }
+
+    /**
+     * A deadline (in milliseconds) for the whole request, from the moment Bastion starts connecting to the moment the
+     * entire response has been received. Unlike the {@link #connectTimeout() connect} and {@link #readTimeout() read}
+     * timeouts, the deadline bounds the total time a test can spend waiting on the remote server. Tests exceeding the
+     * deadline will throw an {@link AssertionError} and be marked as failed. A value of {@literal 0}, the default,
+     * indicates no deadline.
+     *
+     * @return a number (in milliseconds) representing the longest a test should wait for the entire request to complete
+     */
+    default long deadline() {
+        return 0;
+    }
+
+    /**
+     * Whether the body of the response to this request should be streamed rather than read into memory. Streamed
+     * responses can only be read once: unless a model type other than {@link java.io.InputStream} is bound, the body
+     * goes to the first consumer which needs it, either assertions which read the body or, if the assertions or callback
+     * ask for it, the model, which is then the body stream itself. Responses are also streamed if their
+     * content-type is one of the {@link rocks.bastion.core.configuration.ResponseConfiguration#getStreamingContentTypes()
+     * configured streaming content-types}. See {@link StreamingResponse} for details. Defaults to {@literal false}.
+     *
+     * @return {@literal true} to stream the response body; {@literal false} to read it into memory
+     */
+    default boolean streamResponse() {
+        return false;
+    }
+
 }
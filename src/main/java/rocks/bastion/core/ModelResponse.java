@@ -4,11 +4,14 @@ import org.apache.http.entity.ContentType;
 
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Represents an HTTP response which also has a response model object. The response model is bound from the content/body
- * of the HTTP response.
+ * of the HTTP response. The model can be decoded lazily: it is then only decoded the first time {@link #getModel()} is
+ * called and the same model is returned by every later call.
  *
  * @param <MODEL> The model object type which was bound for this HTTP response.
  */
@@ -16,12 +19,28 @@ public class ModelResponse<MODEL> implements Response {
 
     private Response response;
     private MODEL model;
+    private Supplier<? extends MODEL> modelDecoder;
 
     public ModelResponse(Response response, MODEL model) {
         this.response = response;
         this.model = model;
     }
 
+    /**
+     * Constructs a model response whose model is decoded, using the given decoder, the first time it is requested.
+     *
+     * @param response     The HTTP response
+     * @param modelDecoder Decodes the model from the response. It is called at most once, unless it throws an exception.
+     * @param <MODEL>      The model object type which is decoded for the HTTP response
+     * @return A model response which has not decoded its model yet
+     */
+    static <MODEL> ModelResponse<MODEL> lazy(Response response, Supplier<? extends MODEL> modelDecoder) {
+        Objects.requireNonNull(modelDecoder);
+        ModelResponse<MODEL> modelResponse = new ModelResponse<>(response, null);
+        modelResponse.modelDecoder = modelDecoder;
+        return modelResponse;
+    }
+
     @Override
     public Optional<ContentType> getContentType() {
         return response.getContentType();
@@ -47,7 +66,38 @@ public class ModelResponse<MODEL> implements Response {
         return response.getBody();
     }
 
-    public MODEL getModel() {
+    @Override
+    public boolean isStreamed() {
+        return response.isStreamed();
+    }
+
+    @Override
+    public boolean isBodyAvailable() {
+        return response.isBodyAvailable();
+    }
+
+    @Override
+    public DecodedResponseCache getDecodedCache() {
+        return response.getDecodedCache();
+    }
+
+    /**
+     * Decodes the model now, if it has not been decoded yet, so that later calls to {@link #getModel()} no longer read the
+     * response. If the decoder throws an exception, the exception is rethrown and later calls return {@literal null}.
+     */
+    synchronized void pinModel() {
+        if (modelDecoder != null) {
+            Supplier<? extends MODEL> decoder = modelDecoder;
+            modelDecoder = null;
+            model = decoder.get();
+        }
+    }
+
+    public synchronized MODEL getModel() {
+        if (modelDecoder != null) {
+            model = modelDecoder.get();
+            modelDecoder = null;
+        }
         return model;
     }
 }
@@ -0,0 +1,496 @@
+package rocks.bastion.core;
+
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A multipart/form-data request for use during Bastion tests, such as file uploads. After selecting the HTTP method to send
+ * by using one of the static factory methods, add the parts to send using the {@link #addField(String, String)},
+ * {@link #addFile(String, Path)} and {@link #addPart(String, String, ContentType, StreamedRequestBody)} methods.
+ * <p>
+ * Parts are never loaded into memory. Instead, each part is a {@link StreamedRequestBody}, read from a file, a resource or
+ * an {@link InputStream} supplier, which is streamed to the remote server while the request is sent, so files of many
+ * gigabytes can be uploaded. When the size of every part is known, such as for files and resources, the length of the
+ * whole body is computed in advance and sent as the content-length; otherwise, the body is sent using chunked transfer
+ * encoding. Parts read from files are transferred using a {@link java.nio.channels.FileChannel}, as described in
+ * {@link StreamedRequestBody#fromPath(Path)}.
+ * <p>
+ * Each request uses its own randomly generated boundary to separate the parts, which is sent as part of the request's
+ * "multipart/form-data" content-type.
+ */
+public class MultipartRequest implements HttpRequest {
+
+    /**
+     * Construct a multipart/form-data HTTP request which uses the given method. Initially, the request will have the
+     * "multipart/form-data" HTTP header, no other additional headers, no query parameters and no parts. It will have a
+     * descriptive name which is generated by combining the HTTP method with the URL.
+     *
+     * @param method The HTTP method to use for this request
+     * @param url    The URL to send this request on
+     * @return An HTTP request containing no parts
+     */
+    public static MultipartRequest withMethod(HttpMethod method, String url) {
+        return new MultipartRequest(method, url);
+    }
+
+    /**
+     * Construct a multipart/form-data HTTP request, using the {@code POST} method. Initially, the request will have the
+     * "multipart/form-data" HTTP header, no other additional headers, no query parameters and no parts. It will have a
+     * descriptive name which is generated by combining the HTTP method with the URL.
+     *
+     * @param url The URL to send this request on
+     * @return An HTTP request containing no parts
+     */
+    public static MultipartRequest post(String url) {
+        return new MultipartRequest(HttpMethod.POST, url);
+    }
+
+    /**
+     * Construct a multipart/form-data HTTP request, using the {@code PUT} method. Initially, the request will have the
+     * "multipart/form-data" HTTP header, no other additional headers, no query parameters and no parts. It will have a
+     * descriptive name which is generated by combining the HTTP method with the URL.
+     *
+     * @param url The URL to send this request on
+     * @return An HTTP request containing no parts
+     */
+    public static MultipartRequest put(String url) {
+        return new MultipartRequest(HttpMethod.PUT, url);
+    }
+
+    private static final String BOUNDARY_PREFIX = "BastionBoundary";
+    private static final String BOUNDARY_CHARACTERS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BOUNDARY_RANDOM_LENGTH = 24;
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private CommonRequestAttributes requestAttributes;
+    private String boundary;
+    private List<Part> parts;
+
+    protected MultipartRequest(HttpMethod method, String url) {
+        Objects.requireNonNull(method);
+        Objects.requireNonNull(url);
+
+        boundary = generateBoundary();
+        parts = new ArrayList<>();
+        requestAttributes = new CommonRequestAttributes(method, url, GeneralRequest.EMPTY_BODY);
+        requestAttributes.setContentType(ContentType.parse(ContentType.MULTIPART_FORM_DATA.getMimeType() + "; boundary=" + boundary));
+    }
+
+    /**
+     * Adds a text field to be sent as a part of this request. The value is encoded using UTF-8.
+     *
+     * @param name  The non-{@literal null} name of the field
+     * @param value The non-{@literal null} value of the field
+     * @return This request (for method chaining)
+     */
+    public MultipartRequest addField(String name, String value) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(value);
+        byte[] content = value.getBytes(StandardCharsets.UTF_8);
+        parts.add(new Part(boundary, name, null, null, StreamedRequestBody.fromInputStream(() -> new ByteArrayInputStream(content), content.length)));
+        return this;
+    }
+
+    /**
+     * Adds a file to be sent as a part of this request, with the "application/octet-stream" content-type. The name of the
+     * file is sent as the part's file name.
+     *
+     * @param name The non-{@literal null} name of the field
+     * @param file The non-{@literal null} path to the file to send
+     * @return This request (for method chaining)
+     */
+    public MultipartRequest addFile(String name, Path file) {
+        return addFile(name, file, ContentType.APPLICATION_OCTET_STREAM);
+    }
+
+    /**
+     * Adds a file to be sent as a part of this request. The name of the file is sent as the part's file name.
+     *
+     * @param name        The non-{@literal null} name of the field
+     * @param file        The non-{@literal null} path to the file to send
+     * @param contentType The non-{@literal null} content-type of the file
+     * @return This request (for method chaining)
+     */
+    public MultipartRequest addFile(String name, Path file, ContentType contentType) {
+        Objects.requireNonNull(file);
+        return addPart(name, String.valueOf(file.getFileName()), contentType, StreamedRequestBody.fromPath(file));
+    }
+
+    /**
+     * Adds a part to be sent as part of this request, whose content is streamed from the given body. Use the factory
+     * methods of {@link StreamedRequestBody} to stream the content of a resource or an {@link InputStream} supplier.
+     *
+     * @param name        The non-{@literal null} name of the field
+     * @param fileName    The file name to send for the part, or {@literal null} to not send a file name
+     * @param contentType The content-type of the part, or {@literal null} to not send a content-type
+     * @param body        The non-{@literal null} content of the part
+     * @return This request (for method chaining)
+     */
+    public MultipartRequest addPart(String name, String fileName, ContentType contentType, StreamedRequestBody body) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(body);
+        parts.add(new Part(boundary, name, fileName, contentType, body));
+        return this;
+    }
+
+    /**
+     * @return The boundary which separates the parts of this request
+     */
+    public String getBoundary() {
+        return boundary;
+    }
+
+    /**
+     * Add a new HTTP header that will be sent with this request.
+     *
+     * @param name  A non-{@literal null} name for the new header
+     * @param value A non-{@literal null} value for the new header
+     * @return This request (for method chaining)
+     */
+    public MultipartRequest addHeader(String name, String value) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(value);
+        requestAttributes.addHeader(name, value);
+        return this;
+    }
+
+    /**
+     * Add a new HTTP query parameter that will be sent with this request.
+     *
+     * @param name  A non-{@literal null} name for the new query parameter
+     * @param value A non-{@literal null} value for the new query parameter
+     * @return This request (for method chaining)
+     */
+    public MultipartRequest addQueryParam(String name, String value) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(value);
+        requestAttributes.addQueryParam(name, value);
+        return this;
+    }
+
+    /**
+     * Add a new HTTP route parameter that will be sent with this request. Put a placeholder for the route parameter in
+     * the request URL by surrounding a parameter's name using braces (eg. {@code http://sushi.test/{id}/photos}).
+     *
+     * @param name  A non-{@literal null} name for the new route parameter
+     * @param value A non-{@literal null} value for the new route parameter
+     * @return This request (for method chaining)
+     */
+    public MultipartRequest addRouteParam(String name, String value) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(value);
+        requestAttributes.addRouteParam(name, value);
+        return this;
+    }
+
+    @Override
+    public String name() {
+        return requestAttributes.name();
+    }
+
+    @Override
+    public String url() {
+        return requestAttributes.url();
+    }
+
+    @Override
+    public HttpMethod method() {
+        return requestAttributes.method();
+    }
+
+    @Override
+    public Optional<ContentType> contentType() {
+        return requestAttributes.contentType();
+    }
+
+    @Override
+    public Collection<ApiHeader> headers() {
+        return requestAttributes.headers();
+    }
+
+    @Override
+    public Collection<ApiQueryParam> queryParams() {
+        return requestAttributes.queryParams();
+    }
+
+    @Override
+    public Collection<RouteParam> routeParams() {
+        return requestAttributes.routeParams();
+    }
+
+    /**
+     * Returns a {@link StreamedRequestBody} which writes the parts of this request, separated by this request's boundary,
+     * while the request is sent. The length of the body is known in advance, so it is sent with a content-length, as
+     * long as the length of every part is known; otherwise, it is sent using chunked transfer encoding.
+     *
+     * @return The body content to send with this request
+     */
+    @Override
+    public Object body() {
+        return new MultipartBody(new ArrayList<>(parts), boundary);
+    }
+
+    @Override
+    public long timeout() {
+        return requestAttributes.timeout();
+    }
+
+    /**
+     * See {@link HttpRequest#timeout()} for details.
+     * @param timeout the timeout for the request phases, in milliseconds
+     */
+    public MultipartRequest setTimeout(long timeout) {
+        requestAttributes.setTimeout(timeout);
+        return this;
+    }
+
+    @Override
+    public long connectTimeout() {
+        return requestAttributes.connectTimeout();
+    }
+
+    /**
+     * See {@link HttpRequest#connectTimeout()} for details.
+     * @param connectTimeout the timeout for establishing the connection, in milliseconds
+     */
+    public MultipartRequest setConnectTimeout(long connectTimeout) {
+        requestAttributes.setConnectTimeout(connectTimeout);
+        return this;
+    }
+
+    @Override
+    public long readTimeout() {
+        return requestAttributes.readTimeout();
+    }
+
+    /**
+     * See {@link HttpRequest#readTimeout()} for details.
+     * @param readTimeout the timeout for receiving response data, in milliseconds
+     */
+    public MultipartRequest setReadTimeout(long readTimeout) {
+        requestAttributes.setReadTimeout(readTimeout);
+        return this;
+    }
+
+    @Override
+    public long deadline() {
+        return requestAttributes.deadline();
+    }
+
+    /**
+     * See {@link HttpRequest#deadline()} for details.
+     * @param deadline the deadline for the whole request, in milliseconds
+     */
+    public MultipartRequest setDeadline(long deadline) {
+        requestAttributes.setDeadline(deadline);
+        return this;
+    }
+
+    @Override
+    public boolean streamResponse() {
+        return requestAttributes.streamResponse();
+    }
+
+    /**
+     * See {@link HttpRequest#streamResponse()} for details.
+     * @param streamResponse {@literal true} to stream the response body rather than read it into memory
+     */
+    public MultipartRequest setStreamResponse(boolean streamResponse) {
+        requestAttributes.setStreamResponse(streamResponse);
+        return this;
+    }
+
+    private static String generateBoundary() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder boundary = new StringBuilder(BOUNDARY_PREFIX);
+        for (int index = 0; index < BOUNDARY_RANDOM_LENGTH; index++) {
+            boundary.append(BOUNDARY_CHARACTERS.charAt(random.nextInt(BOUNDARY_CHARACTERS.length())));
+        }
+        return boundary.toString();
+    }
+
+    /**
+     * A part of the body, made up of the part's delimiter and headers, which are encoded up front, and its content.
+     */
+    private static final class Part {
+
+        private final byte[] header;
+        private final StreamedRequestBody content;
+
+        private Part(String boundary, String name, String fileName, ContentType contentType, StreamedRequestBody content) {
+            StringBuilder header = new StringBuilder("--").append(boundary).append("\r\n")
+                    .append("Content-Disposition: form-data; name=\"").append(escape(name)).append('"');
+            if (fileName != null) {
+                header.append("; filename=\"").append(escape(fileName)).append('"');
+            }
+            header.append("\r\n");
+            if (contentType != null) {
+                header.append("Content-Type: ").append(contentType).append("\r\n");
+            }
+            header.append("\r\n");
+            this.header = header.toString().getBytes(StandardCharsets.UTF_8);
+            this.content = content;
+        }
+
+        /**
+         * Escapes a name or file name for use as a quoted header parameter, as browsers do.
+         */
+        private static String escape(String value) {
+            return value.replace("\"", "%22").replace("\r", "%0D").replace("\n", "%0A");
+        }
+    }
+
+    /**
+     * The body of a multipart request, which writes each part's header and content in turn, followed by the closing
+     * delimiter.
+     */
+    private static final class MultipartBody extends StreamedRequestBody {
+
+        private final List<Part> parts;
+        private final byte[] closingDelimiter;
+
+        private MultipartBody(List<Part> parts, String boundary) {
+            this.parts = parts;
+            closingDelimiter = ("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public long length() {
+            long length = closingDelimiter.length;
+            for (Part part : parts) {
+                long contentLength = part.content.length();
+                if (contentLength < 0) {
+                    return -1;
+                }
+                length += part.header.length + contentLength + CRLF.length;
+            }
+            return length;
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            for (Part part : parts) {
+                outputStream.write(part.header);
+                part.content.writeTo(outputStream);
+                outputStream.write(CRLF);
+            }
+            outputStream.write(closingDelimiter);
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream, long length) throws IOException {
+            if (length < 0) {
+                writeTo(outputStream);
+                return;
+            }
+            // each part is written with the length it contributed to the announced length, so the delimiters are never shifted
+            long[] contentLengths = new long[parts.size()];
+            long totalLength = closingDelimiter.length;
+            for (int index = 0; index < parts.size(); index++) {
+                Part part = parts.get(index);
+                contentLengths[index] = part.content.length();
+                totalLength += part.header.length + contentLengths[index] + CRLF.length;
+            }
+            if (totalLength != length) {
+                throw new IOException(String.format("The parts of the body %s changed size after %d bytes were announced", this, length));
+            }
+            for (int index = 0; index < parts.size(); index++) {
+                outputStream.write(parts.get(index).header);
+                parts.get(index).content.writeTo(outputStream, contentLengths[index]);
+                outputStream.write(CRLF);
+            }
+            outputStream.write(closingDelimiter);
+        }
+
+        @Override
+        public InputStream open() throws IOException {
+            if (parts.isEmpty()) {
+                return new ByteArrayInputStream(closingDelimiter);
+            }
+            // each part's content is only opened once the previous parts have been read
+            Iterator<Part> remainingParts = parts.iterator();
+            List<InputStream> pending = new ArrayList<>();
+            return new SequenceInputStream(new Enumeration<InputStream>() {
+                @Override
+                public boolean hasMoreElements() {
+                    return !pending.isEmpty() || remainingParts.hasNext();
+                }
+
+                @Override
+                public InputStream nextElement() {
+                    if (pending.isEmpty()) {
+                        Part part = remainingParts.next();
+                        pending.add(new ByteArrayInputStream(part.header));
+                        pending.add(new LazyPartStream(part.content));
+                        pending.add(new ByteArrayInputStream(remainingParts.hasNext() ? CRLF : concat(CRLF, closingDelimiter)));
+                    }
+                    return pending.remove(0);
+                }
+            });
+        }
+
+        @Override
+        public String toString() {
+            return "[streamed multipart body of " + parts.size() + " parts]";
+        }
+
+        private static byte[] concat(byte[] first, byte[] second) {
+            byte[] bytes = new byte[first.length + second.length];
+            System.arraycopy(first, 0, bytes, 0, first.length);
+            System.arraycopy(second, 0, bytes, first.length, second.length);
+            return bytes;
+        }
+    }
+
+    /**
+     * Opens the content of a part when it is first read, so that parts which are never reached are never opened.
+     */
+    private static final class LazyPartStream extends InputStream {
+
+        private final StreamedRequestBody content;
+        private InputStream stream;
+
+        private LazyPartStream(StreamedRequestBody content) {
+            this.content = content;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return open().read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return open().read(buffer, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (stream != null) {
+                stream.close();
+            }
+        }
+
+        private InputStream open() throws IOException {
+            if (stream == null) {
+                stream = content.open();
+            }
+            return stream;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package rocks.bastion.core;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.transport.DeadlineExceededException;
+import rocks.bastion.core.transport.HttpTransport;
+import rocks.bastion.core.transport.TransportRequest;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * <p>
+ * A Bastion {@link HttpRequest} which has been compiled, together with the {@link Configuration} it will be sent with,
+ * into everything needed to send it over the wire: the fully resolved URL, the merged request and global headers and the
+ * encoded body. Prepared requests are obtained using {@link RequestExecutor#prepare()}.
+ * </p>
+ * <p>
+ * A prepared request is immutable and can be {@link #execute() executed} any number of times, from any number of threads,
+ * without resolving the original request again. Changes made to the original request or to the global request attributes
+ * after the request was prepared are not reflected in the prepared request. The request is, however, always sent using
+ * the {@link HttpTransport} which is currently selected by the configuration.
+ * </p>
+ */
+public final class PreparedRequest {
+
+    private final HttpRequest request;
+    private final Configuration configuration;
+    private final TransportRequest transportRequest;
+
+    PreparedRequest(HttpRequest request, Configuration configuration, TransportRequest transportRequest) {
+        Objects.requireNonNull(request);
+        Objects.requireNonNull(configuration);
+        Objects.requireNonNull(transportRequest);
+        this.request = request;
+        this.configuration = configuration;
+        this.transportRequest = transportRequest;
+    }
+
+    /**
+     * @return The Bastion request which this prepared request was compiled from
+     */
+    public HttpRequest getRequest() {
+        return request;
+    }
+
+    public String getMethod() {
+        return transportRequest.getMethod();
+    }
+
+    public String getResolvedUrl() {
+        return transportRequest.getUrl();
+    }
+
+    public Collection<ApiHeader> getHeaders() {
+        return transportRequest.getHeaders();
+    }
+
+    /**
+     * Executes this HTTP request and retrieves the response.
+     *
+     * @return The HTTP response retrieved from the remote server.
+     */
+    public Response execute() {
+        try {
+            return configuration.execute(transportRequest);
+        } catch (DeadlineExceededException exception) {
+            throw new AssertionError(String.format("Failed to receive response before deadline of [%s] ms", transportRequest.getDeadline()));
+        } catch (ConnectTimeoutException exception) {
+            throw new AssertionError(String.format("Failed to connect before timeout of [%s] ms", transportRequest.getConnectTimeout()));
+        } catch (InterruptedIOException exception) {
+            throw new AssertionError(String.format("Failed to receive response before timeout of [%s] ms", transportRequest.getReadTimeout()));
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed executing request", exception);
+        }
+    }
+}
@@ -16,8 +16,42 @@ public class RawResponse implements Response {
     private String statusText;
     private Collection<ApiHeader> headers;
     private byte[] bodyContent;
+    private SpilledBody spilledBody;
+    private DecodedResponseCache decodedCache;
 
     public RawResponse(int statusCode, String statusText, Collection<ApiHeader> headers, InputStream body) {
+        this(statusCode, statusText, headers, body, 0);
+    }
+
+    /**
+     * Constructs a response by reading the whole of the given body into memory.
+     *
+     * @param statusCode    The HTTP status code
+     * @param statusText    The non-{@literal null} HTTP status text
+     * @param headers       The non-{@literal null} response headers
+     * @param body          The non-{@literal null} body stream, which is read until its end but not closed
+     * @param maxBufferSize The maximum number of bytes to read into memory, or {@literal 0} for no limit
+     * @throws IllegalStateException if the body is larger than the maximum buffer size
+     */
+    public RawResponse(int statusCode, String statusText, Collection<ApiHeader> headers, InputStream body, long maxBufferSize) {
+        this(statusCode, statusText, headers, body, maxBufferSize, 0);
+    }
+
+    /**
+     * Constructs a response by reading the whole of the given body. Bodies up to the spill threshold are kept in memory,
+     * while larger bodies are written to a temporary file which is then memory-mapped, so that they do not take up space
+     * on the heap. Either way, the body can be read any number of times using {@link #getBody()}.
+     *
+     * @param statusCode     The HTTP status code
+     * @param statusText     The non-{@literal null} HTTP status text
+     * @param headers        The non-{@literal null} response headers
+     * @param body           The non-{@literal null} body stream, which is read until its end but not closed
+     * @param maxBufferSize  The maximum number of bytes to read, whether into memory or to disk, or {@literal 0} for no limit
+     * @param spillThreshold The size, in bytes, above which the body is written to disk, or {@literal 0} to never write
+     *                       the body to disk
+     * @throws IllegalStateException if the body is larger than the maximum buffer size
+     */
+    public RawResponse(int statusCode, String statusText, Collection<ApiHeader> headers, InputStream body, long maxBufferSize, long spillThreshold) {
         try {
             Objects.requireNonNull(statusCode);
             Objects.requireNonNull(statusText);
@@ -26,17 +60,48 @@ public class RawResponse implements Response {
             this.statusCode = statusCode;
             this.statusText = statusText;
             this.headers = headers;
-            bodyContent = ByteStreams.toByteArray(body);
+            decodedCache = new DecodedResponseCache();
+            readBody(body, (maxBufferSize > 0) ? maxBufferSize : Long.MAX_VALUE, (spillThreshold > 0) ? spillThreshold : Long.MAX_VALUE);
         } catch (IOException e) {
             throw new RuntimeException("Error while reading the body input stream", e);
         }
     }
 
+    private void readBody(InputStream body, long maxBufferSize, long spillThreshold) throws IOException {
+        long heapLimit = Math.min(maxBufferSize, spillThreshold);
+        byte[] head = ByteStreams.toByteArray((heapLimit == Long.MAX_VALUE) ? body : ByteStreams.limit(body, heapLimit + 1));
+        if (head.length <= spillThreshold) {
+            requireWithinBufferSize(head.length, maxBufferSize);
+            bodyContent = head;
+        } else {
+            spilledBody = SpilledBody.write(head, ByteStreams.limit(body, maxBufferSize - head.length + 1));
+            requireWithinBufferSize(spilledBody.size(), maxBufferSize);
+        }
+    }
+
+    private static void requireWithinBufferSize(long size, long maxBufferSize) {
+        if (size > maxBufferSize) {
+            throw new IllegalStateException(String.format("The response body is larger than the maximum buffer size of [%s] bytes. Stream the response to read larger bodies.", maxBufferSize));
+        }
+    }
+
+    /**
+     * @return {@literal true} if the body of this response was written to disk rather than kept on the heap
+     */
+    boolean isSpilledToDisk() {
+        return spilledBody != null;
+    }
+
     @Override
     public Optional<ContentType> getContentType() {
         return headers.stream().filter(header -> header.getName().equalsIgnoreCase("content-type")).findFirst().map(header -> ContentType.parse(header.getValue()));
     }
 
+    @Override
+    public DecodedResponseCache getDecodedCache() {
+        return decodedCache;
+    }
+
     @Override
     public int getStatusCode() {
         return statusCode;
@@ -54,6 +119,6 @@ public class RawResponse implements Response {
 
     @Override
     public InputStream getBody() {
-        return new ByteArrayInputStream(bodyContent);
+        return (spilledBody != null) ? spilledBody.open() : new ByteArrayInputStream(bodyContent);
     }
 }
@@ -1,54 +1,68 @@
 package rocks.bastion.core;
 
-import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.Unirest;
-import com.mashape.unirest.http.exceptions.UnirestException;
-import com.mashape.unirest.request.HttpRequestWithBody;
+import com.mashape.unirest.http.utils.URLParamEncoder;
+import org.apache.http.entity.ContentType;
 
-import java.io.InputStream;
-import java.net.SocketTimeoutException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.transport.HttpTransport;
+import rocks.bastion.core.transport.TransportRequest;
 
 /**
  * Responsible for executing a Bastion remote request built using the {@link BastionBuilderImpl} builder and prepare a response object.
+ * The request is resolved into a {@link PreparedRequest}, which is then sent using the {@link HttpTransport} selected
+ * by the supplied {@link Configuration}. Use {@link #prepare()} to obtain the prepared request when the same request
+ * needs to be sent many times.
  */
 public class RequestExecutor {
 
-    private Configuration configuration;
-    private HttpRequest bastionHttpRequest;
-    private com.mashape.unirest.request.HttpRequest executableHttpRequest;
-    private Collection<ApiHeader> headers;
-    private String resolvedUrl;
+    private static final List<String> METHODS_WITHOUT_BODY = Arrays.asList("GET", "HEAD", "OPTIONS");
+
+    private final PreparedRequest preparedRequest;
 
     public RequestExecutor(HttpRequest bastionHttpRequest, Configuration configuration) {
         Objects.requireNonNull(bastionHttpRequest);
-        this.bastionHttpRequest = bastionHttpRequest;
-        this.configuration = configuration;
-        executableHttpRequest = prepareHttpRequest();
-        applyHeaders();
-        applyQueryParameters();
-        applyRouteParameters();
-        applyBody();
+        Objects.requireNonNull(configuration);
+        String method = bastionHttpRequest.method().getValue();
+        byte[] body = encodeBody(method, bastionHttpRequest);
+        StreamedRequestBody streamedBody = getStreamedBody(method, bastionHttpRequest);
+        boolean hasBody = streamedBody != null || (body != null && body.length > 0);
+        TransportRequest transportRequest = new TransportRequest(method, resolveUrl(bastionHttpRequest, configuration),
+                resolveHeaders(bastionHttpRequest, configuration, hasBody), body,
+                streamedBody, bastionHttpRequest.connectTimeout(), bastionHttpRequest.readTimeout(), bastionHttpRequest.deadline(),
+                bastionHttpRequest.streamResponse(), configuration.getResponseConfiguration());
+        preparedRequest = new PreparedRequest(bastionHttpRequest, configuration, transportRequest);
     }
 
     public String getMethod() {
-        return bastionHttpRequest.method().getValue();
+        return preparedRequest.getMethod();
     }
 
     public String getResolvedUrl() {
-        return resolvedUrl;
+        return preparedRequest.getResolvedUrl();
     }
 
     public Collection<ApiHeader> getHeaders() {
-        return Collections.unmodifiableCollection(headers);
+        return preparedRequest.getHeaders();
+    }
+
+    /**
+     * Returns the request resolved by this executor, which can be executed many times without being resolved again.
+     *
+     * @return The immutable, prepared request
+     */
+    public PreparedRequest prepare() {
+        return preparedRequest;
     }
 
     /**
@@ -57,90 +71,92 @@ public class RequestExecutor {
      * @return The HTTP response retrieved from the remote server.
      */
     public Response execute() {
-        try {
-            HttpResponse<InputStream> httpResponse = performRequest();
-            return convertToRawResponse(httpResponse);
-        } catch (UnirestException exception) {
-            if (exception.getCause() instanceof SocketTimeoutException) {
-                throw new AssertionError(String.format("Failed to receive response before timeout of [%s] ms", bastionHttpRequest.timeout()));
-            }
-            throw new IllegalStateException("Failed executing request", exception);
+        return preparedRequest.execute();
+    }
+
+    private static List<ApiHeader> resolveHeaders(HttpRequest bastionHttpRequest, Configuration configuration, boolean hasBody) {
+        Collection<ApiHeader> globalHeaders = configuration.getGlobalRequestAttributes().getGlobalHeaders();
+        Collection<ApiHeader> requestHeaders = bastionHttpRequest.headers();
+        List<ApiHeader> headers = new ArrayList<>(globalHeaders.size() + requestHeaders.size() + 1);
+        // the request's content-type describes its body, so it is not sent with requests which have no body
+        if (hasBody && bastionHttpRequest.contentType().isPresent() && !hasContentTypeHeader(globalHeaders) && !hasContentTypeHeader(requestHeaders)) {
+            headers.add(new ApiHeader("Content-Type", bastionHttpRequest.contentType().get().toString()));
         }
+        headers.addAll(globalHeaders);
+        headers.addAll(requestHeaders);
+        return Collections.unmodifiableList(Arrays.asList(headers.toArray(new ApiHeader[0])));
     }
 
-    private com.mashape.unirest.request.HttpRequest prepareHttpRequest() {
-
-        Unirest.setTimeouts(bastionHttpRequest.timeout(), bastionHttpRequest.timeout());
-        com.mashape.unirest.request.HttpRequest request;
-        switch (bastionHttpRequest.method().getValue()) {
-            case "GET":
-                request = Unirest.get(bastionHttpRequest.url());
-                break;
-            case "POST":
-                request = Unirest.post(bastionHttpRequest.url());
-                break;
-            case "PATCH":
-                request = Unirest.patch(bastionHttpRequest.url());
-                break;
-            case "DELETE":
-                request = Unirest.delete(bastionHttpRequest.url());
-                break;
-            case "PUT":
-                request = Unirest.put(bastionHttpRequest.url());
-                break;
-            case "OPTIONS":
-                request = Unirest.options(bastionHttpRequest.url());
-                break;
-            case "HEAD":
-                request = Unirest.head(bastionHttpRequest.url());
-                break;
-            default:
-                throw new UnsupportedOperationException(String.format("We cannot perform a request of type %s.", bastionHttpRequest.method().getValue()));
+    private static boolean hasContentTypeHeader(Collection<ApiHeader> headers) {
+        for (ApiHeader header : headers) {
+            if (header.getName().equalsIgnoreCase("content-type")) {
+                return true;
+            }
         }
-        return request;
+        return false;
     }
 
-    private void applyHeaders() {
-        headers = new LinkedList<>();
-        ArrayList<ApiHeader> combinedHeaders = new ArrayList<>(configuration.getGlobalRequestAttributes().getGlobalHeaders());
-        combinedHeaders.addAll(bastionHttpRequest.headers());
-        if (!combinedHeaders.stream().anyMatch(header -> header.getName().equalsIgnoreCase("content-type")) && bastionHttpRequest.contentType().isPresent()) {
-            headers.add(new ApiHeader("Content-Type", bastionHttpRequest.contentType().get().toString()));
+    private static String resolveUrl(HttpRequest bastionHttpRequest, Configuration configuration) {
+        StringBuilder url = new StringBuilder(bastionHttpRequest.url());
+        boolean hasQuery = url.indexOf("?") >= 0;
+        for (ApiQueryParam queryParam : configuration.getGlobalRequestAttributes().getGlobalQueryParams()) {
+            appendQueryParam(url, queryParam, hasQuery);
+            hasQuery = true;
+        }
+        for (ApiQueryParam queryParam : bastionHttpRequest.queryParams()) {
+            appendQueryParam(url, queryParam, hasQuery);
+            hasQuery = true;
         }
-        combinedHeaders.stream().forEach(header -> executableHttpRequest.header(header.getName(), header.getValue()));
-        headers.addAll(combinedHeaders);
+        String resolvedUrl = url.toString();
+        for (RouteParam routeParam : configuration.getGlobalRequestAttributes().getGlobalRouteParams()) {
+            resolvedUrl = applyRouteParam(resolvedUrl, routeParam);
+        }
+        for (RouteParam routeParam : bastionHttpRequest.routeParams()) {
+            resolvedUrl = applyRouteParam(resolvedUrl, routeParam);
+        }
+        return resolvedUrl;
     }
 
-    private void applyQueryParameters() {
-        List<ApiQueryParam> apiQueryParams = new ArrayList<>(configuration.getGlobalRequestAttributes().getGlobalQueryParams());
-        apiQueryParams.addAll(bastionHttpRequest.queryParams());
-        apiQueryParams.stream().forEach(queryParam -> executableHttpRequest.queryString(queryParam.getName(), queryParam.getValue()));
-        resolvedUrl = executableHttpRequest.getUrl();
+    private static void appendQueryParam(StringBuilder url, ApiQueryParam queryParam, boolean hasQuery) {
+        url.append(hasQuery ? '&' : '?').append(encodeQueryParam(queryParam.getName())).append('=').append(encodeQueryParam(queryParam.getValue()));
     }
 
-    private void applyRouteParameters() {
-        List<RouteParam> routeParams = new ArrayList<>(configuration.getGlobalRequestAttributes().getGlobalRouteParams());
-        routeParams.addAll(bastionHttpRequest.routeParams());
-        routeParams.stream().forEach(routeParam -> executableHttpRequest.routeParam(routeParam.getName(), routeParam.getValue()));
-        resolvedUrl = executableHttpRequest.getUrl();
+    private static String applyRouteParam(String url, RouteParam routeParam) {
+        String placeholder = "{" + routeParam.getName() + "}";
+        if (!url.contains(placeholder)) {
+            throw new IllegalArgumentException(String.format("Can't find route parameter name \"%s\" in URL [%s]", routeParam.getName(), url));
+        }
+        return url.replace(placeholder, URLParamEncoder.encode(routeParam.getValue()));
     }
 
-    private void applyBody() {
-        if (executableHttpRequest instanceof HttpRequestWithBody) {
-            ((HttpRequestWithBody) executableHttpRequest).body(bastionHttpRequest.body().toString());
+    private static byte[] encodeBody(String method, HttpRequest bastionHttpRequest) {
+        if (METHODS_WITHOUT_BODY.contains(method) || bastionHttpRequest.body() == null || bastionHttpRequest.body() instanceof StreamedRequestBody) {
+            return null;
+        }
+        Charset charset = bastionHttpRequest.contentType().map(ContentType::getCharset).orElse(null);
+        if (bastionHttpRequest.body() instanceof EncodedRequestBody) {
+            EncodedRequestBody encodedBody = (EncodedRequestBody) bastionHttpRequest.body();
+            if ((charset == null) || charset.equals(encodedBody.getCharset())) {
+                return encodedBody.getBytes();
+            }
+            // the content-type was overridden with a different charset, so the body is encoded again to match it
+            return encodedBody.toString().getBytes(charset);
         }
+        return bastionHttpRequest.body().toString().getBytes(charset == null ? StandardCharsets.UTF_8 : charset);
     }
 
-    private HttpResponse<InputStream> performRequest() throws UnirestException {
-        return executableHttpRequest.asBinary();
+    private static StreamedRequestBody getStreamedBody(String method, HttpRequest bastionHttpRequest) {
+        if (METHODS_WITHOUT_BODY.contains(method) || !(bastionHttpRequest.body() instanceof StreamedRequestBody)) {
+            return null;
+        }
+        return (StreamedRequestBody) bastionHttpRequest.body();
     }
 
-    private Response convertToRawResponse(HttpResponse<InputStream> httpResponse) {
-        return new RawResponse(httpResponse.getStatus(),
-                httpResponse.getStatusText(),
-                httpResponse.getHeaders().entrySet().stream().flatMap(header ->
-                        header.getValue().stream().map(headerValue ->
-                                new ApiHeader(header.getKey(), headerValue))).collect(Collectors.toList()),
-                httpResponse.getBody());
+    private static String encodeQueryParam(String value) {
+        try {
+            return URLEncoder.encode(value == null ? "" : value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -49,9 +49,43 @@ public interface Response {
     /**
      * Gets the response's body, ready for reading. The input stream returned by this method will always be positioned at
      * the start of the response body and each different invocation of this method will return a new, independent instance
-     * of the body input stream.
+     * of the body input stream. The only exception are {@link #isStreamed() streamed} responses, whose body can only be
+     * obtained and read once.
      *
      * @return The body content sent by the remote end during this HTTP call
      */
     InputStream getBody();
+
+    /**
+     * Whether the body of this response is read directly from the connection rather than from memory. The body of a
+     * streamed response can only be obtained once, using {@link #getBody()}. See {@link StreamingResponse}.
+     *
+     * @return {@literal true} if this response's body is streamed; {@literal false}, otherwise
+     */
+    default boolean isStreamed() {
+        return false;
+    }
+
+    /**
+     * Whether the body of this response can still be obtained using {@link #getBody()}. This is always the case, except
+     * for {@link #isStreamed() streamed} responses whose body has already been obtained. Decoders use this to skip
+     * responses whose body has already been consumed by someone else.
+     *
+     * @return {@literal true} if {@link #getBody()} can be called; {@literal false}, otherwise
+     */
+    default boolean isBodyAvailable() {
+        return true;
+    }
+
+    /**
+     * Returns the cache of representations decoded from this response's body, such as its text or its JSON tree, so that
+     * decoders and assertions which need the same representation do not decode the body again. The responses created by
+     * Bastion always return the same cache; the default implementation returns a new, empty cache on every call, which
+     * means that nothing is cached.
+     *
+     * @return The decoded representation cache for this response
+     */
+    default DecodedResponseCache getDecodedCache() {
+        return new DecodedResponseCache();
+    }
 }
@@ -0,0 +1,150 @@
+package rocks.bastion.core;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A response body which has been written to a temporary file and memory-mapped, rather than kept on the heap. The
+ * operating system pages the body in and out of memory as it is read, so large bodies add neither to the heap size nor
+ * to garbage collection pauses. Bodies larger than 2 GB are mapped in several chunks.
+ * <p>
+ * The temporary file is deleted as soon as it has been mapped, so that no files are left behind; the mapping itself stays
+ * valid until the body is garbage collected. On platforms which do not allow deleting a mapped file, the file is deleted
+ * when the JVM exits instead.
+ */
+final class SpilledBody {
+
+    private static final long MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+
+    private final ByteBuffer[] chunks;
+    private final long size;
+
+    private SpilledBody(ByteBuffer[] chunks, long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Writes the given body to a temporary file and maps it into memory.
+     *
+     * @param head The part of the body which has already been read
+     * @param rest The remainder of the body, which is read until its end but not closed
+     * @return The spilled body
+     * @throws IOException if the body could not be read or the temporary file could not be written
+     */
+    static SpilledBody write(byte[] head, InputStream rest) throws IOException {
+        Path file = Files.createTempFile("bastion-response-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer headBuffer = ByteBuffer.wrap(head);
+                while (headBuffer.hasRemaining()) {
+                    channel.write(headBuffer);
+                }
+                ByteStreams.copy(rest, Channels.newOutputStream(channel));
+                long size = channel.size();
+                return new SpilledBody(map(channel, size), size);
+            }
+        } finally {
+            delete(file);
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * @return A new stream positioned at the start of the body, independent of any other stream returned by this method
+     */
+    InputStream open() {
+        ByteBuffer[] readers = new ByteBuffer[chunks.length];
+        for (int index = 0; index < chunks.length; index++) {
+            readers[index] = chunks[index].duplicate();
+        }
+        return new ChunkInputStream(readers);
+    }
+
+    private static ByteBuffer[] map(FileChannel channel, long size) throws IOException {
+        int chunkCount = (int) Math.max(1, (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount];
+        for (int index = 0; index < chunkCount; index++) {
+            long position = index * MAX_CHUNK_SIZE;
+            chunks[index] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_CHUNK_SIZE, size - position));
+        }
+        return chunks;
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    private static final class ChunkInputStream extends InputStream {
+
+        private final ByteBuffer[] chunks;
+        private int currentChunk;
+
+        private ChunkInputStream(ByteBuffer[] chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public int read() {
+            ByteBuffer chunk = nextReadableChunk();
+            return (chunk == null) ? -1 : (chunk.get() & 0xFF);
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            ByteBuffer chunk = nextReadableChunk();
+            if (chunk == null) {
+                return -1;
+            }
+            int count = Math.min(length, chunk.remaining());
+            chunk.get(buffer, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) {
+            long skipped = 0;
+            ByteBuffer chunk;
+            while ((skipped < count) && ((chunk = nextReadableChunk()) != null)) {
+                int step = (int) Math.min(count - skipped, chunk.remaining());
+                chunk.position(chunk.position() + step);
+                skipped += step;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            ByteBuffer chunk = nextReadableChunk();
+            return (chunk == null) ? 0 : chunk.remaining();
+        }
+
+        private ByteBuffer nextReadableChunk() {
+            while (currentChunk < chunks.length) {
+                if (chunks[currentChunk].hasRemaining()) {
+                    return chunks[currentChunk];
+                }
+                currentChunk++;
+            }
+            return null;
+        }
+    }
+}
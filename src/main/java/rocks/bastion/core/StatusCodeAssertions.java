@@ -61,4 +61,9 @@ public final class StatusCodeAssertions implements Assertions<Object> {
         assertThat(statusCode).describedAs("HTTP Response Status Code").matches(actualStatusCode ->
                 ArrayUtils.contains(expectedStatusCodes, actualStatusCode));
     }
+
+    @Override
+    public boolean requiresModel() {
+        return false;
+    }
 }
@@ -0,0 +1,303 @@
+package rocks.bastion.core;
+
+import com.google.common.io.ByteStreams;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.util.ResourceUtils;
+import rocks.bastion.core.resource.ResourceNotFoundException;
+import rocks.bastion.core.resource.UnreadableResourceException;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A request body which is streamed to the remote server as it is sent, instead of being loaded into memory first. Use a
+ * streamed body as the body of an {@link HttpRequest} (for example, using {@link GeneralRequest#setBody(StreamedRequestBody)})
+ * to send payloads which are much larger than would comfortably fit in memory.
+ * </p>
+ * <p>
+ * Streamed bodies are read from a file, a resource or an {@link InputStream} supplier, or rendered from a template. The
+ * body is opened again every time the request is sent, so the same request can be sent many times. When the
+ * {@link #length() length} of the body is known, the transports announce it as the request's content-length and then
+ * {@link #writeTo(OutputStream, long) write exactly that many bytes}, even if the underlying file or resource changes
+ * size in the meantime.
+ * </p>
+ */
+public abstract class StreamedRequestBody {
+
+    /**
+     * Creates a body which streams the content of the given file.
+     *
+     * @param path A non-{@literal null} path to the file to send
+     * @return A body which is read from the file every time the request is sent
+     */
+    public static StreamedRequestBody fromPath(Path path) {
+        Objects.requireNonNull(path);
+        return new PathBody(path);
+    }
+
+    /**
+     * Creates a body which streams the content of the resource at the given location. The resource location is specified
+     * as a resource URL as described in {@link rocks.bastion.core.resource.ResourceLoader}, such as
+     * {@code classpath:/rocks/bastion/json/Sushi.json} or {@code file:/home/user/Sushi.json}. Resources which are files are
+     * sent as if they were passed to {@link #fromPath(Path)}.
+     *
+     * @param location A non-{@literal null} location of the resource to send
+     * @return A body which is read from the resource every time the request is sent
+     * @throws ResourceNotFoundException   Thrown if the specified resource does not exist
+     * @throws UnreadableResourceException Thrown if the specified resource exists but cannot be read
+     */
+    public static StreamedRequestBody fromResource(String location) {
+        Objects.requireNonNull(location);
+        Resource resource = new DefaultResourceLoader().getResource(location);
+        if (!resource.exists()) {
+            throw new ResourceNotFoundException(location);
+        }
+        if (!resource.isReadable()) {
+            throw new UnreadableResourceException(location);
+        }
+        try {
+            if (ResourceUtils.isFileURL(resource.getURL())) {
+                return fromPath(resource.getFile().toPath());
+            }
+        } catch (IOException ignored) {
+            // the resource is not a file, so it is streamed from the resource itself
+        }
+        return new ResourceBody(location, resource);
+    }
+
+    /**
+     * Creates a body which streams the content of the input streams returned by the given supplier. The length of the body
+     * is not known in advance, so the body is sent using chunked transfer encoding.
+     *
+     * @param supplier A non-{@literal null} supplier which returns a new stream every time the request is sent
+     * @return A body which is read from a new stream every time the request is sent
+     */
+    public static StreamedRequestBody fromInputStream(Supplier<? extends InputStream> supplier) {
+        return fromInputStream(supplier, -1);
+    }
+
+    /**
+     * Creates a body which streams the content of the input streams returned by the given supplier, each of which contains
+     * exactly {@code length} bytes.
+     *
+     * @param supplier A non-{@literal null} supplier which returns a new stream every time the request is sent
+     * @param length   The number of bytes in each stream, or -1 if it is not known
+     * @return A body which is read from a new stream every time the request is sent
+     */
+    public static StreamedRequestBody fromInputStream(Supplier<? extends InputStream> supplier, long length) {
+        Objects.requireNonNull(supplier);
+        return new SupplierBody(supplier, length);
+    }
+
+    /**
+     * Creates a body which is rendered from the given template, using UTF-8, straight into the request as it is sent.
+     *
+     * @param compiler A non-{@literal null} compiler holding the template and its variable assignments
+     * @return A body which is rendered again every time the request is sent
+     * @see #fromTemplate(TemplateContentCompiler, Charset)
+     */
+    public static StreamedRequestBody fromTemplate(TemplateContentCompiler compiler) {
+        return fromTemplate(compiler, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a body which is rendered from the given template straight into the request as it is sent, so that the
+     * rendered content is never held in memory as a whole. The length of the rendered content is not known in advance, so
+     * the body is sent using chunked transfer encoding. The template is rendered using the variable assignments held by the
+     * compiler at the time the request is sent. Since the template is only rendered while the request is being sent, a
+     * variable which has no assignment fails the request part way through sending its body.
+     *
+     * @param compiler A non-{@literal null} compiler holding the template and its variable assignments
+     * @param charset  A non-{@literal null} character set to encode the rendered content with
+     * @return A body which is rendered again every time the request is sent
+     */
+    public static StreamedRequestBody fromTemplate(TemplateContentCompiler compiler, Charset charset) {
+        Objects.requireNonNull(compiler);
+        Objects.requireNonNull(charset);
+        return new TemplateBody(compiler, charset);
+    }
+
+    /**
+     * Opens a new stream over the content of this body.
+     *
+     * @return A stream which the caller must close
+     * @throws IOException if the body cannot be opened
+     */
+    public abstract InputStream open() throws IOException;
+
+    /**
+     * @return The number of bytes in this body, or -1 if it is not known before the body is read
+     */
+    public long length() {
+        return -1;
+    }
+
+    /**
+     * Writes the whole content of this body to the given stream, without closing the stream.
+     *
+     * @param outputStream The stream to write this body to
+     * @throws IOException if the body cannot be read or the stream cannot be written to
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        try (InputStream body = open()) {
+            ByteStreams.copy(body, outputStream);
+        }
+    }
+
+    /**
+     * Writes exactly {@code length} bytes of this body to the given stream, without closing the stream. Transports use this
+     * method, passing the length they announced to the remote server, so that the body sent always matches its announced
+     * content-length: a body which has grown since its length was taken is cut short, and a body which has shrunk fails
+     * the request.
+     *
+     * @param outputStream The stream to write this body to
+     * @param length       The number of bytes to write, as previously returned by {@link #length()}, or -1 to write the
+     *                     whole body
+     * @throws IOException if the body cannot be read, is shorter than {@code length} or the stream cannot be written to
+     */
+    public void writeTo(OutputStream outputStream, long length) throws IOException {
+        if (length < 0) {
+            writeTo(outputStream);
+            return;
+        }
+        try (InputStream body = open()) {
+            long written = ByteStreams.copy(ByteStreams.limit(body, length), outputStream);
+            if (written < length) {
+                throw new IOException(String.format("The body %s ended after %d bytes but %d bytes were announced", this, written, length));
+            }
+        }
+    }
+
+    private static final class PathBody extends StreamedRequestBody {
+
+        private final Path path;
+
+        private PathBody(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        public InputStream open() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public long length() {
+            try {
+                return Files.size(path);
+            } catch (IOException ignored) {
+                return -1;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "[streamed body from file " + path + "]";
+        }
+    }
+
+    private static final class ResourceBody extends StreamedRequestBody {
+
+        private final String location;
+        private final Resource resource;
+
+        private ResourceBody(String location, Resource resource) {
+            this.location = location;
+            this.resource = resource;
+        }
+
+        @Override
+        public InputStream open() throws IOException {
+            return resource.getInputStream();
+        }
+
+        @Override
+        public long length() {
+            try {
+                return resource.contentLength();
+            } catch (IOException ignored) {
+                return -1;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "[streamed body from resource " + location + "]";
+        }
+    }
+
+    private static final class SupplierBody extends StreamedRequestBody {
+
+        private final Supplier<? extends InputStream> supplier;
+        private final long length;
+
+        private SupplierBody(Supplier<? extends InputStream> supplier, long length) {
+            this.supplier = supplier;
+            this.length = length;
+        }
+
+        @Override
+        public InputStream open() throws IOException {
+            InputStream body = supplier.get();
+            if (body == null) {
+                throw new IOException("The body supplier returned no stream");
+            }
+            return body;
+        }
+
+        @Override
+        public long length() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            return "[streamed body]";
+        }
+    }
+
+    private static final class TemplateBody extends StreamedRequestBody {
+
+        private final TemplateContentCompiler compiler;
+        private final Charset charset;
+
+        private TemplateBody(TemplateContentCompiler compiler, Charset charset) {
+            this.compiler = compiler;
+            this.charset = charset;
+        }
+
+        @Override
+        public InputStream open() throws IOException {
+            // only used by transports which read the body rather than have it written to the connection
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            writeTo(content);
+            return new ByteArrayInputStream(content.toByteArray());
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, charset));
+            compiler.writeContent(writer);
+            writer.flush();
+        }
+
+        @Override
+        public String toString() {
+            return "[streamed body from template]";
+        }
+    }
+}
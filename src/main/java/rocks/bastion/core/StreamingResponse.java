@@ -0,0 +1,110 @@
+package rocks.bastion.core;
+
+import org.apache.http.entity.ContentType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>
+ * An HTTP response whose body is read directly from the connection as it is consumed, instead of being read into memory
+ * first. This allows Bastion to test endpoints which return bodies much larger than would comfortably fit in memory.
+ * </p>
+ * <p>
+ * The body of a streaming response can only be {@link #getBody() obtained} once, and it can only be read from start to
+ * finish once, so Bastion hands it to the first consumer which needs it. If the assertions or callback ask for the
+ * response model, the model is the body stream itself, so that they can consume it while it is being received.
+ * Otherwise, assertions which read the body, such as {@link rocks.bastion.core.json.JsonResponseAssertions} and
+ * {@link rocks.bastion.core.json.JsonSchemaAssertions}, consume it, and a model requested later is decoded from the
+ * representation they left in the {@link #getDecodedCache() decoded cache}. If a model type other than
+ * {@link InputStream} is bound, the registered {@link rocks.bastion.core.model.ResponseDecoder decoders} consume the body
+ * instead and the assertions must rely on the decoded model. Bastion closes the response, releasing its connection, once
+ * the assertions and callback have executed.
+ * </p>
+ */
+public class StreamingResponse implements Response, Closeable {
+
+    private final int statusCode;
+    private final String statusText;
+    private final Collection<ApiHeader> headers;
+    private final InputStream body;
+    private final AtomicBoolean bodyTaken;
+    private final DecodedResponseCache decodedCache;
+
+    public StreamingResponse(int statusCode, String statusText, Collection<ApiHeader> headers, InputStream body) {
+        Objects.requireNonNull(statusText);
+        Objects.requireNonNull(headers);
+        Objects.requireNonNull(body);
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+        this.headers = headers;
+        this.body = body;
+        bodyTaken = new AtomicBoolean();
+        decodedCache = new DecodedResponseCache();
+    }
+
+    @Override
+    public Optional<ContentType> getContentType() {
+        return headers.stream().filter(header -> header.getName().equalsIgnoreCase("content-type")).findFirst().map(header -> ContentType.parse(header.getValue()));
+    }
+
+    @Override
+    public DecodedResponseCache getDecodedCache() {
+        return decodedCache;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @Override
+    public Collection<ApiHeader> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Returns the stream of the response body, as it is received from the remote server. This method can only be called
+     * once.
+     *
+     * @return The body content sent by the remote end during this HTTP call
+     * @throws IllegalStateException if the body has already been obtained
+     */
+    @Override
+    public InputStream getBody() {
+        if (!bodyTaken.compareAndSet(false, true)) {
+            throw new IllegalStateException("The body of a streamed response can only be read once.");
+        }
+        return body;
+    }
+
+    @Override
+    public boolean isStreamed() {
+        return true;
+    }
+
+    @Override
+    public boolean isBodyAvailable() {
+        return !bodyTaken.get();
+    }
+
+    /**
+     * Closes the body stream, releasing the underlying connection. Any part of the body which was not read is discarded.
+     *
+     * @throws IOException if the body stream could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        body.close();
+    }
+}
@@ -1,12 +1,17 @@
 package rocks.bastion.core;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.MustacheException.Context;
 import com.samskivert.mustache.Template;
 
+import java.io.Writer;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 /**
  * An internal class which uses a templating engine (JMustache in this case) to provide templating functionality for Bastion.
@@ -16,9 +21,18 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * See the <a href="https://mustache.github.io/mustache.5.html">Mustache man page</a> for an explaination of how to write Mustache
  * templates that can be interpreted by this class.
+ * <p>
+ * Compiled templates are cached process-wide, keyed by their source text, so constructing a compiler for a template which
+ * was already compiled (for example, when the same template resource is used by many requests) only binds the variables
+ * when the content is resolved. Compiled templates are immutable and safe to share between threads.
+ * </p>
  */
 public class TemplateContentCompiler {
 
+    private static final int MAX_CACHED_TEMPLATES = 256;
+    private static final Mustache.Compiler COMPILER = getCompiler();
+    private static final Cache<String, Template> COMPILED_TEMPLATES = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_TEMPLATES).build();
+
     private String template;
     private Template compiledTemplate;
     private Map<String, Object> variableAssignments;
@@ -87,6 +101,29 @@ public class TemplateContentCompiler {
         return resolveTemplate();
     }
 
+    /**
+     * Writes the fully resolved template to the given writer, as it is resolved, instead of building the whole content in
+     * memory. The variables in the template are resolved in the same way as they are for {@link #getContent()}. The writer
+     * is neither flushed nor closed.
+     *
+     * @param writer A non-{@literal null} writer to write the resolved template to
+     */
+    public void writeContent(Writer writer) {
+        Objects.requireNonNull(writer);
+        try {
+            compiledTemplate.execute(variableAssignments, writer);
+        } catch (Context compilationException) {
+            throw new TemplateCompilationException(compilationException, template, variableAssignments);
+        }
+    }
+
+    /**
+     * @return The compiled template, which is shared by every compiler constructed with the same template source text
+     */
+    Template getCompiledTemplate() {
+        return compiledTemplate;
+    }
+
     /**
      * Sets and compiles a new template written as a Mustache template.
      *
@@ -114,7 +151,15 @@ public class TemplateContentCompiler {
     }
 
     private Template compile() throws TemplateCompilationException {
-        return getCompiler().compile(template);
+        try {
+            return COMPILED_TEMPLATES.get(template, () -> COMPILER.compile(template));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Could not compile the template", cause);
+        }
     }
 
 }
@@ -2,11 +2,15 @@ package rocks.bastion.core.builder;
 
 import rocks.bastion.junit.BastionRunner;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Specifies the operations available on a Bastion test builder before it has been executed.
  * At this point, a user can only perform the following operation:
  * <ul>
  * <li>{@link #call()}: Starts the Bastion test by executing the HTTP request.</li>
+ * <li>{@link #callAsync()}: Starts the Bastion test by executing the HTTP request on another thread.</li>
  * </ul>
  * After using the {@linkplain #call()} method, the user may obtain the response, for further use in the ongoing test, using
  * methods defined in the {@link PostExecutionBuilder} interface.
@@ -27,4 +31,30 @@ public interface ExecuteRequestBuilder<MODEL> {
      */
     PostExecutionBuilder<? extends MODEL> call();
 
+    /**
+     * Performs the same steps as {@link #call()} but on a separate thread, returning immediately. The returned future
+     * completes once the request has been performed, the response decoded and any assertions and callback executed. This
+     * allows independent Bastion tests to overlap their HTTP round trips instead of running strictly one after the other.
+     * <br><br>
+     * The {@link rocks.bastion.core.event.BastionListener listeners} registered on this builder are notified exactly as they
+     * are for {@link #call()}, except that they are notified on the thread executing the request. If a listener rethrows
+     * an assertion failure or an error (as the default listener does), the returned future completes exceptionally with
+     * that failure as its cause. The same builder should not be executed again until the returned future completes.
+     * <br><br>
+     * The request is executed on a shared pool of daemon threads owned by Bastion. Use {@link #callAsync(Executor)} to
+     * supply your own executor, for example, to bound the number of requests in flight at any one time.
+     *
+     * @return A future which completes with a Bastion fluent-builder which allows you to retrieve the HTTP response and the decoded model
+     */
+    CompletableFuture<PostExecutionBuilder<? extends MODEL>> callAsync();
+
+    /**
+     * Performs the same steps as {@link #call()} using the given executor, returning immediately. See {@link #callAsync()}
+     * for more information about how the request is executed and how failures are reported.
+     *
+     * @param executor A non-{@literal null} executor which will perform the request
+     * @return A future which completes with a Bastion fluent-builder which allows you to retrieve the HTTP response and the decoded model
+     */
+    CompletableFuture<PostExecutionBuilder<? extends MODEL>> callAsync(Executor executor);
+
 }
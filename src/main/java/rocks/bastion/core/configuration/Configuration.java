@@ -1,6 +1,18 @@
 package rocks.bastion.core.configuration;
 
 import rocks.bastion.Bastion;
+import rocks.bastion.core.Response;
+import rocks.bastion.core.StreamingResponse;
+import rocks.bastion.core.transport.HttpTransport;
+import rocks.bastion.core.transport.HttpClientTransport;
+import rocks.bastion.core.transport.TransportRequest;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * <p>Contains all Bastion configuration settings.</p>
@@ -9,9 +21,16 @@ import rocks.bastion.Bastion;
 public class Configuration {
 
     private GlobalRequestAttributes globalRequestAttributes;
+    private ConnectionConfiguration connectionConfiguration;
+    private ResponseConfiguration responseConfiguration;
+    private Class<? extends HttpTransport> transportType;
+    private volatile TransportHolder transportHolder;
 
     public Configuration() {
         globalRequestAttributes = new GlobalRequestAttributes();
+        connectionConfiguration = new ConnectionConfiguration();
+        responseConfiguration = new ResponseConfiguration();
+        transportType = HttpClientTransport.class;
     }
 
     public GlobalRequestAttributes getGlobalRequestAttributes() {
@@ -21,4 +40,216 @@ public class Configuration {
     public void setGlobalRequestAttributes(GlobalRequestAttributes globalRequestAttributes) {
         this.globalRequestAttributes = globalRequestAttributes;
     }
-}
\ No newline at end of file
+
+    public ConnectionConfiguration getConnectionConfiguration() {
+        return connectionConfiguration;
+    }
+
+    /**
+     * Sets the connection settings used by the {@link HttpTransport}. If a transport has already been created for this
+     * configuration, a new transport, using the new settings, is created when the next request is sent. The old transport
+     * is closed once the requests which are still using it complete.
+     *
+     * @param connectionConfiguration The non-{@literal null} connection settings to use
+     */
+    public void setConnectionConfiguration(ConnectionConfiguration connectionConfiguration) {
+        requireNonNull(connectionConfiguration, "connectionConfiguration should not be null.");
+        synchronized (this) {
+            this.connectionConfiguration = connectionConfiguration;
+            replaceTransport(null);
+        }
+    }
+
+    public ResponseConfiguration getResponseConfiguration() {
+        return responseConfiguration;
+    }
+
+    /**
+     * Sets the settings which control how response bodies are read. Unlike the connection settings, these settings are
+     * read every time a request is sent, so changes take effect for the next request without recreating the transport.
+     *
+     * @param responseConfiguration The non-{@literal null} response settings to use
+     */
+    public void setResponseConfiguration(ResponseConfiguration responseConfiguration) {
+        requireNonNull(responseConfiguration, "responseConfiguration should not be null.");
+        this.responseConfiguration = responseConfiguration;
+    }
+
+    public Class<? extends HttpTransport> getTransportType() {
+        return transportType;
+    }
+
+    /**
+     * Sets the type of {@link HttpTransport} which Bastion will use to send HTTP requests. In a YAML configuration file,
+     * the transport type is given as a fully qualified class name. The transport type must have a public no-argument
+     * constructor; it will be instantiated the first time a request is sent using this configuration.
+     *
+     * @param transportType The non-{@literal null} transport type to use
+     */
+    public void setTransportType(Class<? extends HttpTransport> transportType) {
+        requireNonNull(transportType, "transportType should not be null.");
+        synchronized (this) {
+            this.transportType = transportType;
+            replaceTransport(null);
+        }
+    }
+
+    /**
+     * Returns the {@link HttpTransport} which Bastion will use to send HTTP requests. The same transport instance is
+     * returned on each invocation so that any underlying connections are shared by all requests using this configuration.
+     *
+     * @return The non-{@literal null} transport for this configuration
+     * @throws InvalidConfigurationException if the configured transport type could not be instantiated
+     */
+    public HttpTransport getTransport() {
+        return getTransportHolder().transport;
+    }
+
+    /**
+     * Sends the given request using the {@link #getTransport() transport} of this configuration. While the request is in
+     * flight, and until the response is closed if it is a {@link StreamingResponse}, the transport is not closed even if
+     * this configuration switches to another transport; it is closed once its last request completes instead.
+     *
+     * @param request The non-{@literal null} request to send
+     * @return The HTTP response retrieved from the remote server
+     * @throws IOException If the request could not be sent or the response could not be read
+     * @throws InvalidConfigurationException if the configured transport type could not be instantiated
+     */
+    public Response execute(TransportRequest request) throws IOException {
+        requireNonNull(request, "request should not be null.");
+        TransportHolder holder = getTransportHolder();
+        while (!holder.acquire()) {
+            // the transport was replaced between looking it up and using it
+            holder = getTransportHolder();
+        }
+        boolean released = true;
+        try {
+            Response response = holder.transport.execute(request);
+            if (response instanceof StreamingResponse) {
+                // the connection stays in use until the body of a streaming response is closed
+                response = releaseOnClose((StreamingResponse) response, holder);
+                released = false;
+            }
+            return response;
+        } finally {
+            if (released) {
+                holder.release();
+            }
+        }
+    }
+
+    private TransportHolder getTransportHolder() {
+        TransportHolder currentHolder = transportHolder;
+        if (currentHolder == null) {
+            synchronized (this) {
+                currentHolder = transportHolder;
+                if (currentHolder == null) {
+                    HttpTransport newTransport = instantiateTransport();
+                    newTransport.configure(connectionConfiguration);
+                    currentHolder = new TransportHolder(newTransport);
+                    transportHolder = currentHolder;
+                }
+            }
+        }
+        return currentHolder;
+    }
+
+    /**
+     * Sets an already instantiated {@link HttpTransport} which Bastion will use to send HTTP requests. The transport is
+     * {@link HttpTransport#configure(ConnectionConfiguration) configured} with the current connection settings of this
+     * configuration. Any transport previously used by this configuration is closed once the requests which are still using
+     * it complete.
+     *
+     * @param transport The non-{@literal null} transport to use
+     */
+    public void setTransport(HttpTransport transport) {
+        requireNonNull(transport, "transport should not be null.");
+        synchronized (this) {
+            transport.configure(connectionConfiguration);
+            this.transportType = transport.getClass();
+            replaceTransport(transport);
+        }
+    }
+
+    private void replaceTransport(HttpTransport newTransport) {
+        TransportHolder oldHolder = transportHolder;
+        if ((oldHolder != null) && (oldHolder.transport == newTransport)) {
+            return;
+        }
+        transportHolder = (newTransport == null) ? null : new TransportHolder(newTransport);
+        if (oldHolder != null) {
+            oldHolder.retire();
+        }
+    }
+
+    private HttpTransport instantiateTransport() {
+        try {
+            return transportType.getDeclaredConstructor().newInstance();
+        } catch (InvocationTargetException e) {
+            throw new InvalidConfigurationException(String.format("The constructor of the HTTP transport [%s] failed.", transportType.getName()), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new InvalidConfigurationException(String.format("Could not instantiate the HTTP transport [%s]. Make sure it has a public no-argument constructor.", transportType.getName()), e);
+        }
+    }
+
+    private static StreamingResponse releaseOnClose(StreamingResponse response, TransportHolder holder) {
+        AtomicBoolean released = new AtomicBoolean();
+        return new StreamingResponse(response.getStatusCode(), response.getStatusText(), response.getHeaders(), new FilterInputStream(response.getBody()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        holder.release();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Counts the requests which are using a transport, so that a transport which this configuration no longer uses is only
+     * closed once the requests which were already using it complete.
+     */
+    private static final class TransportHolder {
+
+        private final HttpTransport transport;
+        private int requestsInFlight;
+        private boolean retired;
+
+        private TransportHolder(HttpTransport transport) {
+            this.transport = transport;
+        }
+
+        private synchronized boolean acquire() {
+            if (retired) {
+                return false;
+            }
+            requestsInFlight++;
+            return true;
+        }
+
+        private void release() {
+            boolean close;
+            synchronized (this) {
+                requestsInFlight--;
+                close = retired && (requestsInFlight == 0);
+            }
+            if (close) {
+                transport.close();
+            }
+        }
+
+        private void retire() {
+            boolean close;
+            synchronized (this) {
+                retired = true;
+                close = (requestsInFlight == 0);
+            }
+            if (close) {
+                transport.close();
+            }
+        }
+    }
+}
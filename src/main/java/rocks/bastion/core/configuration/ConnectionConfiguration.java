@@ -0,0 +1,175 @@
+package rocks.bastion.core.configuration;
+
+/**
+ * <p>
+ * Settings which control how the {@link rocks.bastion.core.transport.HttpTransport HTTP transport} manages its connections
+ * to remote servers, such as the size of the connection pool and how long idle connections are kept alive.
+ * </p>
+ * <p>
+ * The default values are the same as the ones used by Unirest: a pool of at most 200 connections, of which at most 20 are
+ * to the same route. When running many concurrent requests against the same server, increase the maximum connections per
+ * route so that requests do not queue up inside the client waiting for a free connection.
+ * </p>
+ * <p>
+ * These settings are read once, when the transport is created. Changes made after a request has been sent using a
+ * {@link Configuration} take effect only once the connection configuration is set again using
+ * {@link Configuration#setConnectionConfiguration(ConnectionConfiguration)}.
+ * </p>
+ */
+public class ConnectionConfiguration {
+
+    private int maxTotalConnections;
+    private int maxConnectionsPerRoute;
+    private long keepAliveDuration;
+    private long idleEvictionInterval;
+    private boolean tcpNoDelay;
+    private int socketSendBufferSize;
+    private int socketReceiveBufferSize;
+
+    public ConnectionConfiguration() {
+        clear();
+    }
+
+    /**
+     * Resets all the connection settings to their default values.
+     */
+    public void clear() {
+        maxTotalConnections = 200;
+        maxConnectionsPerRoute = 20;
+        keepAliveDuration = 0;
+        idleEvictionInterval = 0;
+        tcpNoDelay = true;
+        socketSendBufferSize = 0;
+        socketReceiveBufferSize = 0;
+    }
+
+    public int getMaxTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    /**
+     * Sets the maximum number of connections the transport will keep open at the same time, across all servers.
+     *
+     * @param maxTotalConnections A positive number of connections
+     * @return This configuration object, for chaining
+     */
+    public ConnectionConfiguration setMaxTotalConnections(int maxTotalConnections) {
+        requirePositive(maxTotalConnections, "maxTotalConnections");
+        this.maxTotalConnections = maxTotalConnections;
+        return this;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Sets the maximum number of connections the transport will keep open at the same time to a single server.
+     *
+     * @param maxConnectionsPerRoute A positive number of connections
+     * @return This configuration object, for chaining
+     */
+    public ConnectionConfiguration setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        requirePositive(maxConnectionsPerRoute, "maxConnectionsPerRoute");
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        return this;
+    }
+
+    public long getKeepAliveDuration() {
+        return keepAliveDuration;
+    }
+
+    /**
+     * Sets the longest time (in milliseconds) that an idle connection is kept alive for reuse. If the server advertises a
+     * shorter keep-alive time, the server's value is used instead. A value of {@literal 0} means that connections are
+     * kept alive for as long as the server allows.
+     *
+     * @param keepAliveDuration The keep-alive duration, in milliseconds
+     * @return This configuration object, for chaining
+     */
+    public ConnectionConfiguration setKeepAliveDuration(long keepAliveDuration) {
+        requireNonNegative(keepAliveDuration, "keepAliveDuration");
+        this.keepAliveDuration = keepAliveDuration;
+        return this;
+    }
+
+    public long getIdleEvictionInterval() {
+        return idleEvictionInterval;
+    }
+
+    /**
+     * Sets how often (in milliseconds) the transport closes pooled connections which have expired or which have been
+     * idle for longer than the {@link #setKeepAliveDuration(long) keep-alive duration}. A value of {@literal 0} disables
+     * the background eviction; stale connections are then only detected when they are next leased from the pool.
+     *
+     * @param idleEvictionInterval The eviction interval, in milliseconds
+     * @return This configuration object, for chaining
+     */
+    public ConnectionConfiguration setIdleEvictionInterval(long idleEvictionInterval) {
+        requireNonNegative(idleEvictionInterval, "idleEvictionInterval");
+        this.idleEvictionInterval = idleEvictionInterval;
+        return this;
+    }
+
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    /**
+     * Sets whether the {@code TCP_NODELAY} socket option is enabled, disabling Nagle's algorithm so that small requests are
+     * sent immediately.
+     *
+     * @param tcpNoDelay {@literal true} to enable {@code TCP_NODELAY}; {@literal false}, otherwise.
+     * @return This configuration object, for chaining
+     */
+    public ConnectionConfiguration setTcpNoDelay(boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+        return this;
+    }
+
+    public int getSocketSendBufferSize() {
+        return socketSendBufferSize;
+    }
+
+    /**
+     * Sets the size (in bytes) of the socket send buffer ({@code SO_SNDBUF}). A value of {@literal 0} leaves the operating
+     * system default in place.
+     *
+     * @param socketSendBufferSize The buffer size, in bytes
+     * @return This configuration object, for chaining
+     */
+    public ConnectionConfiguration setSocketSendBufferSize(int socketSendBufferSize) {
+        requireNonNegative(socketSendBufferSize, "socketSendBufferSize");
+        this.socketSendBufferSize = socketSendBufferSize;
+        return this;
+    }
+
+    public int getSocketReceiveBufferSize() {
+        return socketReceiveBufferSize;
+    }
+
+    /**
+     * Sets the size (in bytes) of the socket receive buffer ({@code SO_RCVBUF}). A value of {@literal 0} leaves the
+     * operating system default in place.
+     *
+     * @param socketReceiveBufferSize The buffer size, in bytes
+     * @return This configuration object, for chaining
+     */
+    public ConnectionConfiguration setSocketReceiveBufferSize(int socketReceiveBufferSize) {
+        requireNonNegative(socketReceiveBufferSize, "socketReceiveBufferSize");
+        this.socketReceiveBufferSize = socketReceiveBufferSize;
+        return this;
+    }
+
+    private static void requirePositive(long value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(String.format("%s should be greater than 0.", name));
+        }
+    }
+
+    private static void requireNonNegative(long value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(String.format("%s should not be negative.", name));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package rocks.bastion.core.configuration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Locale;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ * Settings which control how Bastion reads the bodies of the responses it receives.
+ * </p>
+ * <p>
+ * By default, the whole body of every response is read into memory before the response is decoded, so that the decoders,
+ * assertions and callbacks can read it as many times as they need to. Responses whose content-type is one of the
+ * {@link #getStreamingContentTypes() streaming content-types}, or whose request {@link rocks.bastion.core.HttpRequest#streamResponse()
+ * asks for it}, are instead streamed: their body is read directly from the connection, only once. See
+ * {@link rocks.bastion.core.StreamingResponse} for details.
+ * </p>
+ * <p>
+ * The {@link #getMaxBufferSize() maximum buffer size} protects against running out of memory when a response which is
+ * not streamed turns out to be much larger than expected. Bodies larger than the {@link #getSpillThreshold() spill threshold}
+ * are written to a memory-mapped temporary file instead of being kept on the heap, so that large responses can still be
+ * read as many times as needed without increasing the heap size.
+ * </p>
+ */
+public class ResponseConfiguration {
+
+    private Collection<String> streamingContentTypes;
+    private long maxBufferSize;
+    private long spillThreshold;
+
+    public ResponseConfiguration() {
+        clear();
+    }
+
+    /**
+     * Resets all the response settings to their default values.
+     */
+    public void clear() {
+        streamingContentTypes = new ArrayList<>();
+        maxBufferSize = 0;
+        spillThreshold = 0;
+    }
+
+    public Collection<String> getStreamingContentTypes() {
+        return streamingContentTypes;
+    }
+
+    /**
+     * Sets the MIME types (such as {@code text/csv}) of the responses which should be streamed rather than read into
+     * memory. MIME types are compared ignoring case and any parameters, such as the charset, are ignored.
+     *
+     * @param streamingContentTypes The non-{@literal null} collection of MIME types to stream
+     * @return This configuration object, for chaining
+     */
+    public ResponseConfiguration setStreamingContentTypes(Collection<String> streamingContentTypes) {
+        requireNonNull(streamingContentTypes, "streamingContentTypes should not be null.");
+        this.streamingContentTypes = streamingContentTypes;
+        return this;
+    }
+
+    /**
+     * Adds a MIME type to the collection of {@link #setStreamingContentTypes(Collection) streaming content-types}.
+     *
+     * @param mimeType The non-{@literal null} MIME type to stream
+     * @return This configuration object, for chaining
+     */
+    public ResponseConfiguration addStreamingContentType(String mimeType) {
+        requireNonNull(mimeType, "mimeType should not be null.");
+        streamingContentTypes.add(mimeType);
+        return this;
+    }
+
+    /**
+     * Checks whether responses with the given MIME type should be streamed.
+     *
+     * @param mimeType The MIME type of a response, without any parameters
+     * @return {@literal true} if the MIME type is one of the streaming content-types; {@literal false}, otherwise
+     */
+    public boolean isStreamingContentType(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+        String normalisedMimeType = mimeType.trim().toLowerCase(Locale.ENGLISH);
+        return streamingContentTypes.stream().anyMatch(streamingContentType -> streamingContentType.trim().toLowerCase(Locale.ENGLISH).equals(normalisedMimeType));
+    }
+
+    public long getMaxBufferSize() {
+        return maxBufferSize;
+    }
+
+    /**
+     * Sets the largest response body, in bytes, which Bastion will read into memory or, for bodies larger than the
+     * {@link #setSpillThreshold(long) spill threshold}, to disk. Responses which are not streamed and whose body is larger
+     * than this are reported as errors. A value of {@literal 0}, the default, means there is no limit.
+     *
+     * @param maxBufferSize A non-negative number of bytes
+     * @return This configuration object, for chaining
+     */
+    public ResponseConfiguration setMaxBufferSize(long maxBufferSize) {
+        if (maxBufferSize < 0) {
+            throw new IllegalArgumentException("maxBufferSize should not be negative.");
+        }
+        this.maxBufferSize = maxBufferSize;
+        return this;
+    }
+
+    public long getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    /**
+     * Sets the size, in bytes, above which response bodies are written to a memory-mapped temporary file rather than kept
+     * on the heap. A value of {@literal 0}, the default, means bodies are always kept on the heap.
+     *
+     * @param spillThreshold A non-negative number of bytes
+     * @return This configuration object, for chaining
+     */
+    public ResponseConfiguration setSpillThreshold(long spillThreshold) {
+        if (spillThreshold < 0) {
+            throw new IllegalArgumentException("spillThreshold should not be negative.");
+        }
+        this.spillThreshold = spillThreshold;
+        return this;
+    }
+}
@@ -12,6 +12,7 @@ import java.util.logging.Logger;
 public class EventLogging {
 
     private static final Logger LOG = Logger.getLogger("Bastion");
+    private static final long MAX_LOGGED_BODY_LENGTH = 64 * 1024;
 
     private BastionEvent event;
 
@@ -36,7 +37,7 @@ public class EventLogging {
         if (event.getResponse() == null) {
             return;
         }
-        LOG.info("\nResponse received:\n==================\n" + new ResponsePrinter(event.getResponse()).getAsString() + "\n\n");
+        LOG.info("\nResponse received:\n==================\n" + new ResponsePrinter(event.getResponse()).setMaxBodyLength(MAX_LOGGED_BODY_LENGTH).getAsString() + "\n\n");
     }
 
 }
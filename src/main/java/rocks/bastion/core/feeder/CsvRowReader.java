@@ -0,0 +1,143 @@
+package rocks.bastion.core.feeder;
+
+import rocks.bastion.core.resource.InvalidResourceException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * Reads rows from a CSV resource as described by RFC-4180. The first record of the resource holds the column names, and
+ * every following record is a row which must have a value for each column. Values containing commas, quotes or line breaks
+ * are enclosed in double quotes, and double quotes within them are escaped by doubling them. Records may be separated by
+ * either CRLF or LF line breaks, and blank lines are skipped.
+ */
+final class CsvRowReader implements RowReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final String location;
+    private final Reader reader;
+    private final char[] buffer;
+    private final StringBuilder value;
+    private int position;
+    private int limit;
+    private long recordNumber;
+    private String[] columns;
+
+    CsvRowReader(String location, Reader reader) throws IOException {
+        this.location = location;
+        this.reader = reader;
+        buffer = new char[BUFFER_SIZE];
+        value = new StringBuilder();
+        List<String> header = readRecord();
+        columns = (header == null) ? new String[0] : readColumns(header);
+    }
+
+    @Override
+    public FeederRow read() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while ((record.size() == 1) && record.get(0).isEmpty());
+        if (record.size() != columns.length) {
+            throw new InvalidResourceException(format("Record %d of the CSV resource has %d values but its header declares %d columns: %s",
+                    recordNumber, record.size(), columns.length, location), location);
+        }
+        return new FeederRow(columns, record.toArray(new String[columns.length]));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String[] readColumns(List<String> header) {
+        if (!header.isEmpty() && !header.get(0).isEmpty() && (header.get(0).charAt(0) == BYTE_ORDER_MARK)) {
+            header.set(0, header.get(0).substring(1));
+        }
+        Set<String> distinctColumns = new HashSet<>();
+        for (String column : header) {
+            if (!distinctColumns.add(column)) {
+                throw new InvalidResourceException(format("The header of the CSV resource declares the column '%s' more than once: %s", column, location), location);
+            }
+        }
+        return header.toArray(new String[header.size()]);
+    }
+
+    private List<String> readRecord() throws IOException {
+        int character = nextCharacter();
+        if (character < 0) {
+            return null;
+        }
+        recordNumber++;
+        List<String> record = new ArrayList<>((columns == null) ? 8 : columns.length);
+        value.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (character < 0) {
+                    throw new InvalidResourceException(format("Record %d of the CSV resource has an unterminated quoted value: %s", recordNumber, location), location);
+                }
+                if (character != '"') {
+                    value.append((char) character);
+                } else if (peekCharacter() == '"') {
+                    nextCharacter();
+                    value.append('"');
+                } else {
+                    quoted = false;
+                }
+            } else if (character == '"') {
+                quoted = true;
+            } else if (character == ',') {
+                record.add(value.toString());
+                value.setLength(0);
+            } else if ((character == '\n') || (character == '\r') || (character < 0)) {
+                if ((character == '\r') && (peekCharacter() == '\n')) {
+                    nextCharacter();
+                }
+                record.add(value.toString());
+                return record;
+            } else {
+                value.append((char) character);
+            }
+            character = nextCharacter();
+        }
+    }
+
+    private int nextCharacter() throws IOException {
+        if ((position == limit) && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peekCharacter() throws IOException {
+        if ((position == limit) && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package rocks.bastion.core.feeder;
+
+/**
+ * Determines which row a {@link Feeder} returns next and what happens once all the rows have been returned.
+ */
+public enum FeedStrategy {
+
+    /**
+     * Returns each row once, in the order in which the rows appear in the resource. Once all the rows have been returned,
+     * the feeder runs out of rows and a {@link rocks.bastion.core.load.LoadRunner load run} fed by it stops early.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Returns the rows in the order in which they appear in the resource and starts again from the first row after the
+     * last row has been returned. The feeder never runs out of rows, unless the resource contains no rows at all.
+     */
+    CIRCULAR,
+
+    /**
+     * Returns uniformly random rows and never runs out of rows, unless the resource contains no rows at all. Unlike the
+     * other strategies, the whole resource is read into memory the first time a row is requested, so that rows can be
+     * picked at random.
+     */
+    RANDOM,
+
+    /**
+     * Returns each row exactly once, in the order in which the rows appear in the resource, and treats running out of
+     * rows as an error: requesting a row after the last row has been returned throws a {@link FeederExhaustedException}.
+     * Use this strategy when each row must be used by exactly one request, for example when rows contain single-use
+     * credentials, and the run must not silently be cut short.
+     */
+    UNIQUE
+}
@@ -0,0 +1,274 @@
+package rocks.bastion.core.feeder;
+
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import rocks.bastion.core.resource.ResourceNotFoundException;
+import rocks.bastion.core.resource.UnreadableResourceException;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>
+ * Feeds rows of test data, read from a CSV or JSON Lines resource, into requests. Each row is a map from column names to
+ * values, which can be used directly as the variable assignments of a templated request, for example:
+ * </p>
+ * <pre>{@code
+ * Feeder feeder = Feeder.fromCsv("classpath:/rocks/bastion/sushi.csv", FeedStrategy.CIRCULAR);
+ * Bastion.load(feeder, row -> JsonRequest.fromTemplate(HttpMethod.POST, "http://sushi.test/sushi", "classpath:/rocks/bastion/sushi-template.json", row))
+ *        .iterations(1_000_000)
+ *        .concurrency(8)
+ *        .run();
+ * }</pre>
+ * <p>
+ * Rows are read lazily, as they are requested, so a feeder can feed millions of rows without holding them in memory (except
+ * when using the {@link FeedStrategy#RANDOM random} strategy). The order in which rows are returned, and what happens once
+ * every row has been returned, is determined by the feeder's {@link FeedStrategy strategy}. To send one request per row
+ * sequentially, as part of a functional test, iterate over the rows using {@link #stream()}. To send requests for the rows
+ * from a pool of threads, pass the feeder to {@link rocks.bastion.Bastion#load(Feeder, java.util.function.Function)}.
+ * </p>
+ * <p>
+ * Feeders are thread-safe. Rows are parsed from the resource one at a time, which is inherently serial, so the feeder only
+ * holds its lock for the time it takes to parse one row; random rows are picked without locking at all. Close the feeder
+ * once it is no longer needed to release the resource it is reading from.
+ * </p>
+ */
+public final class Feeder implements AutoCloseable {
+
+    /**
+     * Creates a feeder which returns each row of the given CSV resource once, in order.
+     *
+     * @param location A non-{@literal null} resource URL, as described in {@link rocks.bastion.core.resource.ResourceLoader}
+     * @return A feeder using the {@link FeedStrategy#SEQUENTIAL} strategy
+     * @see #fromCsv(String, FeedStrategy)
+     */
+    public static Feeder fromCsv(String location) {
+        return fromCsv(location, FeedStrategy.SEQUENTIAL);
+    }
+
+    /**
+     * Creates a feeder which reads its rows from the given CSV resource, encoded in UTF-8. The first record of the resource
+     * holds the column names and every following record is a row, as described by RFC-4180.
+     *
+     * @param location A non-{@literal null} resource URL, as described in {@link rocks.bastion.core.resource.ResourceLoader}
+     * @param strategy A non-{@literal null} strategy determining the order in which rows are returned
+     * @return A feeder reading rows from the given resource
+     * @throws ResourceNotFoundException   Thrown if the specified resource does not exist
+     * @throws UnreadableResourceException Thrown if the specified resource exists but cannot be read
+     */
+    public static Feeder fromCsv(String location, FeedStrategy strategy) {
+        return new Feeder(location, strategy, CsvRowReader::new);
+    }
+
+    /**
+     * Creates a feeder which returns each row of the given JSON Lines resource once, in order.
+     *
+     * @param location A non-{@literal null} resource URL, as described in {@link rocks.bastion.core.resource.ResourceLoader}
+     * @return A feeder using the {@link FeedStrategy#SEQUENTIAL} strategy
+     * @see #fromJsonLines(String, FeedStrategy)
+     */
+    public static Feeder fromJsonLines(String location) {
+        return fromJsonLines(location, FeedStrategy.SEQUENTIAL);
+    }
+
+    /**
+     * Creates a feeder which reads its rows from the given JSON Lines resource, encoded in UTF-8. Each non-blank line of the
+     * resource holds a JSON object whose properties are the columns of a row. Nested objects and arrays are given as JSON
+     * text.
+     *
+     * @param location A non-{@literal null} resource URL, as described in {@link rocks.bastion.core.resource.ResourceLoader}
+     * @param strategy A non-{@literal null} strategy determining the order in which rows are returned
+     * @return A feeder reading rows from the given resource
+     * @throws ResourceNotFoundException   Thrown if the specified resource does not exist
+     * @throws UnreadableResourceException Thrown if the specified resource exists but cannot be read
+     */
+    public static Feeder fromJsonLines(String location, FeedStrategy strategy) {
+        return new Feeder(location, strategy, JsonLinesRowReader::new);
+    }
+
+    private final String location;
+    private final FeedStrategy strategy;
+    private final RowReaderFactory readerFactory;
+    private final Resource resource;
+    private RowReader reader;
+    private boolean exhausted;
+    private volatile boolean closed;
+    private volatile FeederRow[] rows;
+
+    private Feeder(String location, FeedStrategy strategy, RowReaderFactory readerFactory) {
+        Objects.requireNonNull(location);
+        Objects.requireNonNull(strategy);
+        resource = new DefaultResourceLoader().getResource(location);
+        if (!resource.exists()) {
+            throw new ResourceNotFoundException(location);
+        }
+        if (!resource.isReadable()) {
+            throw new UnreadableResourceException(location);
+        }
+        this.location = location;
+        this.strategy = strategy;
+        this.readerFactory = readerFactory;
+    }
+
+    /**
+     * @return The strategy which determines the order in which this feeder returns rows
+     */
+    public FeedStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Returns the next row, as determined by this feeder's {@link FeedStrategy strategy}. The returned map cannot be
+     * modified.
+     *
+     * @return The next row, or an empty optional if the feeder has run out of rows
+     * @throws FeederExhaustedException Thrown if the feeder uses the {@link FeedStrategy#UNIQUE} strategy and has run out of rows
+     * @throws rocks.bastion.core.resource.InvalidResourceException Thrown if the next row of the resource is not valid
+     * @throws UncheckedIOException     Thrown if the resource cannot be read
+     * @throws IllegalStateException    Thrown if the feeder has been closed
+     */
+    public Optional<Map<String, String>> next() {
+        FeederRow row = nextRow();
+        if ((row == null) && (strategy == FeedStrategy.UNIQUE)) {
+            throw new FeederExhaustedException(location);
+        }
+        return Optional.ofNullable(row);
+    }
+
+    /**
+     * Returns a sequential stream of the rows returned by this feeder, which ends once the feeder runs out of rows (this
+     * includes the {@link FeedStrategy#UNIQUE} strategy). Streams over feeders using the {@link FeedStrategy#CIRCULAR} or
+     * {@link FeedStrategy#RANDOM} strategies never end, so they should be {@link Stream#limit(long) limited}. Closing the
+     * stream closes the feeder.
+     *
+     * @return A stream of the rows returned by this feeder
+     */
+    public Stream<Map<String, String>> stream() {
+        Spliterator<Map<String, String>> spliterator = new Spliterators.AbstractSpliterator<Map<String, String>>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Map<String, String>> action) {
+                FeederRow row = nextRow();
+                if (row == null) {
+                    return false;
+                }
+                action.accept(row);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * Closes the resource which this feeder is reading from. No more rows can be requested once the feeder is closed.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        closeReader();
+    }
+
+    private FeederRow nextRow() {
+        return (strategy == FeedStrategy.RANDOM) ? nextRandomRow() : nextStreamedRow();
+    }
+
+    private FeederRow nextRandomRow() {
+        checkOpen();
+        FeederRow[] loadedRows = rows;
+        if (loadedRows == null) {
+            loadedRows = loadRows();
+        }
+        if (loadedRows.length == 0) {
+            return null;
+        }
+        return loadedRows[ThreadLocalRandom.current().nextInt(loadedRows.length)];
+    }
+
+    private synchronized FeederRow[] loadRows() {
+        checkOpen();
+        if (rows == null) {
+            List<FeederRow> allRows = new ArrayList<>();
+            try (RowReader allRowsReader = openReader()) {
+                FeederRow row;
+                while ((row = allRowsReader.read()) != null) {
+                    allRows.add(row);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read the rows of the resource " + location, e);
+            }
+            rows = allRows.toArray(new FeederRow[allRows.size()]);
+        }
+        return rows;
+    }
+
+    private synchronized FeederRow nextStreamedRow() {
+        checkOpen();
+        if (exhausted) {
+            return null;
+        }
+        try {
+            if (reader == null) {
+                reader = openReader();
+            }
+            FeederRow row = reader.read();
+            if ((row == null) && (strategy == FeedStrategy.CIRCULAR)) {
+                closeReader();
+                reader = openReader();
+                row = reader.read();
+            }
+            if (row == null) {
+                exhausted = true;
+                closeReader();
+            }
+            return row;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the next row of the resource " + location, e);
+        }
+    }
+
+    private RowReader openReader() throws IOException {
+        Reader resourceReader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8);
+        try {
+            return readerFactory.open(location, resourceReader);
+        } catch (IOException | RuntimeException e) {
+            resourceReader.close();
+            throw e;
+        }
+    }
+
+    private void closeReader() {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException ignored) {
+                // nothing more will be read from the resource
+            }
+            reader = null;
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The feeder for the resource " + location + " has been closed.");
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowReaderFactory {
+        RowReader open(String location, Reader reader) throws IOException;
+    }
+}
@@ -0,0 +1,29 @@
+package rocks.bastion.core.feeder;
+
+/**
+ * Thrown by a {@link Feeder} using the {@link FeedStrategy#UNIQUE} strategy when a row is requested after every row in the
+ * resource has already been returned.
+ */
+public class FeederExhaustedException extends RuntimeException {
+
+    private String source;
+
+    /**
+     * Constructs an instance of this exception given the location of the resource which ran out of rows.
+     *
+     * @param source The location of the resource which the feeder reads its rows from.
+     */
+    public FeederExhaustedException(String source) {
+        super(String.format("Every row of the resource has already been used: %s", source));
+        this.source = source;
+    }
+
+    /**
+     * Gets the location of the resource which ran out of rows.
+     *
+     * @return The location of the resource which the feeder reads its rows from.
+     */
+    public String getSource() {
+        return source;
+    }
+}
@@ -0,0 +1,85 @@
+package rocks.bastion.core.feeder;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable row returned by a {@link Feeder}, mapping column names to values. Rows read from the same resource share
+ * their array of column names, so each row only holds its own values. Rows have few columns, so looking up a value simply
+ * scans the column names.
+ */
+final class FeederRow extends AbstractMap<String, String> {
+
+    private final String[] columns;
+    private final String[] values;
+
+    FeederRow(String[] columns, String[] values) {
+        this.columns = columns;
+        this.values = values;
+    }
+
+    String[] getColumns() {
+        return columns;
+    }
+
+    @Override
+    public String get(Object key) {
+        int index = indexOf(key);
+        return (index < 0) ? null : values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return columns.length;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<Entry<String, String>>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<Entry<String, String>>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < columns.length;
+                    }
+
+                    @Override
+                    public Map.Entry<String, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<String, String> entry = new SimpleImmutableEntry<>(columns[index], values[index]);
+                        index++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return columns.length;
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+        for (int index = 0; index < columns.length; index++) {
+            if (columns[index].equals(key)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,96 @@
+package rocks.bastion.core.feeder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import rocks.bastion.core.resource.InvalidResourceException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Reads rows from a JSON Lines resource, where each non-blank line holds a JSON object. The properties of each object are
+ * the columns of its row. String, number and boolean values are given as their text, {@literal null} values are given as
+ * the empty string, and nested objects and arrays are given as JSON text. Consecutive lines having the same properties, in
+ * the same order, share their column names.
+ */
+final class JsonLinesRowReader implements RowReader {
+
+    private static final JsonFactory JSON_FACTORY = new ObjectMapper().getFactory();
+
+    private final String location;
+    private final BufferedReader reader;
+    private final List<String> columns;
+    private final List<String> values;
+    private String[] previousColumns;
+    private long lineNumber;
+
+    JsonLinesRowReader(String location, Reader reader) {
+        this.location = location;
+        this.reader = new BufferedReader(reader);
+        columns = new ArrayList<>();
+        values = new ArrayList<>();
+        previousColumns = new String[0];
+    }
+
+    @Override
+    public FeederRow read() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.trim().isEmpty());
+        columns.clear();
+        values.clear();
+        try (JsonParser parser = JSON_FACTORY.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw invalidLine("does not contain a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                columns.add(parser.getCurrentName());
+                values.add(readValue(parser));
+            }
+            if (parser.nextToken() != null) {
+                throw invalidLine("contains more than one JSON value");
+            }
+        } catch (JsonParseException parseException) {
+            throw invalidLine("does not contain valid JSON");
+        }
+        return new FeederRow(shareColumns(), values.toArray(new String[values.size()]));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static String readValue(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if ((token == JsonToken.START_OBJECT) || (token == JsonToken.START_ARRAY)) {
+            return parser.readValueAsTree().toString();
+        }
+        return (token == JsonToken.VALUE_NULL) ? "" : parser.getText();
+    }
+
+    private String[] shareColumns() {
+        if ((previousColumns.length != columns.size()) || !Arrays.asList(previousColumns).equals(columns)) {
+            previousColumns = columns.toArray(new String[columns.size()]);
+        }
+        return previousColumns;
+    }
+
+    private InvalidResourceException invalidLine(String problem) {
+        return new InvalidResourceException(format("Line %d of the JSON Lines resource %s: %s", lineNumber, problem, location), location);
+    }
+}
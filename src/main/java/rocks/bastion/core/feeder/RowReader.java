@@ -0,0 +1,18 @@
+package rocks.bastion.core.feeder;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Parses the rows of a resource one at a time, as they are requested, so that only the row being parsed is held in memory.
+ * Readers are not thread-safe.
+ */
+interface RowReader extends Closeable {
+
+    /**
+     * @return The next row of the resource, or {@literal null} if there are no more rows
+     * @throws IOException if the resource cannot be read
+     * @throws rocks.bastion.core.resource.InvalidResourceException if the next row is not valid
+     */
+    FeederRow read() throws IOException;
+}
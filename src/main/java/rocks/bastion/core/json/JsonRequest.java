@@ -429,6 +429,61 @@ public class JsonRequest implements HttpRequest {
         return fromTemplate(HttpMethod.DELETE, url, jsonTemplateSource, variableAssignments);
     }
 
+    /**
+     * <p>
+     * An alternative to the {@link #fromTemplate(HttpMethod, String, String, Map)} method which renders a pre-tokenized
+     * {@link JsonTemplate} instead of a Mustache template. Rendering a JSON template only writes its literal segments and
+     * the JSON-escaped variable values into a buffer, so it is much cheaper than rendering a Mustache template and is well
+     * suited to creating a request for every iteration of a {@link rocks.bastion.core.load.LoadRunner load run}, for
+     * example from the rows of a {@link rocks.bastion.core.feeder.Feeder}. The template is checked to contain valid JSON when
+     * it is created, so the rendered body is not validated again.
+     * </p>
+     * <p>
+     * Initially, the request will have the "application/json" HTTP header and no other additional headers and no query
+     * parameters. It will also have a descriptive name which is generated by combining the HTTP method with the URL.
+     * </p>
+     *
+     * @param method              The HTTP method to use for this request
+     * @param url                 The URL to send this request on
+     * @param template            The tokenized JSON template to render the body from, such as one created using
+     *                            {@link JsonTemplate#fromResource(String)}
+     * @param variableAssignments The values used when resolving variables in the template
+     * @return An HTTP request containing the rendered JSON body
+     * @throws TemplateCompilationException Thrown if a variable in the template does not have an assignment in the {@code variableAssignments} map
+     */
+    public static JsonRequest fromJsonTemplate(HttpMethod method, String url, JsonTemplate template, Map<String, ?> variableAssignments) {
+        Objects.requireNonNull(template);
+        return new JsonRequest(method, url, template.render(variableAssignments));
+    }
+
+    /**
+     * <p>
+     * Similar to the {@link #fromTemplate(HttpMethod, String, String, Map)} method but the template is rendered straight into
+     * the request body while the request is being sent, instead of being rendered into memory when the request is created.
+     * Use this method for templates which generate very large payloads. Since the body is only generated while it is being
+     * sent, it is not verified to contain valid JSON, and a variable in the template which does not have an assignment fails
+     * the request rather than this method. The body is sent using chunked transfer encoding.
+     * </p>
+     * <p>
+     * The template file is specified as a resource URL as described in {@link ResourceLoader}. Initially,
+     * the request will have the "application/json" HTTP header and no other additional headers and no query parameters.
+     * It will also have a descriptive name which is generated by combining the HTTP method with the URL.
+     * </p>
+     *
+     * @param method              The HTTP method to use for this request
+     * @param url                 The URL to send this request on
+     * @param jsonTemplateSource  The resource URL to load the template file from, for this request
+     * @param variableAssignments The values used when resolving variables in the loaded template
+     * @return An HTTP request whose body is rendered from the specified template while it is sent
+     * @throws UnreadableResourceException Thrown if the specified resource exists but cannot be read (because it is a directory, for example)
+     * @throws ResourceNotFoundException   Thrown if the specified resource does not exist
+     */
+    public static JsonRequest streamedFromTemplate(HttpMethod method, String url, String jsonTemplateSource, Map<String, String> variableAssignments) {
+        TemplateContentCompiler compiler = new TemplateContentCompiler(new ResourceLoader(jsonTemplateSource).load());
+        compiler.addAllVariableAssignments(variableAssignments);
+        return new JsonRequest(method, url, StreamedRequestBody.fromTemplate(compiler));
+    }
+
     private CommonRequestAttributes requestAttributes;
 
     protected JsonRequest(HttpMethod method, String url, String json) throws InvalidJsonException {
@@ -442,6 +497,24 @@ public class JsonRequest implements HttpRequest {
         validateJson();
     }
 
+    private JsonRequest(HttpMethod method, String url, EncodedRequestBody body) {
+        Objects.requireNonNull(method);
+        Objects.requireNonNull(url);
+        Objects.requireNonNull(body);
+
+        requestAttributes = new CommonRequestAttributes(method, url, body);
+        requestAttributes.setContentType(ContentType.APPLICATION_JSON);
+    }
+
+    private JsonRequest(HttpMethod method, String url, StreamedRequestBody body) {
+        Objects.requireNonNull(method);
+        Objects.requireNonNull(url);
+        Objects.requireNonNull(body);
+
+        requestAttributes = new CommonRequestAttributes(method, url, body);
+        requestAttributes.setContentType(ContentType.APPLICATION_JSON);
+    }
+
     /**
      * Override the content-type that will be used for this request. Initially, the content-type for a {@code JSONRequest}
      * is "application/json" but you can override what is sent using this method.
@@ -553,6 +626,62 @@ public class JsonRequest implements HttpRequest {
         return this;
     }
 
+    @Override
+    public long connectTimeout() {
+        return requestAttributes.connectTimeout();
+    }
+
+    /**
+     * See {@link HttpRequest#connectTimeout()} for details.
+     * @param connectTimeout the timeout for establishing the connection, in milliseconds
+     */
+    public JsonRequest setConnectTimeout(long connectTimeout) {
+        requestAttributes.setConnectTimeout(connectTimeout);
+        return this;
+    }
+
+    @Override
+    public long readTimeout() {
+        return requestAttributes.readTimeout();
+    }
+
+    /**
+     * See {@link HttpRequest#readTimeout()} for details.
+     * @param readTimeout the timeout for receiving response data, in milliseconds
+     */
+    public JsonRequest setReadTimeout(long readTimeout) {
+        requestAttributes.setReadTimeout(readTimeout);
+        return this;
+    }
+
+    @Override
+    public long deadline() {
+        return requestAttributes.deadline();
+    }
+
+    /**
+     * See {@link HttpRequest#deadline()} for details.
+     * @param deadline the deadline for the whole request, in milliseconds
+     */
+    public JsonRequest setDeadline(long deadline) {
+        requestAttributes.setDeadline(deadline);
+        return this;
+    }
+
+    @Override
+    public boolean streamResponse() {
+        return requestAttributes.streamResponse();
+    }
+
+    /**
+     * See {@link HttpRequest#streamResponse()} for details.
+     * @param streamResponse {@literal true} to stream the response body rather than read it into memory
+     */
+    public JsonRequest setStreamResponse(boolean streamResponse) {
+        requestAttributes.setStreamResponse(streamResponse);
+        return this;
+    }
+
     private void validateJson() throws InvalidJsonException {
         String jsonBody = requestAttributes.body().toString();
         try {
@@ -1,11 +1,11 @@
 package rocks.bastion.core.json;
 
-import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.flipkart.zjsonpatch.JsonDiff;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
 import org.apache.http.entity.ContentType;
 import org.junit.Assert;
 import rocks.bastion.core.*;
@@ -15,6 +15,7 @@ import rocks.bastion.core.resource.UnreadableResourceException;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 
@@ -25,11 +26,19 @@ import static java.lang.String.format;
  * will interpret the JSON of both the expected body and the actual response body and perform a structural comparison. This
  * is important, because the JSON specification says that a JSON object is unordered and we do not want a different
  * order of properties to fail the assertion.
+ * <p>
+ * The expected JSON is parsed only once, when the assertions object is created, so the same assertions object can be
+ * reused cheaply across many requests. The actual response body is compared against it structurally, and the JSON Patch
+ * describing the differences is only computed when the comparison fails.
+ * </p>
  *
  * @author <a href="mailto:mail@kylepullicino.com">Kyle</a>
  */
 public class JsonResponseAssertions implements Assertions<Object> {
 
+    private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
+    private static final int MAX_REPORTED_ARRAY_ELEMENTS = 20;
+
     /**
      * Creates a {@code JsonResponseAssertions} object which expects the specified response HTTP status code and the specified JSON.
      * The supplied JSON must be syntactically correct; otherwise, an exception is thrown to indicate that the expected JSON string
@@ -112,6 +121,7 @@ public class JsonResponseAssertions implements Assertions<Object> {
     private int expectedStatusCode;
     private ContentType contentType;
     private String expectedJson;
+    private JsonNode expectedJsonTree;
     private Collection<String> ignoredFieldsValue;
     private Collection<String> ignoredArrayOrderValue;
 
@@ -124,7 +134,7 @@ public class JsonResponseAssertions implements Assertions<Object> {
         ignoredFieldsValue = new HashSet<>();
         ignoredArrayOrderValue = new HashSet<>();
 
-        validateExpectedJson();
+        expectedJsonTree = parseExpectedJson();
     }
 
     /**
@@ -132,8 +142,8 @@ public class JsonResponseAssertions implements Assertions<Object> {
      * JSON field is missing, is in the wrong place, or is extra. Ignoring fields' values using this method is useful for
      * randomly generated values in the response, such as IDs or timestamps.
      * <br><br>
-     * Implementation wise, when performing the JSON patch diff between the expected and the actual responses, Bastion will ignore
-     * any patch operations which have {@code op} {@code "replace"} and a field which is one of the ignored fields.
+     * Implementation wise, when comparing the expected and the actual responses, Bastion will accept any value for the ignored
+     * fields. If the assertion fails, the reported JSON patch will not contain {@code "replace"} operations for these fields.
      *
      * @param fields The fields' names to ignore
      * @return This object (for method chaining)
@@ -155,8 +165,9 @@ public class JsonResponseAssertions implements Assertions<Object> {
      * <br>
      * It will still detect and report any extra or missing values.
      * <br><br>
-     * Implementation wise, when performing the JSON patch diff between the expected and the actual responses, Bastion will ignore
-     * any patch operations which have {@code op} {@code "move"} and a field which is one of the ignored fields.
+     * Implementation wise, Bastion compares these arrays as multisets, by hashing each element, which takes linear time even
+     * for very large arrays. If the assertion fails, the reported JSON patch will not contain any operations for these
+     * arrays. Instead, Bastion lists the expected elements which are missing and the elements which were not expected.
      *
      * @param fields The fields' names to ignore the order of
      * @return This object (for method chaining)
@@ -186,17 +197,43 @@ public class JsonResponseAssertions implements Assertions<Object> {
         try {
             Assert.assertEquals("Response Status Code", expectedStatusCode, statusCode);
             assertContentTypeHeader(response);
-            JsonNode jsonPatch = computeJsonPatch(response);
-            assertJsonPatchIsEmpty(jsonPatch);
+            JsonNode actualJsonTree = response.getDecodedCache().getJsonTree(() -> JSON_OBJECT_MAPPER.readTree(response.getBody()));
+            JsonTreeComparator comparator = new JsonTreeComparator(ignoredFieldsValue, ignoredArrayOrderValue);
+            if (!comparator.matches(actualJsonTree, expectedJsonTree)) {
+                failWithDifferences(actualJsonTree, comparator);
+            }
         } catch (IOException e) {
             throw new RuntimeException("An error occurred while parsing JSON text", e);
         }
     }
 
-    private static void assertJsonPatchIsEmpty(JsonNode jsonPatch) {
-        if (jsonPatch.size() != 0) {
-            Assert.fail(format("Actual response body is not as expected. The following JSON Patch (as per RFC-6902) tells you what operations you need " +
-                    "to perform to transform the actual response body into the expected response body:\n %s", jsonPatch.toString()));
+    @Override
+    public boolean requiresModel() {
+        return false;
+    }
+
+    private void failWithDifferences(JsonNode actualJsonTree, JsonTreeComparator comparator) {
+        StringBuilder message = new StringBuilder("Actual response body is not as expected.");
+        if (comparator.hasStructuralDifferences()) {
+            message.append(format(" The following JSON Patch (as per RFC-6902) tells you what operations you need " +
+                    "to perform to transform the actual response body into the expected response body:\n %s", computeJsonPatch(actualJsonTree, comparator)));
+        }
+        comparator.getArrayDifferences().forEach((path, difference) -> {
+            appendArrayElements(message, path, "is missing the expected elements", difference.getMissingElements());
+            appendArrayElements(message, path, "contains the unexpected elements", difference.getUnexpectedElements());
+        });
+        Assert.fail(message.toString());
+    }
+
+    private static void appendArrayElements(StringBuilder message, String path, String description, List<JsonNode> elements) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        message.append(format("\n The array %s (ignoring order) %s: ", path, description));
+        String reportedElements = elements.stream().limit(MAX_REPORTED_ARRAY_ELEMENTS).map(JsonNode::toString).collect(Collectors.joining(",", "[", "]"));
+        message.append(reportedElements);
+        if (elements.size() > MAX_REPORTED_ARRAY_ELEMENTS) {
+            message.append(format(" and %d more", elements.size() - MAX_REPORTED_ARRAY_ELEMENTS));
         }
     }
 
@@ -217,10 +254,14 @@ public class JsonResponseAssertions implements Assertions<Object> {
         return field;
     }
 
-    private void validateExpectedJson() throws InvalidJsonException {
+    private JsonNode parseExpectedJson() throws InvalidJsonException {
         try {
-            new JsonParser().parse(expectedJson);
-        } catch (JsonParseException parseException) {
+            JsonNode jsonTree = JSON_OBJECT_MAPPER.readTree(expectedJson);
+            if (jsonTree == null) {
+                throw new InvalidJsonException(expectedJson);
+            }
+            return jsonTree;
+        } catch (IOException parseException) {
             throw new InvalidJsonException(parseException, expectedJson);
         }
     }
@@ -230,38 +271,48 @@ public class JsonResponseAssertions implements Assertions<Object> {
         Assert.assertEquals("Content-type MIME type", contentType.getMimeType(), response.getContentType().get().getMimeType());
     }
 
-    private JsonNode computeJsonPatch(Response response) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonFactory factory = mapper.getFactory();
-        JsonNode actualJsonTree = factory.createParser(response.getBody()).readValueAsTree();
-        JsonNode expectedJsonTree = factory.createParser(expectedJson).readValueAsTree();
-        JsonNode jsonPatch = JsonDiff.asJson(actualJsonTree, expectedJsonTree);
-        removeReplaceOpsForIgnoredFields(jsonPatch);
-        removeMoveOpsForOrderIgnoredFields(jsonPatch);
-        return jsonPatch;
+    /**
+     * Computes the JSON Patch which transforms the actual JSON into the expected JSON, leaving out the operations on ignored
+     * values and order-ignored arrays. The differences within order-ignored arrays are reported separately, so these arrays
+     * are replaced by their expected counterparts before diffing, which also spares diffing large arrays element by element.
+     * If the remaining patch is empty, the whole patch is returned instead, so that the failure message still shows what is
+     * different.
+     */
+    private JsonNode computeJsonPatch(JsonNode actualJsonTree, JsonTreeComparator comparator) {
+        JsonNode comparedJsonTree = actualJsonTree;
+        if (!comparator.getUnorderedArrayPaths().isEmpty()) {
+            comparedJsonTree = actualJsonTree.deepCopy();
+            for (String path : comparator.getUnorderedArrayPaths()) {
+                comparedJsonTree = replaceNode(comparedJsonTree, JsonPointer.compile(path), expectedJsonTree.at(path));
+            }
+        }
+        JsonNode jsonPatch = JsonDiff.asJson(comparedJsonTree, expectedJsonTree);
+        JsonNode filteredJsonPatch = jsonPatch.deepCopy();
+        removeReplaceOpsForIgnoredFields(filteredJsonPatch);
+        return (filteredJsonPatch.size() != 0) ? filteredJsonPatch : jsonPatch;
     }
 
-    private void removeReplaceOpsForIgnoredFields(Iterable jsonPatch) {
-        Iterator<JsonNode> patchIterator = jsonPatch.iterator();
-        while (patchIterator.hasNext()) {
-            JsonNode patchOperation = patchIterator.next();
-            JsonNode operationType = patchOperation.get("op");
-            JsonNode pathName = patchOperation.get("path");
-            if (operationType.asText().equals("replace") && ignoredFieldsValue.contains(pathName.asText())) {
-                patchIterator.remove();
-            }
+    private static JsonNode replaceNode(JsonNode root, JsonPointer pointer, JsonNode replacement) {
+        if (pointer.matches()) {
+            return replacement;
         }
+        JsonNode parent = root.at(pointer.head());
+        JsonPointer last = pointer.last();
+        if (parent.isObject()) {
+            ((ObjectNode) parent).set(last.getMatchingProperty(), replacement);
+        } else if (parent.isArray()) {
+            ((ArrayNode) parent).set(last.getMatchingIndex(), replacement);
+        }
+        return root;
     }
 
-    private void removeMoveOpsForOrderIgnoredFields(Iterable jsonPatch) {
+    private void removeReplaceOpsForIgnoredFields(Iterable jsonPatch) {
         Iterator<JsonNode> patchIterator = jsonPatch.iterator();
         while (patchIterator.hasNext()) {
             JsonNode patchOperation = patchIterator.next();
             JsonNode operationType = patchOperation.get("op");
             JsonNode pathName = patchOperation.get("path");
-            // Trimming up to the last '/' to ignored index
-            String trimmedPathName = pathName.asText().substring(0, pathName.asText().lastIndexOf("/"));
-            if (operationType.asText().equals("move") && ignoredArrayOrderValue.contains(trimmedPathName)) {
+            if (operationType.asText().equals("replace") && ignoredFieldsValue.contains(pathName.asText())) {
                 patchIterator.remove();
             }
         }
@@ -1,28 +1,47 @@
 package rocks.bastion.core.json;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonschema.core.exceptions.InvalidSchemaException;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.report.ProcessingMessage;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.junit.Assert;
 import rocks.bastion.core.Assertions;
 import rocks.bastion.core.ModelResponse;
 import rocks.bastion.core.resource.ResourceLoader;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 /**
  * Asserts that an API response conforms to a given JSON schema.
+ * <p>
+ * Compiling a schema is expensive, so each assertions object compiles its schema only once, the first time it is executed.
+ * Compiled schemas are also kept in a bounded cache shared by the whole process and keyed by the schema's text, so that
+ * assertions created for the same schema (for example, by calling {@link #fromResource(String)} with the same resource in
+ * many tests) share a single compiled schema. The underlying {@link JsonSchemaFactory} is created once per process.
+ * </p>
  */
 public final class JsonSchemaAssertions implements Assertions<Object> {
 
+    private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
+    private static final int MAX_CACHED_SCHEMAS = 256;
+    private static final String ROOT_POINTER = "";
+    private static final String ITEMS_POINTER = "/items";
+    private static final Cache<List<String>, JsonSchema> COMPILED_SCHEMAS = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SCHEMAS).build();
+
     public static JsonSchemaAssertions fromString(String expectedSchemaJson) {
         return new JsonSchemaAssertions(expectedSchemaJson);
     }
@@ -33,10 +52,44 @@ public final class JsonSchemaAssertions implements Assertions<Object> {
     }
 
     private String expectedSchema;
+    private volatile JsonSchema compiledSchema;
+    private volatile ItemsSchema itemsSchema;
+    private int itemsParallelism;
 
     private JsonSchemaAssertions(String expectedSchema) {
         Objects.requireNonNull(expectedSchema);
         this.expectedSchema = expectedSchema;
+        itemsParallelism = 0;
+    }
+
+    /**
+     * Validates a response whose body is a (possibly very large) JSON array by validating each element against the
+     * {@code items} schema of the expected array schema, while the body is being read. The body is never parsed as a
+     * whole, so memory use stays bounded however long the array is, and the elements are validated in parallel by as many
+     * workers as there are processors. Of the keywords of the expected schema which apply to the array as a whole, only
+     * {@code minItems} and {@code maxItems} are checked in this mode. The {@code items} schema must be a single schema:
+     * the tuple form, where {@code items} is an array of schemas, is not supported.
+     *
+     * @return This object (for method chaining)
+     */
+    public JsonSchemaAssertions validateItemsWhileStreaming() {
+        return validateItemsWhileStreaming(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Same as {@link #validateItemsWhileStreaming()} but validates up to the given number of elements at the same time,
+     * each on its own worker thread, even if this is more than the number of processors. This is also the most elements
+     * held in memory at any one time.
+     *
+     * @param parallelism The maximum number of elements validated at the same time. Must be greater than 0.
+     * @return This object (for method chaining)
+     */
+    public JsonSchemaAssertions validateItemsWhileStreaming(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism should be greater than 0.");
+        }
+        itemsParallelism = parallelism;
+        return this;
     }
 
     @Override
@@ -44,8 +97,12 @@ public final class JsonSchemaAssertions implements Assertions<Object> {
                         ModelResponse<?> response,
                         Object model) throws AssertionError {
         try {
-            JsonNode jsonNodeOfResponse = convertResponseToJsonNode(response);
-            assertResponseConformsToSchema(jsonNodeOfResponse);
+            if (itemsParallelism > 0) {
+                assertResponseItemsConformToSchema(response);
+            } else {
+                JsonNode jsonNodeOfResponse = convertResponseToJsonNode(response);
+                assertResponseConformsToSchema(jsonNodeOfResponse);
+            }
         } catch (IOException e) {
             throw new RuntimeException("An error occurred while parsing JSON text", e);
         } catch (InvalidSchemaException e) {
@@ -55,15 +112,17 @@ public final class JsonSchemaAssertions implements Assertions<Object> {
         }
     }
 
+    @Override
+    public boolean requiresModel() {
+        return false;
+    }
+
     private JsonNode convertResponseToJsonNode(ModelResponse<?> response) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonFactory factory = mapper.getFactory();
-        return factory.createParser(response.getBody()).readValueAsTree();
+        return response.getDecodedCache().getJsonTree(() -> JSON_OBJECT_MAPPER.readTree(response.getBody()));
     }
 
     private void assertResponseConformsToSchema(JsonNode response) throws ProcessingException, IOException {
-        ProcessingReport validationReport = JsonSchemaFactory.byDefault()
-                .getJsonSchema(getExpectedSchema()).validate(response);
+        ProcessingReport validationReport = getCompiledSchema().validate(response);
         if (!validationReport.isSuccess()) {
             String messages = StreamSupport.stream(validationReport.spliterator(), false)
                     .map(ProcessingMessage::getMessage)
@@ -72,9 +131,88 @@ public final class JsonSchemaAssertions implements Assertions<Object> {
         }
     }
 
-    private JsonNode getExpectedSchema() throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        return mapper.readTree(expectedSchema);
+    private void assertResponseItemsConformToSchema(ModelResponse<?> response) throws ProcessingException, IOException {
+        ItemsSchema schema = getItemsSchema();
+        StreamingItemsValidator validator = new StreamingItemsValidator(schema.itemSchema, schema.minItems, schema.maxItems, itemsParallelism);
+        Optional<JsonNode> parsedResponse = response.getDecodedCache().getCachedJsonTree();
+        if (parsedResponse.isPresent()) {
+            validator.validate(parsedResponse.get());
+        } else {
+            validator.validate(response.getBody(), JSON_OBJECT_MAPPER);
+        }
+    }
+
+    private JsonSchema getCompiledSchema() throws ProcessingException, IOException {
+        JsonSchema schema = compiledSchema;
+        if (schema == null) {
+            schema = compileSchema(expectedSchema, ROOT_POINTER);
+            compiledSchema = schema;
+        }
+        return schema;
+    }
+
+    private ItemsSchema getItemsSchema() throws ProcessingException, IOException {
+        ItemsSchema schema = itemsSchema;
+        if (schema == null) {
+            JsonNode arraySchema = JSON_OBJECT_MAPPER.readTree(expectedSchema);
+            schema = new ItemsSchema(compileSchema(expectedSchema, ITEMS_POINTER),
+                                     arraySchema.path("minItems").asLong(0),
+                                     arraySchema.has("maxItems") ? arraySchema.get("maxItems").asLong() : Long.MAX_VALUE);
+            itemsSchema = schema;
+        }
+        return schema;
+    }
+
+    private static JsonSchema compileSchema(String schema, String pointer) throws ProcessingException, IOException {
+        try {
+            return COMPILED_SCHEMAS.get(Arrays.asList(schema, pointer), () -> compileSchemaNode(JSON_OBJECT_MAPPER.readTree(schema), pointer));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ProcessingException) {
+                throw (ProcessingException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("An unexpected error occurred while compiling the JSON schema", cause);
+        }
+    }
+
+    private static JsonSchema compileSchemaNode(JsonNode schema, String pointer) throws ProcessingException {
+        if (pointer.isEmpty()) {
+            return SchemaFactoryHolder.SCHEMA_FACTORY.getJsonSchema(schema);
+        }
+        if (schema.at(pointer).isMissingNode()) {
+            throw new IllegalArgumentException("The JSON schema should have an [items] schema to validate the items of an array.");
+        }
+        if (schema.at(pointer).isArray()) {
+            throw new IllegalArgumentException("The [items] of the JSON schema should be a single schema, not an array of schemas, to validate the items of an array.");
+        }
+        return SchemaFactoryHolder.SCHEMA_FACTORY.getJsonSchema(schema, pointer);
+    }
+
+    /**
+     * The compiled {@code items} schema of an array schema, together with the bounds on the number of items.
+     */
+    private static final class ItemsSchema {
+        private final JsonSchema itemSchema;
+        private final long minItems;
+        private final long maxItems;
+
+        private ItemsSchema(JsonSchema itemSchema, long minItems, long maxItems) {
+            this.itemSchema = itemSchema;
+            this.minItems = minItems;
+            this.maxItems = maxItems;
+        }
+    }
+
+    /**
+     * Creates the schema factory the first time a schema is compiled, rather than when this class is loaded.
+     */
+    private static final class SchemaFactoryHolder {
+        private static final JsonSchemaFactory SCHEMA_FACTORY = JsonSchemaFactory.byDefault();
     }
 
 }
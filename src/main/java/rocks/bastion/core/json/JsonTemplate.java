@@ -0,0 +1,372 @@
+package rocks.bastion.core.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import rocks.bastion.core.EncodedRequestBody;
+import rocks.bastion.core.TemplateCompilationException;
+import rocks.bastion.core.resource.ResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static java.lang.String.format;
+
+/**
+ * <p>
+ * A JSON body template which is tokenized once and then rendered for many requests much more cheaply than a Mustache
+ * template. Variables are written using the same double-brace syntax as the templates accepted by
+ * {@link JsonRequest#fromTemplate(rocks.bastion.core.HttpMethod, String, String, Map)}, for example:
+ * </p>
+ * <pre>{@code
+ * {
+ *   "name": "{{ name }}",
+ *   "price": {{ price }}
+ * }
+ * }</pre>
+ * <p>
+ * When the template is created, it is split into literal segments, which are encoded into UTF-8 bytes up front, and variable
+ * slots. The type of each slot depends on where it appears in the JSON text. A variable which appears inside a JSON string
+ * is a string slot: its value is escaped as JSON string content, so values containing quotes, backslashes or line breaks
+ * always produce valid JSON. A variable which appears outside of a JSON string is a value slot: its value is written as
+ * JSON text, without any escaping, so it should be a number, a boolean, {@literal null} or nested JSON. Java
+ * {@literal null} values are written as {@code null} in value slots and as the empty string in string slots. Blank values,
+ * such as the empty cells of a CSV file, are also written as {@code null} in value slots, so that they still render valid
+ * JSON.
+ * </p>
+ * <p>
+ * Rendering writes the literal segments and the encoded values directly into a buffer which is reused by each thread, and
+ * then copies the buffer into a body of exactly the right size. No strings are built and no text is encoded twice. Only
+ * plain variables are supported: Mustache sections, inverted sections, comments and partials are rejected when the template
+ * is created. The template is checked to be valid JSON once, when it is created; the values of value slots are not checked
+ * when rendering.
+ * </p>
+ * <p>
+ * Templates are immutable and thread-safe. Templates created from the same source text are cached, so the same template
+ * can be obtained from a resource repeatedly without tokenizing it again.
+ * </p>
+ */
+public final class JsonTemplate {
+
+    private static final int MAX_CACHED_TEMPLATES = 256;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+    private static final int ESTIMATED_VALUE_SIZE = 16;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
+    private static final Cache<String, JsonTemplate> TEMPLATES = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_TEMPLATES).build();
+    private static final ThreadLocal<ByteSink> BUFFERS = new ThreadLocal<>();
+
+    /**
+     * Creates a template from the given JSON template text.
+     *
+     * @param template The non-{@literal null} JSON template text
+     * @return A tokenized template
+     * @throws TemplateCompilationException Thrown if the template contains Mustache tags other than plain variables
+     * @throws InvalidJsonException         Thrown if the template is not valid JSON text
+     */
+    public static JsonTemplate fromString(String template) {
+        Objects.requireNonNull(template);
+        try {
+            return TEMPLATES.get(template, () -> new JsonTemplate(template));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Could not tokenize the JSON template", cause);
+        }
+    }
+
+    /**
+     * Creates a template from the JSON template text loaded from the given resource URL, as described in
+     * {@link ResourceLoader}.
+     *
+     * @param templateSource The non-{@literal null} resource URL to load the template from
+     * @return A tokenized template
+     * @throws TemplateCompilationException Thrown if the template contains Mustache tags other than plain variables
+     * @throws InvalidJsonException         Thrown if the template is not valid JSON text
+     */
+    public static JsonTemplate fromResource(String templateSource) {
+        Objects.requireNonNull(templateSource);
+        return fromString(new ResourceLoader(templateSource).load());
+    }
+
+    private final String template;
+    private final byte[][] segments;
+    private final Slot[] slots;
+    private final Set<String> variables;
+    private final int estimatedSize;
+
+    private JsonTemplate(String template) {
+        this.template = template;
+        List<byte[]> templateSegments = new ArrayList<>();
+        List<Slot> templateSlots = new ArrayList<>();
+        StringBuilder segment = new StringBuilder();
+        StringBuilder validationText = new StringBuilder();
+        boolean inString = false;
+        int index = 0;
+        while (index < template.length()) {
+            if (template.startsWith("{{", index)) {
+                int end = template.indexOf("}}", index + 2);
+                if (end < 0) {
+                    throw new TemplateCompilationException(format("The variable starting at index %d of the JSON template is not closed", index), template, Collections.emptyMap());
+                }
+                String name = template.substring(index + 2, end).trim();
+                if (name.isEmpty() || ("#^/!>{&=".indexOf(name.charAt(0)) >= 0)) {
+                    throw new TemplateCompilationException(format("JSON templates only support plain variables but found {{%s}}", name), template, Collections.emptyMap());
+                }
+                templateSegments.add(segment.toString().getBytes(StandardCharsets.UTF_8));
+                templateSlots.add(new Slot(name, inString));
+                validationText.append(segment).append(inString ? "" : "0");
+                segment.setLength(0);
+                index = end + 2;
+                continue;
+            }
+            char character = template.charAt(index);
+            if (inString && (character == '\\') && (index + 1 < template.length())) {
+                segment.append(character).append(template.charAt(index + 1));
+                index += 2;
+                continue;
+            }
+            if (character == '"') {
+                inString = !inString;
+            }
+            segment.append(character);
+            index++;
+        }
+        templateSegments.add(segment.toString().getBytes(StandardCharsets.UTF_8));
+        validationText.append(segment);
+        validate(validationText.toString());
+
+        segments = templateSegments.toArray(new byte[templateSegments.size()][]);
+        slots = templateSlots.toArray(new Slot[templateSlots.size()]);
+        Set<String> names = new LinkedHashSet<>();
+        int size = 0;
+        for (Slot slot : slots) {
+            names.add(slot.name);
+            size += ESTIMATED_VALUE_SIZE;
+        }
+        for (byte[] templateSegment : segments) {
+            size += templateSegment.length;
+        }
+        variables = Collections.unmodifiableSet(names);
+        estimatedSize = size;
+    }
+
+    /**
+     * @return The names of the variables used by this template, in the order in which they first appear
+     */
+    public Set<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * @return The source text of this template
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Renders this template, encoded in UTF-8, using the given variable assignments.
+     *
+     * @param variableAssignments The non-{@literal null} values to use for the variables in this template
+     * @return The rendered body, which can be sent as the body of a request
+     * @throws TemplateCompilationException Thrown if a variable in this template does not have an assignment
+     */
+    public EncodedRequestBody render(Map<String, ?> variableAssignments) {
+        Objects.requireNonNull(variableAssignments);
+        ByteSink sink = BUFFERS.get();
+        if (sink == null) {
+            sink = new ByteSink(estimatedSize);
+            BUFFERS.set(sink);
+        }
+        sink.reset();
+        sink.write(segments[0]);
+        for (int index = 0; index < slots.length; index++) {
+            Slot slot = slots[index];
+            Object value = variableAssignments.get(slot.name);
+            if ((value == null) && !variableAssignments.containsKey(slot.name)) {
+                throw new TemplateCompilationException(format("No value was assigned to the variable '%s' of the JSON template", slot.name), template, variableAssignments);
+            }
+            if (slot.inString) {
+                writeEscaped(sink, (value == null) ? "" : value.toString());
+            } else {
+                String text = (value == null) ? "" : value.toString();
+                writeUtf8(sink, text.trim().isEmpty() ? "null" : text);
+            }
+            sink.write(segments[index + 1]);
+        }
+        byte[] body = sink.toByteArray();
+        if (sink.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            BUFFERS.remove();
+        }
+        return new EncodedRequestBody(body, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    private static void validate(String json) {
+        try {
+            JSON_OBJECT_MAPPER.readTree(json);
+        } catch (IOException parseException) {
+            throw new InvalidJsonException(parseException, json);
+        }
+    }
+
+    private static void writeEscaped(ByteSink sink, String value) {
+        int length = value.length();
+        for (int index = 0; index < length; index++) {
+            char character = value.charAt(index);
+            if ((character >= 0x20) && (character < 0x80) && (character != '"') && (character != '\\')) {
+                sink.write(character);
+                continue;
+            }
+            switch (character) {
+                case '"':
+                    sink.write('\\');
+                    sink.write('"');
+                    break;
+                case '\\':
+                    sink.write('\\');
+                    sink.write('\\');
+                    break;
+                case '\n':
+                    sink.write('\\');
+                    sink.write('n');
+                    break;
+                case '\r':
+                    sink.write('\\');
+                    sink.write('r');
+                    break;
+                case '\t':
+                    sink.write('\\');
+                    sink.write('t');
+                    break;
+                case '\b':
+                    sink.write('\\');
+                    sink.write('b');
+                    break;
+                case '\f':
+                    sink.write('\\');
+                    sink.write('f');
+                    break;
+                default:
+                    if (character < 0x20) {
+                        sink.write('\\');
+                        sink.write('u');
+                        sink.write('0');
+                        sink.write('0');
+                        sink.write(HEX_DIGITS[character >> 4]);
+                        sink.write(HEX_DIGITS[character & 0xF]);
+                    } else {
+                        index = writeNonAscii(sink, value, index);
+                    }
+            }
+        }
+    }
+
+    private static void writeUtf8(ByteSink sink, String value) {
+        int length = value.length();
+        for (int index = 0; index < length; index++) {
+            char character = value.charAt(index);
+            if (character < 0x80) {
+                sink.write(character);
+            } else {
+                index = writeNonAscii(sink, value, index);
+            }
+        }
+    }
+
+    /**
+     * Writes the non-ASCII character at the given index as UTF-8, combining it with the following character if the two
+     * form a surrogate pair. Unpaired surrogates are written as {@code ?}, as {@link String#getBytes} does.
+     *
+     * @return The index of the last character written
+     */
+    private static int writeNonAscii(ByteSink sink, String value, int index) {
+        char character = value.charAt(index);
+        if (character < 0x800) {
+            sink.write(0xC0 | (character >> 6));
+            sink.write(0x80 | (character & 0x3F));
+        } else if (!Character.isSurrogate(character)) {
+            sink.write(0xE0 | (character >> 12));
+            sink.write(0x80 | ((character >> 6) & 0x3F));
+            sink.write(0x80 | (character & 0x3F));
+        } else if (Character.isHighSurrogate(character) && (index + 1 < value.length()) && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(character, value.charAt(index + 1));
+            sink.write(0xF0 | (codePoint >> 18));
+            sink.write(0x80 | ((codePoint >> 12) & 0x3F));
+            sink.write(0x80 | ((codePoint >> 6) & 0x3F));
+            sink.write(0x80 | (codePoint & 0x3F));
+            return index + 1;
+        } else {
+            sink.write('?');
+        }
+        return index;
+    }
+
+    private static final class Slot {
+
+        private final String name;
+        private final boolean inString;
+
+        private Slot(String name, boolean inString) {
+            this.name = name;
+            this.inString = inString;
+        }
+    }
+
+    /**
+     * A growable byte buffer which is reused for every body rendered by a thread.
+     */
+    private static final class ByteSink {
+
+        private byte[] buffer;
+        private int size;
+
+        private ByteSink(int initialCapacity) {
+            buffer = new byte[Math.max(initialCapacity, 64)];
+        }
+
+        private void reset() {
+            size = 0;
+        }
+
+        private int capacity() {
+            return buffer.length;
+        }
+
+        private void write(int value) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void write(byte[] bytes) {
+            if (size + bytes.length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes.length));
+            }
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+}
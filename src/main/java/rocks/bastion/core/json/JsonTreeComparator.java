@@ -0,0 +1,185 @@
+package rocks.bastion.core.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Structurally compares an actual JSON tree against an expected JSON tree, without building a JSON Patch. Objects are
+ * compared regardless of the order of their properties. The values of ignored properties only need to be present in both
+ * trees, and the elements of order-ignored arrays only need to be the same, in any order. Properties and arrays are
+ * identified by their JSON Pointer (as per RFC-6901), such as {@code /array} or {@code /object/key}.
+ * <p>
+ * Order-ignored arrays are compared as multisets: the elements of the expected array are counted in a hash table, keyed by
+ * the element's JSON tree (whose equality and hash code do not depend on the order of object properties), and the elements
+ * of the actual array are then checked off against these counts. This takes linear time regardless of the size of the
+ * arrays, and tells exactly which elements are missing and which are unexpected.
+ * </p>
+ * A comparator keeps the result of the last comparison, so a new comparator should be used for every comparison.
+ */
+final class JsonTreeComparator {
+
+    private final Collection<String> ignoredValuePaths;
+    private final Collection<String> ignoredOrderPaths;
+    private final Map<String, ArrayDifference> arrayDifferences;
+    private final List<String> unorderedArrayPaths;
+    private boolean structureMatches;
+
+    JsonTreeComparator(Collection<String> ignoredValuePaths, Collection<String> ignoredOrderPaths) {
+        this.ignoredValuePaths = ignoredValuePaths;
+        this.ignoredOrderPaths = ignoredOrderPaths;
+        arrayDifferences = new LinkedHashMap<>();
+        unorderedArrayPaths = new ArrayList<>();
+    }
+
+    /**
+     * @return {@literal true} if the actual tree matches the expected tree; {@literal false}, otherwise
+     */
+    boolean matches(JsonNode actual, JsonNode expected) {
+        arrayDifferences.clear();
+        unorderedArrayPaths.clear();
+        structureMatches = true;
+        compare(actual, expected, "");
+        return structureMatches && arrayDifferences.isEmpty();
+    }
+
+    /**
+     * @return Whether the last comparison found differences other than the elements of order-ignored arrays
+     */
+    boolean hasStructuralDifferences() {
+        return !structureMatches;
+    }
+
+    /**
+     * @return The paths of the order-ignored arrays which were compared as multisets during the last comparison
+     */
+    List<String> getUnorderedArrayPaths() {
+        return Collections.unmodifiableList(unorderedArrayPaths);
+    }
+
+    /**
+     * @return The order-ignored arrays whose elements differed during the last comparison, keyed by their path
+     */
+    Map<String, ArrayDifference> getArrayDifferences() {
+        return Collections.unmodifiableMap(arrayDifferences);
+    }
+
+    private void compare(JsonNode actual, JsonNode expected, String path) {
+        if (ignoredValuePaths.contains(path)) {
+            return;
+        }
+        if (actual.getNodeType() != expected.getNodeType()) {
+            structureMatches = false;
+        } else if (expected.isObject()) {
+            compareObjects(actual, expected, path);
+        } else if (expected.isArray()) {
+            if (ignoredOrderPaths.contains(path)) {
+                compareUnorderedArrays(actual, expected, path);
+            } else {
+                compareArrays(actual, expected, path);
+            }
+        } else if (!actual.equals(expected)) {
+            structureMatches = false;
+        }
+    }
+
+    private void compareObjects(JsonNode actual, JsonNode expected, String path) {
+        if (actual.size() != expected.size()) {
+            structureMatches = false;
+        }
+        Iterator<Map.Entry<String, JsonNode>> expectedFields = expected.fields();
+        while (expectedFields.hasNext()) {
+            Map.Entry<String, JsonNode> expectedField = expectedFields.next();
+            JsonNode actualValue = actual.get(expectedField.getKey());
+            if (actualValue == null) {
+                structureMatches = false;
+            } else {
+                compare(actualValue, expectedField.getValue(), path + '/' + escape(expectedField.getKey()));
+            }
+        }
+    }
+
+    private void compareArrays(JsonNode actual, JsonNode expected, String path) {
+        if (actual.size() != expected.size()) {
+            structureMatches = false;
+        }
+        int commonSize = Math.min(actual.size(), expected.size());
+        for (int index = 0; index < commonSize; index++) {
+            compare(actual.get(index), expected.get(index), path + '/' + index);
+        }
+    }
+
+    private void compareUnorderedArrays(JsonNode actual, JsonNode expected, String path) {
+        unorderedArrayPaths.add(path);
+        Map<JsonNode, Integer> expectedCounts = new HashMap<>(expected.size() * 2);
+        for (JsonNode element : expected) {
+            expectedCounts.merge(element, 1, Integer::sum);
+        }
+        List<JsonNode> unexpected = new ArrayList<>();
+        for (JsonNode element : actual) {
+            Integer count = expectedCounts.get(element);
+            if (count == null) {
+                unexpected.add(element);
+            } else if (count == 1) {
+                expectedCounts.remove(element);
+            } else {
+                expectedCounts.put(element, count - 1);
+            }
+        }
+        if (expectedCounts.isEmpty() && unexpected.isEmpty()) {
+            return;
+        }
+        List<JsonNode> missing = new ArrayList<>();
+        for (JsonNode element : expected) {
+            Integer count = expectedCounts.get(element);
+            if (count != null) {
+                missing.add(element);
+                if (count == 1) {
+                    expectedCounts.remove(element);
+                } else {
+                    expectedCounts.put(element, count - 1);
+                }
+            }
+        }
+        arrayDifferences.put(path, new ArrayDifference(missing, unexpected));
+    }
+
+    private static String escape(String propertyName) {
+        return propertyName.replace("~", "~0").replace("/", "~1");
+    }
+
+    /**
+     * The elements by which an actual order-ignored array differs from the expected array.
+     */
+    static final class ArrayDifference {
+
+        private final List<JsonNode> missingElements;
+        private final List<JsonNode> unexpectedElements;
+
+        private ArrayDifference(List<JsonNode> missingElements, List<JsonNode> unexpectedElements) {
+            this.missingElements = missingElements;
+            this.unexpectedElements = unexpectedElements;
+        }
+
+        /**
+         * @return The expected elements which the actual array does not contain (as many times as expected)
+         */
+        List<JsonNode> getMissingElements() {
+            return missingElements;
+        }
+
+        /**
+         * @return The elements of the actual array which were not expected (or not as many times)
+         */
+        List<JsonNode> getUnexpectedElements() {
+            return unexpectedElements;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package rocks.bastion.core.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.junit.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static java.lang.String.format;
+
+/**
+ * Validates each element of a top-level JSON array against the {@code items} schema of an array schema, while the array is
+ * being parsed. Elements are parsed one at a time and handed to a pool of worker threads, so only the elements currently
+ * being validated are held in memory. Each validation uses its own pool of at most as many threads as the parallelism
+ * given to the validator, so the parallelism is not capped by the number of processors and concurrent validations do not
+ * compete for the same workers. The number of elements in flight is also bounded by this parallelism: parsing waits for a
+ * worker once this many elements are being validated.
+ * <p>
+ * Elements which do not conform to the schema are counted, but validation messages are only kept for the first
+ * {@value #MAX_REPORTED_ITEMS} of them (by index), so memory stays bounded however many elements are invalid. The kept
+ * messages are reported together, ordered and labelled by the index of the element in the array. The number of elements
+ * is also checked against the {@code minItems} and {@code maxItems} bounds of the array schema, once the whole array
+ * has been read.
+ * </p>
+ */
+final class StreamingItemsValidator {
+
+    private static final int MAX_REPORTED_ITEMS = 20;
+    private static final ThreadFactory WORKER_THREADS = new ThreadFactoryBuilder().setNameFormat("bastion-schema-%d").setDaemon(true).build();
+
+    private final JsonSchema itemSchema;
+    private final long minItems;
+    private final long maxItems;
+    private final int parallelism;
+    private final TreeMap<Integer, String> itemMessages;
+    private int itemCount;
+    private int invalidItemCount;
+    private final AtomicReference<ProcessingException> processingFailure;
+
+    StreamingItemsValidator(JsonSchema itemSchema, long minItems, long maxItems, int parallelism) {
+        this.itemSchema = itemSchema;
+        this.minItems = minItems;
+        this.maxItems = maxItems;
+        this.parallelism = parallelism;
+        itemMessages = new TreeMap<>();
+        processingFailure = new AtomicReference<>();
+    }
+
+    /**
+     * Validates the elements of the JSON array read from the given stream. The stream is closed once the array has been
+     * read.
+     *
+     * @throws AssertionError      if the stream does not contain a JSON array or any of its elements does not conform to the schema
+     * @throws IOException         if the stream cannot be read or does not contain valid JSON
+     * @throws ProcessingException if the schema could not be applied to an element
+     */
+    void validate(InputStream body, ObjectMapper mapper) throws IOException, ProcessingException {
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                Assert.fail("Actual response body is not as specified. The response body should be a JSON array when validating its items.");
+            }
+            ExecutorService workers = Executors.newFixedThreadPool(parallelism, WORKER_THREADS);
+            Semaphore inFlight = new Semaphore(parallelism);
+            int index = 0;
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new IOException("Unexpected end of the JSON array");
+                    }
+                    JsonNode item = parser.readValueAsTree();
+                    submit(workers, inFlight, index++, (item == null) ? NullNode.getInstance() : item);
+                }
+            } finally {
+                inFlight.acquireUninterruptibly(parallelism);
+                workers.shutdown();
+            }
+            itemCount = index;
+        }
+        reportResults();
+    }
+
+    /**
+     * Validates the elements of a JSON array which has already been parsed.
+     *
+     * @throws AssertionError      if the given node is not a JSON array or any of its elements does not conform to the schema
+     * @throws ProcessingException if the schema could not be applied to an element
+     */
+    void validate(JsonNode array) throws ProcessingException {
+        if (!array.isArray()) {
+            Assert.fail("Actual response body is not as specified. The response body should be a JSON array when validating its items.");
+        }
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, WORKER_THREADS);
+        Semaphore inFlight = new Semaphore(parallelism);
+        try {
+            Iterator<JsonNode> items = array.elements();
+            for (int index = 0; items.hasNext(); index++) {
+                submit(workers, inFlight, index, items.next());
+            }
+        } finally {
+            inFlight.acquireUninterruptibly(parallelism);
+            workers.shutdown();
+        }
+        itemCount = array.size();
+        reportResults();
+    }
+
+    private void submit(ExecutorService workers, Semaphore inFlight, int index, JsonNode item) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating the items of the JSON array", e);
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    validateItem(index, item);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void validateItem(int index, JsonNode item) {
+        if (processingFailure.get() != null) {
+            return;
+        }
+        try {
+            ProcessingReport report = itemSchema.validate(item);
+            if (!report.isSuccess()) {
+                String messages = StreamSupport.stream(report.spliterator(), false)
+                        .map(ProcessingMessage::getMessage)
+                        .collect(Collectors.joining(", "));
+                recordInvalidItem(index, messages);
+            }
+        } catch (ProcessingException e) {
+            processingFailure.compareAndSet(null, e);
+        }
+    }
+
+    private synchronized void recordInvalidItem(int index, String messages) {
+        invalidItemCount++;
+        itemMessages.put(index, messages);
+        if (itemMessages.size() > MAX_REPORTED_ITEMS) {
+            itemMessages.pollLastEntry();
+        }
+    }
+
+    private synchronized void reportResults() throws ProcessingException {
+        ProcessingException failure = processingFailure.get();
+        if (failure != null) {
+            throw failure;
+        }
+        List<String> messages = new ArrayList<>();
+        if (itemCount < minItems) {
+            messages.add(format("array is too short: must have at least %d elements but instance has %d elements", minItems, itemCount));
+        } else if (itemCount > maxItems) {
+            messages.add(format("array is too long: must have at most %d elements but instance has %d elements", maxItems, itemCount));
+        }
+        itemMessages.forEach((index, itemMessage) -> messages.add(format("[%d] %s", index, itemMessage)));
+        if (messages.isEmpty()) {
+            return;
+        }
+        String report = String.join(", ", messages);
+        if (invalidItemCount > itemMessages.size()) {
+            report += format(" and %d more invalid items", invalidItemCount - itemMessages.size());
+        }
+        Assert.fail(format("Actual response body is not as specified. The following message(s) where produced during validation; %s.", report));
+    }
+}
@@ -0,0 +1,52 @@
+package rocks.bastion.core.load;
+
+import rocks.bastion.core.Response;
+import rocks.bastion.core.event.BastionErrorEvent;
+import rocks.bastion.core.event.BastionFailureEvent;
+import rocks.bastion.core.event.BastionFinishedEvent;
+import rocks.bastion.core.event.BastionListener;
+import rocks.bastion.core.event.BastionStartedEvent;
+
+/**
+ * Listens to the events of a single Bastion request sent during a load run and captures whether it passed, failed its
+ * assertions or could not be completed, together with the status code of the response, if any.
+ */
+class IterationOutcome implements BastionListener {
+
+    enum Result {
+        SUCCESS, FAILURE, ERROR
+    }
+
+    private Result result = Result.SUCCESS;
+    private Integer statusCode;
+
+    @Override
+    public void callStarted(BastionStartedEvent event) {
+    }
+
+    @Override
+    public void callFailed(BastionFailureEvent event) {
+        result = Result.FAILURE;
+    }
+
+    @Override
+    public void callError(BastionErrorEvent event) {
+        result = Result.ERROR;
+    }
+
+    @Override
+    public void callFinished(BastionFinishedEvent event) {
+        Response response = event.getResponse();
+        if (response != null) {
+            statusCode = response.getStatusCode();
+        }
+    }
+
+    Result getResult() {
+        return result;
+    }
+
+    Integer getStatusCode() {
+        return statusCode;
+    }
+}
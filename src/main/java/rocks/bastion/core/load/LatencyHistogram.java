@@ -0,0 +1,129 @@
+package rocks.bastion.core.load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * A thread-safe histogram of latency values which can be recorded concurrently by many threads without locking. Values
+ * are stored in log-linear buckets: every power of two is split into {@value #SUB_BUCKET_COUNT} equally sized buckets, so
+ * that any value can be reported with a relative error of less than 0.4% while keeping the histogram's memory footprint
+ * fixed, regardless of how many values are recorded.
+ * </p>
+ * <p>
+ * The histogram does not assume any particular time unit. The {@link LoadRunner} records latencies in nanoseconds.
+ * </p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount;
+    private final LongAdder totalValue;
+    private final LongAccumulator minValue;
+    private final LongAccumulator maxValue;
+
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKET_COUNT);
+        totalCount = new LongAdder();
+        totalValue = new LongAdder();
+        minValue = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        maxValue = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Records a single value in this histogram.
+     *
+     * @param value A non-negative value to record
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Latency values cannot be negative.");
+        }
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        totalValue.add(value);
+        minValue.accumulate(value);
+        maxValue.accumulate(value);
+    }
+
+    /**
+     * @return The number of values recorded in this histogram
+     */
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * @return The smallest value recorded, or {@literal 0} if no values were recorded
+     */
+    public long getMinValue() {
+        return (getTotalCount() == 0) ? 0 : minValue.get();
+    }
+
+    /**
+     * @return The largest value recorded, or {@literal 0} if no values were recorded
+     */
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    /**
+     * @return The arithmetic mean of all the values recorded, or {@literal 0} if no values were recorded
+     */
+    public double getMean() {
+        long count = getTotalCount();
+        return (count == 0) ? 0 : ((double) totalValue.sum() / count);
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded values fall. The returned value is the highest value
+     * which falls into the same bucket as the value at the percentile, but is never larger than the {@link #getMaxValue()
+     * largest recorded value}.
+     *
+     * @param percentile The percentile to compute, between {@literal 0} and {@literal 100} inclusive
+     * @return The value at the given percentile, or {@literal 0} if no values were recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if ((percentile < 0) || (percentile > 100)) {
+            throw new IllegalArgumentException("The percentile should be between 0 and 100.");
+        }
+        long count = getTotalCount();
+        if (count == 0) {
+            return 0;
+        }
+        long targetCount = Math.max(1, (long) Math.ceil((percentile / 100) * count));
+        long cumulativeCount = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            cumulativeCount += counts.get(index);
+            if (cumulativeCount >= targetCount) {
+                return Math.min(highestValueInBucket(index), getMaxValue());
+            }
+        }
+        return getMaxValue();
+    }
+
+    private static int bucketIndex(long value) {
+        int highestBit = (Long.SIZE - 1) - Long.numberOfLeadingZeros(value);
+        if (highestBit < SUB_BUCKET_BITS) {
+            return (int) value;
+        }
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return ((shift + 1) * SUB_BUCKET_COUNT) + subBucket;
+    }
+
+    private static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index / SUB_BUCKET_COUNT) - 1;
+        long mantissa = (index % SUB_BUCKET_COUNT) + SUB_BUCKET_COUNT;
+        long lowestValue = mantissa << shift;
+        return lowestValue + ((1L << shift) - 1);
+    }
+}
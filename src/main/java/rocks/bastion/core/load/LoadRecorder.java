@@ -0,0 +1,57 @@
+package rocks.bastion.core.load;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the outcome of each request sent during a load run. Outcomes can be recorded concurrently by all the threads
+ * of the run.
+ */
+class LoadRecorder {
+
+    private final LatencyHistogram latencyHistogram;
+    private final Map<Integer, LongAdder> statusCodeCounts;
+    private final LongAdder successCount;
+    private final LongAdder failureCount;
+    private final LongAdder errorCount;
+    private final LongAdder missedScheduleCount;
+
+    LoadRecorder() {
+        latencyHistogram = new LatencyHistogram();
+        statusCodeCounts = new ConcurrentHashMap<>();
+        successCount = new LongAdder();
+        failureCount = new LongAdder();
+        errorCount = new LongAdder();
+        missedScheduleCount = new LongAdder();
+    }
+
+    void record(IterationOutcome outcome, long latencyNanos) {
+        latencyHistogram.record(latencyNanos);
+        if (outcome.getStatusCode() != null) {
+            statusCodeCounts.computeIfAbsent(outcome.getStatusCode(), statusCode -> new LongAdder()).increment();
+        }
+        switch (outcome.getResult()) {
+            case SUCCESS:
+                successCount.increment();
+                break;
+            case FAILURE:
+                failureCount.increment();
+                break;
+            default:
+                errorCount.increment();
+        }
+    }
+
+    void recordMissedSchedule() {
+        missedScheduleCount.increment();
+    }
+
+    LoadReport toReport(Duration elapsedTime) {
+        Map<Integer, Long> statusCodes = new TreeMap<>();
+        statusCodeCounts.forEach((statusCode, count) -> statusCodes.put(statusCode, count.sum()));
+        return new LoadReport(latencyHistogram, statusCodes, successCount.sum(), failureCount.sum(), errorCount.sum(), missedScheduleCount.sum(), elapsedTime);
+    }
+}
@@ -0,0 +1,138 @@
+package rocks.bastion.core.load;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The results of a load run performed by the {@link LoadRunner}. Contains the latency distribution of the requests
+ * sent, the achieved throughput and how many requests passed, failed their assertions or could not be completed. Requests
+ * sent during the warm-up are not included in the report.
+ */
+public class LoadReport {
+
+    private final LatencyHistogram latencyHistogram;
+    private final Map<Integer, Long> statusCodeCounts;
+    private final long successCount;
+    private final long failureCount;
+    private final long errorCount;
+    private final long missedScheduleCount;
+    private final Duration elapsedTime;
+
+    public LoadReport(LatencyHistogram latencyHistogram, Map<Integer, Long> statusCodeCounts, long successCount, long failureCount, long errorCount, long missedScheduleCount, Duration elapsedTime) {
+        Objects.requireNonNull(latencyHistogram);
+        Objects.requireNonNull(statusCodeCounts);
+        Objects.requireNonNull(elapsedTime);
+        this.latencyHistogram = latencyHistogram;
+        this.statusCodeCounts = Collections.unmodifiableMap(statusCodeCounts);
+        this.successCount = successCount;
+        this.failureCount = failureCount;
+        this.errorCount = errorCount;
+        this.missedScheduleCount = missedScheduleCount;
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * @return The total number of requests which were sent, excluding the warm-up
+     */
+    public long getIterations() {
+        return successCount + failureCount + errorCount;
+    }
+
+    /**
+     * @return The number of requests whose response passed the assertions
+     */
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    /**
+     * @return The number of requests whose response did not pass the assertions
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * @return The number of requests which could not be completed, for example because the connection was refused or
+     * the response could not be decoded
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Returns how many requests could not be sent at their scheduled time when running {@link LoadRunner#atFixedRate(double)
+     * at a fixed rate}, either because all the threads were still waiting for earlier responses or because the client
+     * itself could not keep up with the target rate. The latency of these requests is still measured from their scheduled
+     * time. This is always {@literal 0} for runs which do not use a fixed rate.
+     *
+     * @return The number of requests which were sent later than scheduled
+     */
+    public long getMissedScheduleCount() {
+        return missedScheduleCount;
+    }
+
+    /**
+     * Returns how many responses were received with each HTTP status code, regardless of whether they passed their
+     * assertions or not. Requests which did not receive a response are not counted.
+     *
+     * @return An unmodifiable map from HTTP status code to the number of responses received with that status code
+     */
+    public Map<Integer, Long> getStatusCodeCounts() {
+        return statusCodeCounts;
+    }
+
+    /**
+     * @return The time taken to send all the requests, excluding the warm-up
+     */
+    public Duration getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * @return The average number of requests completed per second
+     */
+    public double getThroughput() {
+        long elapsedNanos = elapsedTime.toNanos();
+        return (elapsedNanos == 0) ? 0 : ((getIterations() * 1_000_000_000.0) / elapsedNanos);
+    }
+
+    /**
+     * @return The histogram of request latencies, in nanoseconds
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    /**
+     * Returns the latency below which the given percentage of requests completed.
+     *
+     * @param percentile The percentile to compute, between {@literal 0} and {@literal 100} inclusive
+     * @return The latency at the given percentile
+     */
+    public Duration getLatency(double percentile) {
+        return Duration.ofNanos(latencyHistogram.getValueAtPercentile(percentile));
+    }
+
+    /**
+     * @return The latency of the slowest request
+     */
+    public Duration getMaxLatency() {
+        return Duration.ofNanos(latencyHistogram.getMaxValue());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Iterations: %d (success: %d, failed: %d, errors: %d, missed schedule: %d)%n", getIterations(), successCount, failureCount, errorCount, missedScheduleCount) +
+                String.format("Elapsed: %d ms, throughput: %.2f req/s%n", elapsedTime.toMillis(), getThroughput()) +
+                String.format("Latency (ms): p50=%.3f p90=%.3f p99=%.3f p99.9=%.3f max=%.3f%n",
+                        toMillis(getLatency(50)), toMillis(getLatency(90)), toMillis(getLatency(99)), toMillis(getLatency(99.9)), toMillis(getMaxLatency())) +
+                String.format("Status codes: %s", statusCodeCounts);
+    }
+
+    private static double toMillis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,386 @@
+package rocks.bastion.core.load;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import rocks.bastion.core.Assertions;
+import rocks.bastion.core.BastionBuilderImpl;
+import rocks.bastion.core.BastionFactory;
+import rocks.bastion.core.HttpRequest;
+import rocks.bastion.core.PreparedRequest;
+import rocks.bastion.core.RequestExecutor;
+import rocks.bastion.core.feeder.Feeder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Sends the same Bastion {@link HttpRequest} many times, from several threads at once, and reports on the latency and
+ * throughput achieved. Each request goes through the same pipeline as a normal Bastion test: the request is executed, the
+ * response is decoded into the {@link #bind(Class) bound model} and the {@link #withAssertions(Assertions) assertions}
+ * are applied. This means that the same request and assertion definitions can be used for both functional tests and
+ * performance checks.
+ * </p>
+ * <p>
+ * Use {@link rocks.bastion.Bastion#load(HttpRequest)} to obtain a load runner, then configure how long to run for using
+ * {@link #iterations(long)} and/or {@link #duration(Duration)}. The run stops as soon as either limit is reached. Requests
+ * which fail their assertions do not stop the run; they are counted in the {@link LoadReport} instead.
+ * </p>
+ * <p>
+ * By default, each thread sends its next request as soon as it receives the response for its previous one, so the rate
+ * at which requests are sent depends on how quickly the server responds. If the server stalls, fewer requests are sent
+ * and the reported latencies understate what clients would actually experience. Use {@link #atFixedRate(double)} to
+ * send requests at a fixed rate instead, regardless of how quickly the server responds. In this mode, the latency of each
+ * request is measured from the time it was scheduled to be sent, so time spent waiting for a free thread is included.
+ * </p>
+ * <p>
+ * Instead of sending the same request every time, a runner can send a different request for every row of test data
+ * returned by a {@link Feeder}. Use {@link rocks.bastion.Bastion#load(Feeder, Function)} to obtain such a runner. Each
+ * worker thread takes the next row from the feeder and turns it into a request just before sending it, so rows are never
+ * all held in memory at once. When running {@link #atFixedRate(double) at a fixed rate}, each request is instead created
+ * by the scheduling thread before the time it is due to be sent, and it still counts towards the latency if creating it
+ * delays the send past that time. The run stops early if the feeder runs out of rows.
+ * </p>
+ *
+ * @param <MODEL> The response model type currently bound to the runner
+ */
+public class LoadRunner<MODEL> {
+
+    private static final long SPIN_THRESHOLD_NANOS = 100_000;
+    private static final long SCHEDULE_TOLERANCE_NANOS = 1_000_000;
+
+    private final BastionFactory bastionFactory;
+    private final HttpRequest request;
+    private final Feeder feeder;
+    private final Function<? super Map<String, String>, ? extends HttpRequest> requestFactory;
+    private Class<MODEL> modelType;
+    private Assertions<? super MODEL> assertions;
+    private long iterations;
+    private Duration duration;
+    private int concurrency;
+    private long warmUpIterations;
+    private double requestsPerSecond;
+
+    public LoadRunner(BastionFactory bastionFactory, HttpRequest request) {
+        Objects.requireNonNull(bastionFactory);
+        Objects.requireNonNull(request);
+        this.bastionFactory = bastionFactory;
+        this.request = request;
+        feeder = null;
+        requestFactory = null;
+        assertions = Assertions.noAssertions();
+        concurrency = 1;
+    }
+
+    /**
+     * Constructs a runner which sends one request for every row returned by the given feeder.
+     *
+     * @param bastionFactory The non-{@literal null} factory used to create the Bastion builder for each request
+     * @param feeder         The non-{@literal null} feeder to take rows from
+     * @param requestFactory The non-{@literal null} function which creates the request to send for a row, such as one which
+     *                       uses the row as the variable assignments of a templated request
+     */
+    public LoadRunner(BastionFactory bastionFactory, Feeder feeder, Function<? super Map<String, String>, ? extends HttpRequest> requestFactory) {
+        Objects.requireNonNull(bastionFactory);
+        Objects.requireNonNull(feeder);
+        Objects.requireNonNull(requestFactory);
+        this.bastionFactory = bastionFactory;
+        request = null;
+        this.feeder = feeder;
+        this.requestFactory = requestFactory;
+        assertions = Assertions.noAssertions();
+        concurrency = 1;
+    }
+
+    /**
+     * Decodes each response into a model of the given type before applying the assertions. Responses which cannot be
+     * decoded into the given type are counted as failures.
+     *
+     * @param modelType The non-{@literal null} model type to bind responses to
+     * @param <T>       The model type to bind responses to
+     * @return This runner, for chaining
+     */
+    @SuppressWarnings("unchecked")
+    public <T> LoadRunner<T> bind(Class<T> modelType) {
+        Objects.requireNonNull(modelType);
+        LoadRunner<T> castedRunner = (LoadRunner<T>) this;
+        castedRunner.modelType = modelType;
+        return castedRunner;
+    }
+
+    /**
+     * Applies the given assertions to each response received.
+     *
+     * @param assertions The non-{@literal null} assertions to apply
+     * @return This runner, for chaining
+     */
+    public LoadRunner<MODEL> withAssertions(Assertions<? super MODEL> assertions) {
+        Objects.requireNonNull(assertions);
+        this.assertions = assertions;
+        return this;
+    }
+
+    /**
+     * Sets the number of requests to send, excluding the warm-up.
+     *
+     * @param iterations A positive number of requests
+     * @return This runner, for chaining
+     */
+    public LoadRunner<MODEL> iterations(long iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("The number of iterations should be greater than 0.");
+        }
+        this.iterations = iterations;
+        return this;
+    }
+
+    /**
+     * Sets how long to keep sending requests for, excluding the warm-up.
+     *
+     * @param duration A positive duration
+     * @return This runner, for chaining
+     */
+    public LoadRunner<MODEL> duration(Duration duration) {
+        Objects.requireNonNull(duration);
+        if (duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("The duration should be greater than 0.");
+        }
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads which send requests at the same time. Defaults to {@literal 1}. When running
+     * {@link #atFixedRate(double) at a fixed rate}, this is the maximum number of requests which can be waiting for a
+     * response at any one time.
+     *
+     * @param concurrency A positive number of threads
+     * @return This runner, for chaining
+     */
+    public LoadRunner<MODEL> concurrency(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("The concurrency should be greater than 0.");
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Sets the number of requests to send before measuring starts. Warm-up requests open connections and let the JVM
+     * and server reach a steady state; their results are not included in the {@link LoadReport}. Defaults to {@literal 0}.
+     *
+     * @param warmUpIterations A non-negative number of requests
+     * @return This runner, for chaining
+     */
+    public LoadRunner<MODEL> warmUp(long warmUpIterations) {
+        if (warmUpIterations < 0) {
+            throw new IllegalArgumentException("The number of warm-up iterations should not be negative.");
+        }
+        this.warmUpIterations = warmUpIterations;
+        return this;
+    }
+
+    /**
+     * Sends requests at the given fixed rate, regardless of how quickly the server responds. Requests are scheduled at
+     * evenly spaced points in time and the latency of each request is measured from its scheduled time rather than the
+     * time it was actually sent. If all the {@link #concurrency(int) threads} are still waiting for responses when a
+     * request is due, that request is sent as soon as a thread becomes free and is counted in
+     * {@link LoadReport#getMissedScheduleCount()}. Warm-up requests are also sent at this rate.
+     *
+     * @param requestsPerSecond The positive number of requests to send per second
+     * @return This runner, for chaining
+     */
+    public LoadRunner<MODEL> atFixedRate(double requestsPerSecond) {
+        if (!(requestsPerSecond > 0) || Double.isInfinite(requestsPerSecond)) {
+            throw new IllegalArgumentException("The rate should be a finite number greater than 0.");
+        }
+        this.requestsPerSecond = requestsPerSecond;
+        return this;
+    }
+
+    /**
+     * Sends the requests and waits for all of them to complete. The request is {@link RequestExecutor#prepare() prepared}
+     * once, before the run starts, so changes made to the request while the run is in progress have no effect. When the
+     * runner is fed by a {@link Feeder}, each request is prepared just before it is sent instead, and warm-up requests also
+     * take rows from the feeder.
+     *
+     * @return The report of the run, excluding the warm-up
+     * @throws rocks.bastion.core.feeder.FeederExhaustedException Thrown if the feeder runs out of rows and uses the
+     *                                                            {@link rocks.bastion.core.feeder.FeedStrategy#UNIQUE} strategy
+     */
+    public LoadReport run() {
+        if ((iterations == 0) && (duration == null)) {
+            throw new IllegalStateException("Specify the number of iterations and/or the duration of the load run.");
+        }
+        IterationRequest preparedRequest = (feeder == null) ? prepare(request) : null;
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, new ThreadFactoryBuilder().setNameFormat("bastion-load-%d").setDaemon(true).build());
+        try {
+            if (warmUpIterations > 0) {
+                runPhase(workers, preparedRequest, warmUpIterations, null, null);
+            }
+            LoadRecorder recorder = new LoadRecorder();
+            long startTime = System.nanoTime();
+            Long endTime = (duration == null) ? null : (startTime + duration.toNanos());
+            runPhase(workers, preparedRequest, (iterations == 0) ? Long.MAX_VALUE : iterations, endTime, recorder);
+            return recorder.toReport(Duration.ofNanos(System.nanoTime() - startTime));
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void runPhase(ExecutorService workers, IterationRequest preparedRequest, long phaseIterations, Long endTime, LoadRecorder recorder) {
+        if (requestsPerSecond > 0) {
+            runFixedRatePhase(workers, preparedRequest, phaseIterations, endTime, recorder);
+        } else {
+            runClosedPhase(workers, preparedRequest, phaseIterations, endTime, recorder);
+        }
+    }
+
+    private void runClosedPhase(ExecutorService workers, IterationRequest preparedRequest, long phaseIterations, Long endTime, LoadRecorder recorder) {
+        AtomicLong issuedIterations = new AtomicLong();
+        List<CompletableFuture<Void>> workerFutures = new ArrayList<>(concurrency);
+        for (int worker = 0; worker < concurrency; worker++) {
+            workerFutures.add(CompletableFuture.runAsync(() -> {
+                while ((issuedIterations.getAndIncrement() < phaseIterations) && hasTimeRemaining(endTime)) {
+                    IterationRequest iterationRequest = nextRequest(preparedRequest);
+                    if (iterationRequest == null) {
+                        break;
+                    }
+                    long iterationStart = System.nanoTime();
+                    IterationOutcome outcome = executeIteration(iterationRequest);
+                    if (recorder != null) {
+                        recorder.record(outcome, System.nanoTime() - iterationStart);
+                    }
+                }
+            }, workers));
+        }
+        try {
+            CompletableFuture.allOf(workerFutures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            // rethrow failures to feed a request, such as running out of unique rows, as they were thrown
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void runFixedRatePhase(ExecutorService workers, IterationRequest preparedRequest, long phaseIterations, Long endTime, LoadRecorder recorder) {
+        Semaphore idleWorkers = new Semaphore(concurrency);
+        AtomicReference<RuntimeException> iterationFailure = new AtomicReference<>();
+        double intervalNanos = 1_000_000_000.0 / requestsPerSecond;
+        long phaseStart = System.nanoTime();
+        try {
+            for (long iteration = 0; iteration < phaseIterations; iteration++) {
+                long intendedStart = phaseStart + (long) (iteration * intervalNanos);
+                if ((endTime != null) && (intendedStart - endTime >= 0)) {
+                    break;
+                }
+                // the request is built ahead of its scheduled start; if building it runs late, so does the send and its latency
+                IterationRequest iterationRequest = nextRequest(preparedRequest);
+                if (iterationRequest == null) {
+                    break;
+                }
+                waitUntil(intendedStart);
+                idleWorkers.acquireUninterruptibly();
+                if (iterationFailure.get() != null) {
+                    idleWorkers.release();
+                    break;
+                }
+                if ((recorder != null) && (System.nanoTime() - intendedStart > SCHEDULE_TOLERANCE_NANOS)) {
+                    recorder.recordMissedSchedule();
+                }
+                workers.execute(() -> {
+                    try {
+                        IterationOutcome outcome = executeIteration(iterationRequest);
+                        if (recorder != null) {
+                            recorder.record(outcome, System.nanoTime() - intendedStart);
+                        }
+                    } catch (RuntimeException e) {
+                        iterationFailure.compareAndSet(null, e);
+                    } finally {
+                        idleWorkers.release();
+                    }
+                });
+            }
+        } finally {
+            // wait for the requests already sent, even if the feeder failed to create the next one
+            idleWorkers.acquireUninterruptibly(concurrency);
+        }
+        RuntimeException failure = iterationFailure.get();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Parks the current thread until shortly before the given time and then spins for the remainder, since parking alone
+     * can overshoot by much more than the gap between requests at high rates.
+     */
+    private static void waitUntil(long time) {
+        long remaining;
+        while ((remaining = time - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    private static boolean hasTimeRemaining(Long endTime) {
+        return (endTime == null) || (System.nanoTime() - endTime < 0);
+    }
+
+    /**
+     * @return The request to send next: the prepared request itself when the runner is not fed by a feeder, or the request
+     * created for the next row of the feeder, or {@literal null} if the feeder has run out of rows
+     */
+    private IterationRequest nextRequest(IterationRequest preparedRequest) {
+        if (preparedRequest != null) {
+            return preparedRequest;
+        }
+        return feeder.next().map(row -> prepare(requestFactory.apply(row))).orElse(null);
+    }
+
+    private IterationRequest prepare(HttpRequest httpRequest) {
+        return new IterationRequest(httpRequest, new RequestExecutor(httpRequest, bastionFactory.getConfiguration()).prepare());
+    }
+
+    @SuppressWarnings("unchecked")
+    private IterationOutcome executeIteration(IterationRequest iterationRequest) {
+        HttpRequest httpRequest = iterationRequest.request;
+        BastionBuilderImpl<MODEL> bastion = (BastionBuilderImpl<MODEL>) (BastionBuilderImpl<?>) bastionFactory.getLoadBastion(httpRequest.name(), httpRequest);
+        IterationOutcome outcome = new IterationOutcome();
+        bastion.registerListener(outcome);
+        bastion.setPreparedRequest(iterationRequest.preparedRequest);
+        if (modelType != null) {
+            bastion.bind(modelType);
+        }
+        bastion.withAssertions(assertions);
+        bastion.call();
+        return outcome;
+    }
+
+    private static final class IterationRequest {
+
+        private final HttpRequest request;
+        private final PreparedRequest preparedRequest;
+
+        private IterationRequest(HttpRequest request, PreparedRequest preparedRequest) {
+            this.request = request;
+            this.preparedRequest = preparedRequest;
+        }
+    }
+}
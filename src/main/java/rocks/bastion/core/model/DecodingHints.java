@@ -1,21 +1,38 @@
 package rocks.bastion.core.model;
 
+import org.apache.http.entity.ContentType;
+
 import java.util.Optional;
 
 /**
  * Provides hints to the {@link ResponseDecoder} about how to interpret the given HTTP response. This includes the type of model
  * that was requested by the user, if any, so that a {@link ResponseDecoder} can decode the response into a specific model
- * as requested by the user.
+ * as requested by the user. The hints also carry the content type of the response, parsed once by Bastion, so that decoders
+ * do not each need to parse the {@code Content-type} header again.
  */
 public class DecodingHints {
 
     private Class<?> modelType;
+    private ContentType contentType;
 
     public DecodingHints(Class<?> modelType) {
         this.modelType = modelType;
     }
 
+    public DecodingHints(Class<?> modelType, ContentType contentType) {
+        this.modelType = modelType;
+        this.contentType = contentType;
+    }
+
     public Optional<Class<?>> getModelType() {
         return Optional.ofNullable(modelType);
     }
+
+    /**
+     * @return The content type of the response being decoded, if it was already parsed by Bastion. When empty, decoders
+     * should read the content type from the response itself.
+     */
+    public Optional<ContentType> getContentType() {
+        return Optional.ofNullable(contentType);
+    }
 }
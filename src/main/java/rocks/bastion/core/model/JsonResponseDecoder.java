@@ -1,64 +1,112 @@
 package rocks.bastion.core.model;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.apache.http.entity.ContentType;
+import rocks.bastion.core.DecodedResponseCache;
 import rocks.bastion.core.Response;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A {@link ResponseDecoder} which will interpret an HTTP response containing JSON content body. This implementation uses
  * the Jackson library's {@link ObjectMapper} to perform the decoding operation.
  * <p>
- * The decoder uses the following strategy when attempting to construct the model object for the response: first, it
- * parses the HTTP response's JSON content into an {@link JsonNode abstract syntax tree representing the given JSON}
- * (known as a JSON tree). Then, if the user has supplied a target model type, it binds the JSON tree into an instance
- * of that type. Otherwise, it immediately returns the decoded JSON tree as an object of type {@link JsonNode}.
+ * The decoder uses the following strategy when attempting to construct the model object for the response: if the user
+ * has supplied a target model type, it binds the HTTP response's JSON content straight into an instance of that type,
+ * without building any intermediate representation. Otherwise, or if the content cannot be bound to the model type, it
+ * parses the content into an {@link JsonNode abstract syntax tree representing the given JSON} (known as a JSON tree) and
+ * returns the decoded JSON tree as an object of type {@link JsonNode}. When the JSON tree has already been parsed, the
+ * model is bound from the tree instead of reading the content again. Both the JSON tree and the bound model are kept in
+ * the response's {@link Response#getDecodedCache() decoded cache}, so that the assertions can reuse them rather than
+ * parsing the response again. The body of a {@link Response#isStreamed() streamed} response can only be read once, so it
+ * is always parsed into a JSON tree first, and the model is bound from the tree, leaving the tree for the assertions. A
+ * streamed body which has already been consumed, and was not parsed into a JSON tree, is not decoded.
+ * </p>
+ * <p>
+ * The {@link ObjectReader}s used for binding are created once per model type and shared by all decoders, since they are
+ * immutable and safe to use concurrently.
  * </p>
  */
 public class JsonResponseDecoder implements ResponseDecoder {
 
-    private static ObjectMapper jsonObjectMapper = null;
+    private static final Collection<String> SUPPORTED_MIME_TYPES = Collections.singleton(ContentType.APPLICATION_JSON.getMimeType());
+
+    private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
+    private static final ConcurrentMap<Class<?>, ObjectReader> MODEL_READERS = new ConcurrentHashMap<>();
 
     @Override
     public Optional<?> decode(Response response, DecodingHints hints) {
-        ContentType responseContentType = response.getContentType().orElse(ContentType.DEFAULT_TEXT);
+        ContentType responseContentType = hints.getContentType().orElseGet(() -> response.getContentType().orElse(ContentType.DEFAULT_TEXT));
         if (!supportsContentType(responseContentType)) {
             return Optional.empty();
         }
+        DecodedResponseCache decodedCache = response.getDecodedCache();
+        Optional<Class<?>> modelType = hints.getModelType().filter(type -> !JsonNode.class.isAssignableFrom(type));
+        if (modelType.isPresent() && !decodedCache.getCachedJsonTree().isPresent() && !response.isStreamed()) {
+            Object model = bindBody(response, modelType.get());
+            if (model != null) {
+                return Optional.of(model);
+            }
+        }
         JsonNode decodedJsonTree;
         try {
-            decodedJsonTree = getObjectMapper().readTree(response.getBody());
+            decodedJsonTree = decodedCache.getJsonTree(() -> response.isBodyAvailable() ? JSON_OBJECT_MAPPER.readTree(response.getBody()) : null);
         } catch (JsonProcessingException ignored) {
             return Optional.empty();
         } catch (IOException exception) {
             throw new IllegalStateException("An unexpected error occurred while reading JSON data", exception);
         }
-        return decodeTreeUsingHints(decodedJsonTree, hints);
+        if (decodedJsonTree == null) {
+            return Optional.empty();
+        }
+        return decodeTreeUsingHints(decodedCache, decodedJsonTree, hints);
     }
 
-    private static synchronized ObjectMapper getObjectMapper() {
-        if (jsonObjectMapper == null) {
-            jsonObjectMapper = new ObjectMapper();
+    @Override
+    public Collection<String> getSupportedMimeTypes() {
+        return SUPPORTED_MIME_TYPES;
+    }
+
+    /**
+     * Binds the response body straight to the given model type, without building a JSON tree first.
+     *
+     * @return The bound model, or {@literal null} if the body could not be bound to the model type
+     */
+    private static <T> T bindBody(Response response, Class<T> modelType) {
+        try {
+            return response.getDecodedCache().getModel(modelType, () -> getModelReader(modelType).readValue(response.getBody()));
+        } catch (JsonProcessingException ignored) {
+            return null;
+        } catch (IOException exception) {
+            throw new IllegalStateException("An unexpected error occurred while reading JSON data", exception);
         }
-        return jsonObjectMapper;
     }
 
-    private Optional<?> decodeTreeUsingHints(TreeNode decodedJsonTree, DecodingHints hints) {
-        return Optional.of(hints.getModelType().<Object>map(modelType -> {
-            try {
-                return getObjectMapper().treeToValue(decodedJsonTree, modelType);
-            } catch (JsonProcessingException ignored) {
-                return null;
-            }
-        }).orElse(decodedJsonTree));
+    private static ObjectReader getModelReader(Class<?> modelType) {
+        return MODEL_READERS.computeIfAbsent(modelType, JSON_OBJECT_MAPPER::readerFor);
+    }
+
+    private Optional<?> decodeTreeUsingHints(DecodedResponseCache decodedCache, JsonNode decodedJsonTree, DecodingHints hints) {
+        return Optional.of(hints.getModelType().<Object>map(modelType -> bindTree(decodedCache, decodedJsonTree, modelType)).orElse(decodedJsonTree));
+    }
+
+    private static <T> T bindTree(DecodedResponseCache decodedCache, JsonNode decodedJsonTree, Class<T> modelType) {
+        try {
+            return decodedCache.getModel(modelType, () -> getModelReader(modelType).readValue(decodedJsonTree));
+        } catch (IOException ignored) {
+            return null;
+        }
     }
 
     private boolean supportsContentType(ContentType responseContentType) {
-        return responseContentType.getMimeType().equals(ContentType.APPLICATION_JSON.getMimeType());
+        return responseContentType.getMimeType().equalsIgnoreCase(ContentType.APPLICATION_JSON.getMimeType());
     }
 }
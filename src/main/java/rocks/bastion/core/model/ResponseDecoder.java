@@ -2,6 +2,8 @@ package rocks.bastion.core.model;
 
 import rocks.bastion.core.Response;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 
 /**
@@ -12,7 +14,8 @@ import java.util.Optional;
  * empty Optional}.
  * <br><br>
  * Once registered with Bastion, the {@linkplain ResponseDecoder}s will form a strategy for turning an arbitrary HTTP response
- * to a usable Java object available in Bastion tests and assertions.
+ * to a usable Java object available in Bastion tests and assertions. Decoders are registered once with a
+ * {@link ResponseDecoderRegistry} and shared by all requests, so implementations should be stateless and thread-safe.
  */
 public interface ResponseDecoder {
 
@@ -31,4 +34,16 @@ public interface ResponseDecoder {
      * the decoded object, otherwise.
      */
     Optional<?> decode(Response response, DecodingHints hints);
+
+    /**
+     * Returns the MIME types of the responses which this decoder can decode, such as {@code application/json}. Bastion
+     * only asks this decoder to decode responses having one of these MIME types. A decoder which returns an empty collection
+     * is a wildcard decoder: it is asked to decode every response which the decoders for the response's MIME type could not
+     * decode. By default, decoders are wildcard decoders.
+     *
+     * @return The non-{@literal null} MIME types supported by this decoder
+     */
+    default Collection<String> getSupportedMimeTypes() {
+        return Collections.emptySet();
+    }
 }
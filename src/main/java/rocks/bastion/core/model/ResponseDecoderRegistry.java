@@ -0,0 +1,106 @@
+package rocks.bastion.core.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Holds the {@link ResponseDecoder}s which Bastion uses to decode HTTP responses, indexed by the MIME types which each decoder
+ * {@link ResponseDecoder#getSupportedMimeTypes() supports}. A registry is normally populated once by the
+ * {@link rocks.bastion.core.BastionFactory} and then shared by every request the factory creates, so decoders should be
+ * stateless.
+ * </p>
+ * <p>
+ * Looking up the decoders for a response is a single hash lookup by the MIME type of the response. The decoders which
+ * support that MIME type are returned first, in the order they were registered, followed by the wildcard decoders (those
+ * which do not declare any MIME types), also in the order they were registered. Registering a decoder rebuilds the index,
+ * while lookups never block, so decoders should be registered up front rather than while requests are running.
+ * </p>
+ */
+public class ResponseDecoderRegistry implements ResponseDecodersRegistrar {
+
+    private final List<ResponseDecoder> decoders;
+    private volatile Map<String, List<ResponseDecoder>> decodersByMimeType;
+    private volatile List<ResponseDecoder> wildcardDecoders;
+
+    public ResponseDecoderRegistry() {
+        decoders = new ArrayList<>();
+        decodersByMimeType = Collections.emptyMap();
+        wildcardDecoders = Collections.emptyList();
+    }
+
+    /**
+     * Constructs a new registry containing the same decoders as the given registry. Decoders registered with the new
+     * registry are not registered with the given registry, and vice-versa.
+     *
+     * @param registry The non-{@literal null} registry to copy
+     */
+    public ResponseDecoderRegistry(ResponseDecoderRegistry registry) {
+        this();
+        Objects.requireNonNull(registry);
+        registry.getDecoders().forEach(this::registerModelConverter);
+    }
+
+    @Override
+    public synchronized void registerModelConverter(ResponseDecoder decoder) {
+        Objects.requireNonNull(decoder);
+        decoders.add(decoder);
+        reindex();
+    }
+
+    /**
+     * @return All the registered decoders, in the order they were registered
+     */
+    public synchronized List<ResponseDecoder> getDecoders() {
+        return Collections.unmodifiableList(new ArrayList<>(decoders));
+    }
+
+    /**
+     * Returns the decoders which should be asked to decode a response having the given MIME type, in the order in which they
+     * should be asked. MIME types are matched case-insensitively.
+     *
+     * @param mimeType The MIME type of the response, or {@literal null} to get the wildcard decoders only
+     * @return The decoders supporting the given MIME type followed by the wildcard decoders
+     */
+    public List<ResponseDecoder> getDecoders(String mimeType) {
+        if (mimeType == null) {
+            return wildcardDecoders;
+        }
+        return decodersByMimeType.getOrDefault(normalise(mimeType), wildcardDecoders);
+    }
+
+    private void reindex() {
+        List<ResponseDecoder> wildcards = new ArrayList<>();
+        Map<String, List<ResponseDecoder>> specific = new HashMap<>();
+        for (ResponseDecoder decoder : decoders) {
+            Collection<String> mimeTypes = decoder.getSupportedMimeTypes();
+            if (mimeTypes.isEmpty()) {
+                wildcards.add(decoder);
+            }
+            for (String mimeType : mimeTypes) {
+                List<ResponseDecoder> mimeTypeDecoders = specific.computeIfAbsent(normalise(mimeType), key -> new ArrayList<>());
+                if (!mimeTypeDecoders.contains(decoder)) {
+                    mimeTypeDecoders.add(decoder);
+                }
+            }
+        }
+        Map<String, List<ResponseDecoder>> index = new HashMap<>();
+        specific.forEach((mimeType, mimeTypeDecoders) -> {
+            List<ResponseDecoder> lookup = new ArrayList<>(mimeTypeDecoders);
+            lookup.addAll(wildcards);
+            index.put(mimeType, Collections.unmodifiableList(lookup));
+        });
+        wildcardDecoders = Collections.unmodifiableList(wildcards);
+        decodersByMimeType = index;
+    }
+
+    private static String normalise(String mimeType) {
+        return mimeType.trim().toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -14,15 +14,20 @@ import java.util.Optional;
  * A {@link ResponseDecoder} which will take the HTTP response content-body and put it in to a {@link String}. This should be
  * the last decoder which gets executed in the decoder chain. If none of the other decoders Bastion execute could decode
  * the HTTP response body, then this final decoder will just take the content body data and initialise a string using it.
- * This ensures that all Bastion tests contain some sort of model object decoded from the response.
+ * This ensures that all Bastion tests contain some sort of model object decoded from the response. It is therefore a
+ * wildcard decoder which does not declare any {@link #getSupportedMimeTypes() supported MIME types}. Streamed bodies which
+ * have already been consumed, for example by a decoder which failed to bind them, are skipped unless their text was
+ * already decoded.
  */
 public class StringResponseDecoder implements ResponseDecoder {
 
     @Override
     public Optional<?> decode(Response response, DecodingHints hints) {
         try {
-            Charset responseCharset = response.getContentType().map(ContentType::getCharset).orElse(Consts.ISO_8859_1);
-            return Optional.of(CharStreams.toString(new InputStreamReader(response.getBody(), responseCharset)));
+            Optional<ContentType> contentType = hints.getContentType().isPresent() ? hints.getContentType() : response.getContentType();
+            Charset responseCharset = contentType.map(ContentType::getCharset).orElse(Consts.ISO_8859_1);
+            return Optional.ofNullable(response.getDecodedCache().getText(responseCharset,
+                    () -> response.isBodyAvailable() ? CharStreams.toString(new InputStreamReader(response.getBody(), responseCharset)) : null));
         } catch (IOException ignored) {
             return Optional.empty();
         }
@@ -1,7 +1,8 @@
 package rocks.bastion.core.printer;
 
-import com.google.common.io.CharStreams;
+import org.apache.http.Consts;
 import org.apache.http.ProtocolVersion;
+import org.apache.http.entity.ContentType;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.BasicLineFormatter;
 import org.apache.http.message.BasicStatusLine;
@@ -9,17 +10,24 @@ import rocks.bastion.core.Response;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.Objects;
 
 /**
  * Prints the given {@link Response} object in the same format that it is sent with using the HTTP protocol. This class is
- * useful for logging and debugging purposes.
+ * useful for logging and debugging purposes. The body of {@link Response#isStreamed() streamed} responses is not printed.
+ * Other bodies are decoded using the charset of the response's content-type, or ISO-8859-1 if it does not name one, and
+ * are copied to the output as they are read, so that printing a large body does not hold it in memory.
  */
 public class ResponsePrinter {
 
+    private static final int BUFFER_SIZE = 8192;
+
     private Response response;
+    private long maxBodyLength;
 
     /**
      * Constructs a new instance of this printer to format the specified response object.
@@ -29,6 +37,22 @@ public class ResponsePrinter {
     public ResponsePrinter(Response response) {
         Objects.requireNonNull(response);
         this.response = response;
+        maxBodyLength = Long.MAX_VALUE;
+    }
+
+    /**
+     * Limits the number of characters of the response body which are printed. Longer bodies are cut short and followed by
+     * a note saying that the body was truncated. By default, the whole body is printed.
+     *
+     * @param maxBodyLength The maximum number of body characters to print. Must not be negative.
+     * @return This printer (for method chaining)
+     */
+    public ResponsePrinter setMaxBodyLength(long maxBodyLength) {
+        if (maxBodyLength < 0) {
+            throw new IllegalArgumentException("The maximum body length should not be negative.");
+        }
+        this.maxBodyLength = maxBodyLength;
+        return this;
     }
 
     /**
@@ -84,8 +108,24 @@ public class ResponsePrinter {
     }
 
     private void writeEntitySection(Writer writer) throws IOException {
-        InputStreamReader entity = new InputStreamReader(response.getBody());
-        CharStreams.copy(entity, writer);
+        if (response.isStreamed()) {
+            // the body of a streamed response can only be read once, by the test itself
+            writer.append("[streamed response body]");
+            return;
+        }
+        Charset charset = response.getContentType().map(ContentType::getCharset).orElse(null);
+        try (Reader body = new InputStreamReader(response.getBody(), (charset == null) ? Consts.ISO_8859_1 : charset)) {
+            char[] buffer = new char[BUFFER_SIZE];
+            long remaining = maxBodyLength;
+            int read;
+            while ((remaining > 0) && ((read = body.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1)) {
+                writer.write(buffer, 0, read);
+                remaining -= read;
+            }
+            if ((remaining == 0) && (body.read() != -1)) {
+                writer.append("\r\n[response body truncated after ").append(Long.toString(maxBodyLength)).append(" characters]");
+            }
+        }
     }
 
 }
@@ -0,0 +1,177 @@
+package rocks.bastion.core.resource;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.core.io.Resource;
+import org.springframework.util.ResourceUtils;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ * A bounded, thread-safe cache of the content loaded by {@link ResourceLoader}s, keyed by resource location. Tests tend to
+ * load the same fixtures (request bodies, expected responses, schemas and configuration) over and over again, and the
+ * cache lets every load after the first one skip resolving and reading the resource.
+ * </p>
+ * <p>
+ * Once the cache holds its {@link #ResourceCache(long, long, boolean) maximum number of resources}, the least recently
+ * used resources are evicted. Resources can also be evicted once they have not been used for a given time. When checking
+ * modification times, resources loaded from {@code file:} URLs are read again whenever the file's modification time
+ * changes, so that fixtures edited while tests are running are picked up. Other resources, such as classpath resources,
+ * are assumed not to change.
+ * </p>
+ * <p>
+ * A single cache is designated as the <i>Default</i> cache, which is the one used by {@link ResourceLoader}.
+ * </p>
+ */
+public final class ResourceCache {
+
+    /**
+     * The maximum number of resources held by the default cache.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 512;
+
+    private static volatile ResourceCache defaultCache = new ResourceCache();
+
+    /**
+     * Gets the cache which is designated as the "Default" cache and used by every {@link ResourceLoader}.
+     *
+     * @return A non-null cache instance which is considered to be the "Default."
+     */
+    public static ResourceCache getDefaultCache() {
+        return defaultCache;
+    }
+
+    /**
+     * Designates a new cache as the "Default", changing the caching policy used by every {@link ResourceLoader} created
+     * afterwards. To stop caching resources altogether, designate a cache with a maximum size of 0.
+     *
+     * @param cache The cache to designate as "Default". Cannot be {@literal null}.
+     */
+    public static void setDefaultCache(ResourceCache cache) {
+        requireNonNull(cache, "The default resource cache cannot be null");
+        defaultCache = cache;
+    }
+
+    private final Cache<String, CachedResource> resources;
+    private final boolean checkModificationTime;
+
+    /**
+     * Constructs a cache which holds up to {@link #DEFAULT_MAXIMUM_SIZE} resources, never expires them and checks the
+     * modification time of {@code file:} resources.
+     */
+    public ResourceCache() {
+        this(DEFAULT_MAXIMUM_SIZE, 0, true);
+    }
+
+    /**
+     * Constructs a cache using the given eviction policy.
+     *
+     * @param maximumSize             The maximum number of resources held by the cache. Must not be negative; 0 disables caching.
+     * @param expireAfterAccessMillis The time, in milliseconds, after which a resource which has not been loaded is evicted,
+     *                                or 0 to never evict resources based on time. Must not be negative.
+     * @param checkModificationTime   {@literal true} to read {@code file:} resources again when their modification time changes;
+     *                                {@literal false} to assume that no resource ever changes.
+     */
+    public ResourceCache(long maximumSize, long expireAfterAccessMillis, boolean checkModificationTime) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("The maximum size should not be negative.");
+        }
+        if (expireAfterAccessMillis < 0) {
+            throw new IllegalArgumentException("The expiry time should not be negative.");
+        }
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maximumSize);
+        if (expireAfterAccessMillis > 0) {
+            builder.expireAfterAccess(expireAfterAccessMillis, TimeUnit.MILLISECONDS);
+        }
+        resources = builder.build();
+        this.checkModificationTime = checkModificationTime;
+    }
+
+    /**
+     * Evicts the resource at the given location, so that it is read again the next time it is loaded.
+     *
+     * @param location The location of the resource to evict
+     */
+    public void invalidate(String location) {
+        Objects.requireNonNull(location);
+        resources.invalidate(location);
+    }
+
+    /**
+     * Evicts all the resources held by this cache.
+     */
+    public void invalidateAll() {
+        resources.invalidateAll();
+    }
+
+    /**
+     * @return The approximate number of resources held by this cache
+     */
+    public long size() {
+        return resources.size();
+    }
+
+    /**
+     * Returns the content of the given resource, reading it using the given reader unless it is already cached and up to
+     * date. Failures to read the resource are not cached.
+     */
+    String load(String location, Resource resource, Supplier<String> reader) {
+        CachedResource cached = resources.getIfPresent(location);
+        if ((cached != null) && (!cached.isFile() || !checkModificationTime || (cached.getLastModified() == lastModified(resource)))) {
+            return cached.getContent();
+        }
+        boolean file = isFile(resource);
+        long lastModified = (file && checkModificationTime) ? lastModified(resource) : 0;
+        String content = reader.get();
+        resources.put(location, new CachedResource(content, file, lastModified));
+        return content;
+    }
+
+    private static boolean isFile(Resource resource) {
+        try {
+            return ResourceUtils.isFileURL(resource.getURL());
+        } catch (IOException ignored) {
+            return false;
+        }
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException ignored) {
+            // the file may have been deleted: report a time which no cached resource has, so it is read again
+            return -1;
+        }
+    }
+
+    private static final class CachedResource {
+
+        private final String content;
+        private final boolean file;
+        private final long lastModified;
+
+        private CachedResource(String content, boolean file, long lastModified) {
+            this.content = content;
+            this.file = file;
+            this.lastModified = lastModified;
+        }
+
+        private String getContent() {
+            return content;
+        }
+
+        private boolean isFile() {
+            return file;
+        }
+
+        private long getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.Objects;
 
@@ -15,7 +16,9 @@ import java.util.Objects;
  * any other URL respectively.
  * </p>
  * <p>
- * Internally, this implementation uses the Spring {@link DefaultResourceLoader} class to load resources.
+ * Internally, this implementation uses the Spring {@link DefaultResourceLoader} class to load resources. Loaded content is
+ * kept in the {@link ResourceCache#getDefaultCache() default resource cache}, so loading the same resource many times
+ * only reads it once.
  * </p>
  */
 public class ResourceLoader {
@@ -28,15 +31,19 @@ public class ResourceLoader {
         Objects.requireNonNull(source);
         this.source = source;
         resource = new DefaultResourceLoader().getResource(source);
-        validateResource();
-        byte[] resourceData = getResourceData();
-        resourceContent = new String(resourceData, Charset.defaultCharset());
+        resourceContent = ResourceCache.getDefaultCache().load(source, resource, this::readResource);
     }
 
     public String load() {
         return resourceContent;
     }
 
+    private String readResource() {
+        validateResource();
+        byte[] resourceData = getResourceData();
+        return new String(resourceData, Charset.defaultCharset());
+    }
+
     private void validateResource() {
         requireResourceExists();
         requireResourceReadable();
@@ -56,7 +63,9 @@ public class ResourceLoader {
 
     private byte[] getResourceData() {
         try {
-            return ByteStreams.toByteArray(resource.getInputStream());
+            try (InputStream resourceStream = resource.getInputStream()) {
+                return ByteStreams.toByteArray(resourceStream);
+            }
         } catch (IOException exception) {
             throw new IllegalStateException("Cannot read resource data", exception);
         }
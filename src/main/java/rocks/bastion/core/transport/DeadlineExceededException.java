@@ -0,0 +1,14 @@
+package rocks.bastion.core.transport;
+
+import java.io.InterruptedIOException;
+
+/**
+ * Thrown by an {@link HttpTransport} when a request was aborted because it did not complete before its
+ * {@link TransportRequest#getDeadline() deadline}.
+ */
+public class DeadlineExceededException extends InterruptedIOException {
+
+    public DeadlineExceededException(long deadline) {
+        super(String.format("Request did not complete before deadline of [%s] ms", deadline));
+    }
+}
@@ -0,0 +1,62 @@
+package rocks.bastion.core.transport;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Enforces request deadlines for the transports by running an abort action once the deadline of a request expires.
+ * A single daemon thread is shared by all requests; timers are removed from it as soon as they are cancelled.
+ */
+final class DeadlineTimer {
+
+    private static final ScheduledThreadPoolExecutor SCHEDULER;
+
+    static {
+        SCHEDULER = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().setNameFormat("bastion-deadline-%d").setDaemon(true).build());
+        SCHEDULER.setRemoveOnCancelPolicy(true);
+    }
+
+    private final ScheduledFuture<?> scheduledAbort;
+    private final AtomicBoolean expired;
+
+    private DeadlineTimer(long deadline, Runnable abortAction) {
+        expired = new AtomicBoolean(false);
+        if (deadline > 0) {
+            scheduledAbort = SCHEDULER.schedule(() -> {
+                expired.set(true);
+                abortAction.run();
+            }, deadline, TimeUnit.MILLISECONDS);
+        } else {
+            scheduledAbort = null;
+        }
+    }
+
+    /**
+     * Starts a timer which runs the given abort action once the deadline expires. A deadline of {@literal 0} or less
+     * means that the timer never expires.
+     *
+     * @param deadline    The deadline, in milliseconds
+     * @param abortAction The action which aborts the request in progress
+     * @return The started timer
+     */
+    static DeadlineTimer start(long deadline, Runnable abortAction) {
+        return new DeadlineTimer(deadline, abortAction);
+    }
+
+    /**
+     * Stops this timer so that the abort action will not run if it has not already.
+     */
+    void cancel() {
+        if (scheduledAbort != null) {
+            scheduledAbort.cancel(false);
+        }
+    }
+
+    boolean hasExpired() {
+        return expired.get();
+    }
+}
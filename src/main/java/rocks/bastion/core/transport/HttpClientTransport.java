@@ -0,0 +1,349 @@
+package rocks.bastion.core.transport;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLContexts;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+import rocks.bastion.core.ApiHeader;
+import rocks.bastion.core.RawResponse;
+import rocks.bastion.core.Response;
+import rocks.bastion.core.StreamingResponse;
+import rocks.bastion.core.configuration.ConnectionConfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * <p>
+ * The default {@link HttpTransport} used by Bastion. Sends requests using a pooled Apache HTTP client and processes
+ * responses the same way that <a href="http://unirest.io/java.html">Unirest</a>, which Bastion used to send requests
+ * with, does: header names are converted to lower case and gzipped response bodies are decompressed. Requests which do
+ * not set a {@code User-Agent} header are sent with a "Bastion" user agent.
+ * </p>
+ * <p>
+ * The connection pool, keep-alive duration, idle connection eviction and socket options are all taken from the
+ * {@link ConnectionConfiguration} this transport is {@link #configure(ConnectionConfiguration) configured} with. Timeouts
+ * are applied to each request individually, so the pooled client, and the keep-alive connections it holds, are reused
+ * across all requests, even when they are sent concurrently. If the transport is used again after being
+ * {@link #close() closed}, a new pool is created using the connection settings it was last configured with.
+ * </p>
+ */
+public class HttpClientTransport implements HttpTransport {
+
+    private static final String USER_AGENT = createUserAgent();
+
+    private ConnectionConfiguration connectionConfiguration;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private volatile CloseableHttpClient httpClient;
+    private ScheduledExecutorService idleConnectionEvictor;
+
+    @Override
+    public Response execute(TransportRequest request) throws IOException {
+        HttpRequestBase executableHttpRequest = prepareHttpRequest(request);
+        DeadlineTimer deadlineTimer = DeadlineTimer.start(request.getDeadline(), executableHttpRequest::abort);
+        boolean streaming = false;
+        try {
+            HttpResponse httpResponse = getHttpClient().execute(executableHttpRequest);
+            Collection<ApiHeader> headers = convertHeaders(httpResponse);
+            int statusCode = httpResponse.getStatusLine().getStatusCode();
+            String statusText = httpResponse.getStatusLine().getReasonPhrase() == null ? "" : httpResponse.getStatusLine().getReasonPhrase();
+            HttpEntity entity = httpResponse.getEntity();
+            if (request.isResponseStreamed(headers)) {
+                InputStream body = new StreamedBody(openBody(entity), deadlineTimer, request.getDeadline(),
+                        executableHttpRequest::abort, executableHttpRequest::releaseConnection);
+                streaming = true;
+                return new StreamingResponse(statusCode, statusText, headers, body);
+            }
+            InputStream body = openBody(entity);
+            try {
+                Response response = new RawResponse(statusCode, statusText, headers, body,
+                        request.getResponseConfiguration().getMaxBufferSize(), request.getResponseConfiguration().getSpillThreshold());
+                EntityUtils.consume(entity);
+                return response;
+            } catch (IllegalStateException exception) {
+                // the body is larger than the maximum buffer size: drop the connection rather than reading the rest of the body
+                executableHttpRequest.abort();
+                throw exception;
+            } finally {
+                body.close();
+            }
+        } catch (IOException exception) {
+            if (deadlineTimer.hasExpired()) {
+                throw new DeadlineExceededException(request.getDeadline());
+            }
+            throw exception;
+        } finally {
+            if (!streaming) {
+                deadlineTimer.cancel();
+                executableHttpRequest.releaseConnection();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void configure(ConnectionConfiguration connectionConfiguration) {
+        Objects.requireNonNull(connectionConfiguration);
+        close();
+        this.connectionConfiguration = connectionConfiguration;
+        connectionManager = createConnectionManager(connectionConfiguration);
+        httpClient = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(createKeepAliveStrategy(connectionConfiguration.getKeepAliveDuration()))
+                .build();
+        if (connectionConfiguration.getIdleEvictionInterval() > 0) {
+            idleConnectionEvictor = startIdleConnectionEvictor(connectionManager, connectionConfiguration);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (idleConnectionEvictor != null) {
+            idleConnectionEvictor.shutdownNow();
+            idleConnectionEvictor = null;
+        }
+        if (connectionManager != null) {
+            connectionManager.shutdown();
+            connectionManager = null;
+            httpClient = null;
+        }
+    }
+
+    /**
+     * Returns the HTTP client used to send requests. If this transport was not configured yet, it is configured using
+     * the default {@link ConnectionConfiguration connection settings}. If it was closed, it is configured again using the
+     * connection settings it was last configured with.
+     *
+     * @return The HTTP client to use
+     */
+    protected HttpClient getHttpClient() {
+        HttpClient currentHttpClient = httpClient;
+        if (currentHttpClient == null) {
+            synchronized (this) {
+                if (httpClient == null) {
+                    configure((connectionConfiguration == null) ? new ConnectionConfiguration() : connectionConfiguration);
+                }
+                currentHttpClient = httpClient;
+            }
+        }
+        return currentHttpClient;
+    }
+
+    private static String createUserAgent() {
+        String version = HttpClientTransport.class.getPackage().getImplementationVersion();
+        return (version == null) ? "Bastion" : "Bastion/" + version;
+    }
+
+    private static PoolingHttpClientConnectionManager createConnectionManager(ConnectionConfiguration connectionConfiguration) {
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", new BufferedPlainSocketFactory(connectionConfiguration))
+                .register("https", new BufferedSslSocketFactory(connectionConfiguration))
+                .build();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        connectionManager.setMaxTotal(connectionConfiguration.getMaxTotalConnections());
+        connectionManager.setDefaultMaxPerRoute(connectionConfiguration.getMaxConnectionsPerRoute());
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom().setTcpNoDelay(connectionConfiguration.isTcpNoDelay()).build());
+        return connectionManager;
+    }
+
+    private static ConnectionKeepAliveStrategy createKeepAliveStrategy(long keepAliveDuration) {
+        if (keepAliveDuration <= 0) {
+            return DefaultConnectionKeepAliveStrategy.INSTANCE;
+        }
+        return (response, context) -> {
+            long serverKeepAliveDuration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return (serverKeepAliveDuration > 0) ? Math.min(serverKeepAliveDuration, keepAliveDuration) : keepAliveDuration;
+        };
+    }
+
+    private static ScheduledExecutorService startIdleConnectionEvictor(HttpClientConnectionManager connectionManager, ConnectionConfiguration connectionConfiguration) {
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("bastion-connection-evictor-%d").setDaemon(true).build());
+        long interval = connectionConfiguration.getIdleEvictionInterval();
+        long keepAliveDuration = connectionConfiguration.getKeepAliveDuration();
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            if (keepAliveDuration > 0) {
+                connectionManager.closeIdleConnections(keepAliveDuration, TimeUnit.MILLISECONDS);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        return evictor;
+    }
+
+    private static void applySocketBufferSizes(Socket socket, ConnectionConfiguration connectionConfiguration) throws SocketException {
+        // buffer sizes must be applied before connecting, otherwise the TCP window scale cannot take them into account
+        if (connectionConfiguration.getSocketSendBufferSize() > 0) {
+            socket.setSendBufferSize(connectionConfiguration.getSocketSendBufferSize());
+        }
+        if (connectionConfiguration.getSocketReceiveBufferSize() > 0) {
+            socket.setReceiveBufferSize(connectionConfiguration.getSocketReceiveBufferSize());
+        }
+    }
+
+    private HttpRequestBase prepareHttpRequest(TransportRequest request) {
+        HttpRequestBase httpRequest;
+        if (request.getBody().isPresent()) {
+            HttpEntityEnclosingRequestBase requestWithBody = new MethodRequestWithBody(request.getMethod());
+            requestWithBody.setEntity(new ByteArrayEntity(request.getBody().get()));
+            httpRequest = requestWithBody;
+        } else if (request.getStreamedBody().isPresent()) {
+            HttpEntityEnclosingRequestBase requestWithBody = new MethodRequestWithBody(request.getMethod());
+            requestWithBody.setEntity(new StreamedRequestEntity(request.getStreamedBody().get()));
+            httpRequest = requestWithBody;
+        } else {
+            httpRequest = new MethodRequest(request.getMethod());
+        }
+        httpRequest.setURI(normaliseUrl(request.getUrl()));
+        httpRequest.setConfig(RequestConfig.custom()
+                .setConnectTimeout(toIntTimeout(request.getConnectTimeout()))
+                .setConnectionRequestTimeout(toIntTimeout(request.getConnectTimeout()))
+                .setSocketTimeout(toIntTimeout(request.getReadTimeout()))
+                .build());
+        request.getHeaders().forEach(header -> httpRequest.addHeader(header.getName(), header.getValue()));
+        if (!httpRequest.containsHeader("user-agent")) {
+            httpRequest.addHeader("user-agent", USER_AGENT);
+        }
+        if (!httpRequest.containsHeader("accept-encoding")) {
+            httpRequest.addHeader("accept-encoding", "gzip");
+        }
+        return httpRequest;
+    }
+
+    /**
+     * Normalises the given URL the same way that Unirest does, so that URLs containing characters which are not allowed in
+     * a URI (such as spaces in the path) can still be requested.
+     */
+    private static URI normaliseUrl(String resolvedUrl) {
+        try {
+            URL url = new URL(resolvedUrl);
+            String urlToRequest = new URI(url.getProtocol(), url.getUserInfo(), url.getHost(), url.getPort(), URLDecoder.decode(url.getPath(), "UTF-8"), "", url.getRef()).toURL().toString();
+            if ((url.getQuery() != null) && !url.getQuery().trim().isEmpty()) {
+                if (!urlToRequest.endsWith("?")) {
+                    urlToRequest += "?";
+                }
+                urlToRequest += url.getQuery();
+            } else if (urlToRequest.endsWith("?")) {
+                urlToRequest = urlToRequest.substring(0, urlToRequest.length() - 1);
+            }
+            return URI.create(urlToRequest);
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalArgumentException(String.format("The URL [%s] is not valid", resolvedUrl), e);
+        }
+    }
+
+    private static Collection<ApiHeader> convertHeaders(HttpResponse httpResponse) {
+        return Arrays.stream(httpResponse.getAllHeaders())
+                .map(header -> new ApiHeader(header.getName().toLowerCase(Locale.ENGLISH), header.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    private static InputStream openBody(HttpEntity entity) throws IOException {
+        if (entity == null) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        Header contentEncoding = entity.getContentEncoding();
+        if ((contentEncoding != null) && contentEncoding.getValue().toLowerCase(Locale.ENGLISH).contains("gzip")) {
+            return new GZIPInputStream(entity.getContent());
+        }
+        return entity.getContent();
+    }
+
+    private static int toIntTimeout(long timeout) {
+        return (int) Math.min(timeout, Integer.MAX_VALUE);
+    }
+
+    private static final class MethodRequest extends HttpRequestBase {
+
+        private final String method;
+
+        private MethodRequest(String method) {
+            this.method = method;
+        }
+
+        @Override
+        public String getMethod() {
+            return method;
+        }
+    }
+
+    private static final class MethodRequestWithBody extends HttpEntityEnclosingRequestBase {
+
+        private final String method;
+
+        private MethodRequestWithBody(String method) {
+            this.method = method;
+        }
+
+        @Override
+        public String getMethod() {
+            return method;
+        }
+    }
+
+    private static final class BufferedPlainSocketFactory extends PlainConnectionSocketFactory {
+
+        private final ConnectionConfiguration connectionConfiguration;
+
+        private BufferedPlainSocketFactory(ConnectionConfiguration connectionConfiguration) {
+            this.connectionConfiguration = connectionConfiguration;
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) throws IOException {
+            Socket socket = super.createSocket(context);
+            applySocketBufferSizes(socket, connectionConfiguration);
+            return socket;
+        }
+    }
+
+    private static final class BufferedSslSocketFactory extends SSLConnectionSocketFactory {
+
+        private final ConnectionConfiguration connectionConfiguration;
+
+        private BufferedSslSocketFactory(ConnectionConfiguration connectionConfiguration) {
+            super(SSLContexts.createDefault(), BROWSER_COMPATIBLE_HOSTNAME_VERIFIER);
+            this.connectionConfiguration = connectionConfiguration;
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) throws IOException {
+            Socket socket = super.createSocket(context);
+            applySocketBufferSizes(socket, connectionConfiguration);
+            return socket;
+        }
+    }
+}
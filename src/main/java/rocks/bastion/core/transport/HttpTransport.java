@@ -0,0 +1,57 @@
+package rocks.bastion.core.transport;
+
+import rocks.bastion.core.Response;
+import rocks.bastion.core.configuration.ConnectionConfiguration;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * <p>
+ * Sends a fully resolved {@link TransportRequest} over the wire and returns the response received from the remote server.
+ * The {@link rocks.bastion.core.RequestExecutor} takes care of resolving the URL, headers and body of a Bastion
+ * {@link rocks.bastion.core.HttpRequest} before handing it to the transport, so implementations need only be concerned
+ * with the HTTP exchange itself. Requests with a {@link TransportRequest#getStreamedBody() streamed body} must be written to
+ * the connection as the body is read, so that large bodies are never held in memory.
+ * </p>
+ * <p>
+ * The transport used by Bastion is selected through the {@link rocks.bastion.core.configuration.Configuration#setTransportType(Class)
+ * configuration}. A single transport instance is shared by all the requests that use the same configuration, so
+ * implementations must be thread-safe and must provide a public no-argument constructor. Once instantiated, the
+ * transport is {@link #configure(ConnectionConfiguration) configured} with the connection settings of the configuration
+ * before it is used to send any requests, and it is {@link #close() closed} once the configuration stops using it and the
+ * requests which were already using it have completed.
+ * </p>
+ */
+public interface HttpTransport extends Closeable {
+
+    /**
+     * Applies the given connection settings to this transport. This method is called once, before the transport sends
+     * any requests. Transports should honour as many of the settings as the underlying HTTP client allows. The default
+     * implementation ignores all settings.
+     *
+     * @param connectionConfiguration The non-{@literal null} connection settings to apply
+     */
+    default void configure(ConnectionConfiguration connectionConfiguration) {
+    }
+
+    /**
+     * Performs the given HTTP request and returns the response sent by the remote server. Implementations should
+     * throw a {@link java.net.SocketTimeoutException} if the request does not complete within the timeout specified
+     * on the request. If {@link TransportRequest#isResponseStreamed(java.util.Collection)} is {@literal true} for the
+     * response received, implementations should return a {@link rocks.bastion.core.StreamingResponse} which keeps the
+     * connection open until it is closed.
+     *
+     * @param request The non-{@literal null} request to send
+     * @return The HTTP response retrieved from the remote server
+     * @throws IOException If the request could not be sent or the response could not be read
+     */
+    Response execute(TransportRequest request) throws IOException;
+
+    /**
+     * Releases any connections and threads held by this transport. The default implementation does nothing.
+     */
+    @Override
+    default void close() {
+    }
+}
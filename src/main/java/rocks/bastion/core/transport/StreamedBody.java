@@ -0,0 +1,86 @@
+package rocks.bastion.core.transport;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The body stream of a {@link rocks.bastion.core.StreamingResponse}, which keeps the connection of the response open until
+ * the stream is closed. The request deadline keeps running while the body is being read and read failures caused by the
+ * deadline expiring are reported as a {@link DeadlineExceededException}. Closing the stream before the whole body has been
+ * read aborts the connection, so that the remainder of a large body is not downloaded only to be discarded.
+ */
+final class StreamedBody extends FilterInputStream {
+
+    private final DeadlineTimer deadlineTimer;
+    private final long deadline;
+    private final Runnable abortAction;
+    private final Runnable releaseAction;
+    private boolean endOfStream;
+    private boolean closed;
+
+    StreamedBody(InputStream body, DeadlineTimer deadlineTimer, long deadline, Runnable abortAction, Runnable releaseAction) {
+        super(body);
+        this.deadlineTimer = deadlineTimer;
+        this.deadline = deadline;
+        this.abortAction = abortAction;
+        this.releaseAction = releaseAction;
+    }
+
+    @Override
+    public int read() throws IOException {
+        try {
+            int value = super.read();
+            endOfStream = (value == -1);
+            return value;
+        } catch (IOException exception) {
+            throw translate(exception);
+        }
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        try {
+            int count = super.read(buffer, offset, length);
+            endOfStream = (count == -1);
+            return count;
+        } catch (IOException exception) {
+            throw translate(exception);
+        }
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        try {
+            return super.skip(count);
+        } catch (IOException exception) {
+            throw translate(exception);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        deadlineTimer.cancel();
+        try {
+            if (!endOfStream) {
+                abortAction.run();
+            }
+            super.close();
+        } catch (IOException exception) {
+            if (endOfStream) {
+                throw exception;
+            }
+            // the connection was aborted on purpose, so failures while closing it are expected
+        } finally {
+            releaseAction.run();
+        }
+    }
+
+    private IOException translate(IOException exception) {
+        return deadlineTimer.hasExpired() ? new DeadlineExceededException(deadline) : exception;
+    }
+}
@@ -0,0 +1,50 @@
+package rocks.bastion.core.transport;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import rocks.bastion.core.StreamedRequestBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * An HTTP client entity which streams a {@link StreamedRequestBody} to the connection as the request is sent. The body is
+ * opened afresh whenever the entity is written, so the entity can be repeated. The length of the body is taken once, when
+ * the entity is created, and exactly that many bytes are written.
+ */
+final class StreamedRequestEntity extends AbstractHttpEntity {
+
+    private final StreamedRequestBody body;
+    private final long length;
+
+    StreamedRequestEntity(StreamedRequestBody body) {
+        this.body = body;
+        length = body.length();
+        setChunked(length < 0);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return body.open();
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        body.writeTo(outputStream, length);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
@@ -0,0 +1,159 @@
+package rocks.bastion.core.transport;
+
+import org.apache.http.entity.ContentType;
+import rocks.bastion.core.ApiHeader;
+import rocks.bastion.core.StreamedRequestBody;
+import rocks.bastion.core.configuration.ResponseConfiguration;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An HTTP request which is ready to be sent by an {@link HttpTransport}. The URL has all its query and route parameters
+ * already applied, the headers include any global headers and the body has either already been encoded into bytes or, for
+ * a {@link StreamedRequestBody streamed body}, is read while it is being sent.
+ */
+public class TransportRequest {
+
+    private final String method;
+    private final String url;
+    private final Collection<ApiHeader> headers;
+    private final byte[] body;
+    private final StreamedRequestBody streamedBody;
+    private final long connectTimeout;
+    private final long readTimeout;
+    private final long deadline;
+    private final boolean streamResponse;
+    private final ResponseConfiguration responseConfiguration;
+
+    public TransportRequest(String method, String url, Collection<ApiHeader> headers, byte[] body, long connectTimeout, long readTimeout, long deadline) {
+        this(method, url, headers, body, connectTimeout, readTimeout, deadline, false, new ResponseConfiguration());
+    }
+
+    public TransportRequest(String method, String url, Collection<ApiHeader> headers, byte[] body, long connectTimeout, long readTimeout, long deadline,
+                            boolean streamResponse, ResponseConfiguration responseConfiguration) {
+        this(method, url, headers, body, null, connectTimeout, readTimeout, deadline, streamResponse, responseConfiguration);
+    }
+
+    public TransportRequest(String method, String url, Collection<ApiHeader> headers, byte[] body, StreamedRequestBody streamedBody, long connectTimeout,
+                            long readTimeout, long deadline, boolean streamResponse, ResponseConfiguration responseConfiguration) {
+        Objects.requireNonNull(method);
+        Objects.requireNonNull(url);
+        Objects.requireNonNull(headers);
+        Objects.requireNonNull(responseConfiguration);
+        this.method = method;
+        this.url = url;
+        this.headers = Collections.unmodifiableCollection(headers);
+        if ((body != null) && (streamedBody != null)) {
+            throw new IllegalArgumentException("A request cannot have both an encoded and a streamed body.");
+        }
+        this.body = body;
+        this.streamedBody = streamedBody;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.deadline = deadline;
+        this.streamResponse = streamResponse;
+        this.responseConfiguration = responseConfiguration;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Collection<ApiHeader> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Returns the encoded body to send with this request. Transports should not send a body if this method returns an
+     * {@link Optional#empty() empty Optional}.
+     *
+     * @return The request body, if there is one
+     */
+    public Optional<byte[]> getBody() {
+        return Optional.ofNullable(body);
+    }
+
+    /**
+     * Returns the body to stream to the remote server while this request is sent, instead of an {@link #getBody() encoded
+     * body}. Transports should open the body every time the request is sent and close it once it has been written.
+     *
+     * @return The streamed request body, if there is one
+     */
+    public Optional<StreamedRequestBody> getStreamedBody() {
+        return Optional.ofNullable(streamedBody);
+    }
+
+    /**
+     * The timeout (in milliseconds) for establishing the connection. A value of {@literal 0} means no timeout.
+     *
+     * @return The connect timeout for this request
+     */
+    public long getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * The timeout (in milliseconds) to wait for response data once connected. A value of {@literal 0} means no timeout.
+     *
+     * @return The read timeout for this request
+     */
+    public long getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * The deadline (in milliseconds) for the whole exchange, including connecting, sending the request and reading the
+     * entire response. A value of {@literal 0} means no deadline.
+     *
+     * @return The deadline for this request
+     */
+    public long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Whether the response to this request should be streamed regardless of its content-type.
+     *
+     * @return {@literal true} if the request asked for its response to be streamed
+     */
+    public boolean isStreamResponse() {
+        return streamResponse;
+    }
+
+    /**
+     * The settings which control how the body of the response to this request is read.
+     *
+     * @return The response settings for this request
+     */
+    public ResponseConfiguration getResponseConfiguration() {
+        return responseConfiguration;
+    }
+
+    /**
+     * Decides whether the body of the response to this request should be streamed, based on the
+     * {@link #isStreamResponse() request} and on the content-type of the response received. Transports should return a
+     * {@link rocks.bastion.core.StreamingResponse} if this method returns {@literal true} and should otherwise read
+     * the body into memory, up to the {@link ResponseConfiguration#getMaxBufferSize() maximum buffer size}.
+     *
+     * @param responseHeaders The headers of the response received for this request
+     * @return {@literal true} if the response body should be streamed; {@literal false}, otherwise
+     */
+    public boolean isResponseStreamed(Collection<ApiHeader> responseHeaders) {
+        if (streamResponse) {
+            return true;
+        }
+        return responseHeaders.stream()
+                .filter(header -> header.getName().equalsIgnoreCase("content-type"))
+                .findFirst()
+                .map(header -> ContentType.parse(header.getValue()).getMimeType())
+                .map(responseConfiguration::isStreamingContentType)
+                .orElse(false);
+    }
+}
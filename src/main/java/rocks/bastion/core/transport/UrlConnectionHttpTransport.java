@@ -0,0 +1,149 @@
+package rocks.bastion.core.transport;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import rocks.bastion.core.ApiHeader;
+import rocks.bastion.core.RawResponse;
+import rocks.bastion.core.Response;
+import rocks.bastion.core.StreamedRequestBody;
+import rocks.bastion.core.StreamingResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * An {@link HttpTransport} which sends requests using the JDK's built-in {@link HttpURLConnection}, without relying on
+ * any third-party HTTP client. Connections are kept alive and reused by the JDK as long as response bodies are read
+ * to completion, which this transport does for every response which is not streamed.
+ * </p>
+ * <p>
+ * Response header names are converted to lower case so that responses look the same as the ones produced by the
+ * {@link HttpClientTransport}. Request deadlines are enforced by disconnecting the underlying connection once the
+ * deadline expires. Note that {@link HttpURLConnection} does not support the {@code PATCH} method.
+ * </p>
+ * <p>
+ * The JDK manages the connections of {@link HttpURLConnection} globally, so this transport ignores the
+ * {@link rocks.bastion.core.configuration.ConnectionConfiguration connection settings} in the Bastion configuration.
+ * Keep-alive behaviour can instead be tuned using the JDK's {@code http.keepAlive} and {@code http.maxConnections}
+ * system properties.
+ * </p>
+ */
+public class UrlConnectionHttpTransport implements HttpTransport {
+
+    private static final List<String> SUPPORTED_METHODS = Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD");
+
+    @Override
+    public Response execute(TransportRequest request) throws IOException {
+        if (!SUPPORTED_METHODS.contains(request.getMethod())) {
+            throw new UnsupportedOperationException(String.format("We cannot perform a request of type %s.", request.getMethod()));
+        }
+        HttpURLConnection connection = (HttpURLConnection) new URL(request.getUrl()).openConnection();
+        connection.setRequestMethod(request.getMethod());
+        connection.setUseCaches(false);
+        connection.setConnectTimeout(toIntTimeout(request.getConnectTimeout()));
+        connection.setReadTimeout(toIntTimeout(request.getReadTimeout()));
+        request.getHeaders().forEach(header -> connection.addRequestProperty(header.getName(), header.getValue()));
+        DeadlineTimer deadlineTimer = DeadlineTimer.start(request.getDeadline(), connection::disconnect);
+        boolean streaming = false;
+        long streamedBodyLength = -1;
+        try {
+            if (request.getBody().isPresent()) {
+                connection.setDoOutput(true);
+                connection.setFixedLengthStreamingMode(request.getBody().get().length);
+            } else if (request.getStreamedBody().isPresent()) {
+                connection.setDoOutput(true);
+                streamedBodyLength = request.getStreamedBody().get().length();
+                if (streamedBodyLength >= 0) {
+                    connection.setFixedLengthStreamingMode(streamedBodyLength);
+                } else {
+                    connection.setChunkedStreamingMode(0);
+                }
+            }
+            connect(connection);
+            if (request.getBody().isPresent()) {
+                writeBody(connection, request.getBody().get());
+            } else if (request.getStreamedBody().isPresent()) {
+                writeStreamedBody(connection, request.getStreamedBody().get(), streamedBodyLength);
+            }
+            int statusCode = connection.getResponseCode();
+            String statusText = connection.getResponseMessage() == null ? "" : connection.getResponseMessage();
+            Collection<ApiHeader> headers = convertHeaders(connection.getHeaderFields());
+            if (request.isResponseStreamed(headers)) {
+                InputStream body = new StreamedBody(openBody(connection), deadlineTimer, request.getDeadline(), connection::disconnect, () -> {
+                });
+                streaming = true;
+                return new StreamingResponse(statusCode, statusText, headers, body);
+            }
+            InputStream body = openBody(connection);
+            try {
+                return new RawResponse(statusCode, statusText, headers, body,
+                        request.getResponseConfiguration().getMaxBufferSize(), request.getResponseConfiguration().getSpillThreshold());
+            } catch (IllegalStateException exception) {
+                // the body is larger than the maximum buffer size: drop the connection rather than reading the rest of the body
+                connection.disconnect();
+                throw exception;
+            } finally {
+                body.close();
+            }
+        } catch (IOException exception) {
+            if (deadlineTimer.hasExpired()) {
+                throw new DeadlineExceededException(request.getDeadline());
+            }
+            throw exception;
+        } finally {
+            if (!streaming) {
+                deadlineTimer.cancel();
+            }
+        }
+    }
+
+    private static void connect(HttpURLConnection connection) throws IOException {
+        try {
+            connection.connect();
+        } catch (SocketTimeoutException exception) {
+            // report connection timeouts the same way as the Apache HTTP client so that they can be told apart from read timeouts
+            ConnectTimeoutException connectTimeoutException = new ConnectTimeoutException(exception.getMessage());
+            connectTimeoutException.initCause(exception);
+            throw connectTimeoutException;
+        }
+    }
+
+    private static void writeBody(HttpURLConnection connection, byte[] body) throws IOException {
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static void writeStreamedBody(HttpURLConnection connection, StreamedRequestBody body, long length) throws IOException {
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            body.writeTo(outputStream, length);
+        }
+    }
+
+    private static InputStream openBody(HttpURLConnection connection) throws IOException {
+        InputStream body = connection.getResponseCode() >= HttpURLConnection.HTTP_BAD_REQUEST ? connection.getErrorStream() : connection.getInputStream();
+        return body == null ? new ByteArrayInputStream(new byte[0]) : body;
+    }
+
+    private static Collection<ApiHeader> convertHeaders(Map<String, List<String>> headerFields) {
+        // the status line is reported as a header with a null name
+        return headerFields.entrySet().stream().filter(header -> header.getKey() != null).flatMap(header ->
+                header.getValue().stream().map(headerValue ->
+                        new ApiHeader(header.getKey().toLowerCase(Locale.ENGLISH), headerValue))).collect(Collectors.toList());
+    }
+
+    private static int toIntTimeout(long timeout) {
+        return (int) Math.min(timeout, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,69 @@
+package rocks.bastion.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import rocks.bastion.Bastion;
+import rocks.bastion.core.builder.PostExecutionBuilder;
+import rocks.bastion.core.json.JsonResponseAssertions;
+import rocks.bastion.support.embedded.Sushi;
+import rocks.bastion.support.embedded.TestWithEmbeddedServer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AsyncCallTest extends TestWithEmbeddedServer {
+
+    @Before
+    public void before() {
+        BastionFactory.setDefaultBastionFactory(new DefaultBastionFactory());
+    }
+
+    @Test
+    public void callAsync_independentRequests_allComplete() {
+        CompletableFuture<? extends PostExecutionBuilder<? extends Sushi>> first = Bastion.request("First Nigiri", GeneralRequest.get("http://localhost:9876/nigiri"))
+                .bind(Sushi.class)
+                .withAssertions(StatusCodeAssertions.expecting(new int[]{200}))
+                .callAsync();
+        CompletableFuture<? extends PostExecutionBuilder<? extends Sushi>> second = Bastion.request("Second Nigiri", GeneralRequest.get("http://localhost:9876/nigiri"))
+                .bind(Sushi.class)
+                .withAssertions(StatusCodeAssertions.expecting(new int[]{200}))
+                .callAsync();
+
+        assertThat(first.join().getModel().getName()).isEqualTo("Salmon Nigiri");
+        assertThat(second.join().getModel().getName()).isEqualTo("Salmon Nigiri");
+    }
+
+    @Test
+    public void callAsync_withExecutor_completesOnExecutor() {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "bastion-test-executor"));
+        try {
+            AtomicReference<String> callbackThread = new AtomicReference<>();
+            PostExecutionBuilder<?> result = Bastion.request("Nigiri", GeneralRequest.get("http://localhost:9876/nigiri"))
+                    .withAssertions(JsonResponseAssertions.fromString(200, "{ \"id\":5, \"name\":\"Salmon Nigiri\", \"price\":23.55 }"))
+                    .thenDo((statusCode, response, model) -> callbackThread.set(Thread.currentThread().getName()))
+                    .callAsync(executor)
+                    .join();
+            assertThat(result.getResponse().getStatusCode()).isEqualTo(200);
+            assertThat(callbackThread.get()).isEqualTo("bastion-test-executor");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void callAsync_failedAssertions_futureCompletesExceptionally() {
+        CompletableFuture<?> future = Bastion.request("Nigiri", GeneralRequest.get("http://localhost:9876/nigiri"))
+                .withAssertions(StatusCodeAssertions.expecting(new int[]{404}))
+                .callAsync();
+
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(AssertionError.class);
+    }
+}
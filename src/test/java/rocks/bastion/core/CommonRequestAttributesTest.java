@@ -93,4 +93,23 @@ public class CommonRequestAttributesTest {
         assertThat(commonRequestAttributes.timeout()).describedAs("Timeout").isEqualTo(1000L);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void setTimeout_phaseTimeoutsFallBackToTimeout() throws Exception {
+        commonRequestAttributes.setTimeout(2000);
+        assertThat(commonRequestAttributes.connectTimeout()).describedAs("Connect Timeout").isEqualTo(2000);
+        assertThat(commonRequestAttributes.readTimeout()).describedAs("Read Timeout").isEqualTo(2000);
+        assertThat(commonRequestAttributes.deadline()).describedAs("Deadline").isEqualTo(0);
+    }
+
+    @Test
+    public void setPhaseTimeouts() throws Exception {
+        commonRequestAttributes.setTimeout(2000);
+        commonRequestAttributes.setConnectTimeout(500);
+        commonRequestAttributes.setReadTimeout(0);
+        commonRequestAttributes.setDeadline(5000);
+        assertThat(commonRequestAttributes.connectTimeout()).describedAs("Connect Timeout").isEqualTo(500);
+        assertThat(commonRequestAttributes.readTimeout()).describedAs("Read Timeout").isEqualTo(0);
+        assertThat(commonRequestAttributes.deadline()).describedAs("Deadline").isEqualTo(5000);
+    }
+}
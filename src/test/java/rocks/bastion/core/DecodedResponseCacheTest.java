@@ -0,0 +1,110 @@
+package rocks.bastion.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.http.entity.ContentType;
+import org.junit.Before;
+import org.junit.Test;
+import rocks.bastion.core.json.JsonResponseAssertions;
+import rocks.bastion.core.json.JsonSchemaAssertions;
+import rocks.bastion.core.model.DecodingHints;
+import rocks.bastion.core.model.JsonResponseDecoder;
+import rocks.bastion.core.model.StringResponseDecoder;
+import rocks.bastion.core.printer.ResponsePrinter;
+import rocks.bastion.support.embedded.Sushi;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DecodedResponseCacheTest {
+
+    private static final String SUSHI_JSON = "{\"id\":5,\"name\":\"Salmon Nigiri\",\"price\":23.55}";
+
+    private CountingResponse response;
+
+    @Before
+    public void before() {
+        response = new CountingResponse(new RawResponse(200, "OK", Collections.singletonList(new ApiHeader("Content-Type", "application/json")),
+                new ByteArrayInputStream(SUSHI_JSON.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void jsonDecoderAndAssertions_bodyParsedOnce() {
+        JsonResponseDecoder decoder = new JsonResponseDecoder();
+        Object tree = decoder.decode(response, new DecodingHints(null)).orElse(null);
+        Object firstModel = decoder.decode(response, new DecodingHints(Sushi.class)).orElse(null);
+        Object secondModel = decoder.decode(response, new DecodingHints(Sushi.class)).orElse(null);
+        ModelResponse<Object> modelResponse = new ModelResponse<>(response, firstModel);
+        JsonResponseAssertions.fromString(200, SUSHI_JSON).execute(200, modelResponse, firstModel);
+        JsonSchemaAssertions.fromString("{\"type\":\"object\",\"required\":[\"id\"]}").execute(200, modelResponse, firstModel);
+
+        assertThat(tree).isInstanceOf(JsonNode.class);
+        assertThat(firstModel).isInstanceOf(Sushi.class).isSameAs(secondModel);
+        assertThat(response.bodyReads).isEqualTo(1);
+    }
+
+    @Test
+    public void stringDecoderAndPrinter_textDecodedOncePerCharset() {
+        Object first = new StringResponseDecoder().decode(response, new DecodingHints(null)).orElse(null);
+        Object second = new StringResponseDecoder().decode(response, new DecodingHints(null)).orElse(null);
+
+        assertThat(first).isEqualTo(SUSHI_JSON).isSameAs(second);
+        assertThat(response.bodyReads).isEqualTo(1);
+        assertThat(new ResponsePrinter(response).getAsString()).endsWith(SUSHI_JSON);
+    }
+
+    @Test
+    public void failingLoader_notCached() throws Exception {
+        DecodedResponseCache cache = new DecodedResponseCache();
+
+        assertThat(cache.getModel(String.class, () -> null)).isNull();
+        assertThat(cache.getModel(String.class, () -> "decoded")).isEqualTo("decoded");
+        assertThat(cache.getModel(String.class, () -> "decoded again")).isEqualTo("decoded");
+    }
+
+    private static final class CountingResponse implements Response {
+
+        private final Response response;
+        private int bodyReads;
+
+        private CountingResponse(Response response) {
+            this.response = response;
+        }
+
+        @Override
+        public Optional<ContentType> getContentType() {
+            return response.getContentType();
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() {
+            return response.getStatusText();
+        }
+
+        @Override
+        public Collection<ApiHeader> getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() {
+            bodyReads++;
+            return response.getBody();
+        }
+
+        @Override
+        public DecodedResponseCache getDecodedCache() {
+            return response.getDecodedCache();
+        }
+    }
+}
@@ -2,9 +2,20 @@ package rocks.bastion.core;
 
 import com.google.common.collect.Lists;
 import org.apache.http.entity.ContentType;
+import org.apache.http.client.utils.URLEncodedUtils;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -46,6 +57,103 @@ public class FormUrlEncodedRequestTest {
         assertFormUrlEncodedRequestAttributes(request, "POST http://test.test", HttpMethod.POST, "name=John&surname=Doe");
     }
 
+    @Test
+    public void body_parametersAddedAfterEncoding_encodedIncrementally() throws Exception {
+        FormUrlEncodedRequest request = FormUrlEncodedRequest.post("http://test.test");
+        request.addDataParameter("name", "John Smith");
+        assertThat(request.body()).isEqualTo("name=John+Smith");
+        request.addDataParameter("surname", "D&e");
+        assertThat(request.body()).isEqualTo("name=John+Smith&surname=D%26e");
+    }
+
+    @Test
+    public void body_sentFromTwoThreads_sameBodyForBoth() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 50; round++) {
+                FormUrlEncodedRequest request = FormUrlEncodedRequest.post("http://test.test");
+                List<ApiDataParameter> parameters = new ArrayList<>();
+                for (int index = 0; index < 500; index++) {
+                    parameters.add(new ApiDataParameter("name" + index, "Salmon " + index));
+                }
+                request.addDataParameters(parameters);
+                String expected = URLEncodedUtils.format(BastionUtils.propertiesToNameValuePairs(parameters), StandardCharsets.UTF_8);
+                CountDownLatch start = new CountDownLatch(1);
+                Callable<Object> send = () -> {
+                    start.await();
+                    return request.body();
+                };
+
+                Future<Object> first = executor.submit(send);
+                Future<Object> second = executor.submit(send);
+                start.countDown();
+
+                assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(expected);
+                assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void body_parametersAddedWhileEncoding_allParametersEncoded() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            FormUrlEncodedRequest request = FormUrlEncodedRequest.post("http://test.test");
+            List<ApiDataParameter> parameters = new ArrayList<>();
+            for (int index = 0; index < 20000; index++) {
+                parameters.add(new ApiDataParameter("name" + index, "Salmon " + index));
+            }
+            Future<?> adding = executor.submit(() -> {
+                for (int index = 0; index < parameters.size(); index += 100) {
+                    request.addDataParameters(parameters.subList(index, index + 100));
+                }
+            });
+            while (!adding.isDone()) {
+                request.body();
+            }
+            adding.get(10, TimeUnit.SECONDS);
+
+            String expected = URLEncodedUtils.format(BastionUtils.propertiesToNameValuePairs(parameters), StandardCharsets.UTF_8);
+            assertThat(request.body()).isEqualTo(expected);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void body_charsetOverridden_parametersEncodedAgain() throws Exception {
+        FormUrlEncodedRequest request = FormUrlEncodedRequest.post("http://test.test");
+        request.addDataParameter("name", "Jos\u00e9");
+        assertThat(request.body()).isEqualTo("name=Jos%E9");
+        request.overrideContentType(ContentType.create("application/x-www-form-urlencoded", StandardCharsets.UTF_8));
+        assertThat(request.body()).isEqualTo("name=Jos%C3%A9");
+    }
+
+    @Test
+    public void body_streamed_sameAsEncodedString() throws Exception {
+        List<ApiDataParameter> parameters = new ArrayList<>();
+        for (int index = 0; index < 20_000; index++) {
+            parameters.add(new ApiDataParameter("field[" + index + "]", "value " + index + " !\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~"));
+        }
+        StringBuilder largeValue = new StringBuilder();
+        for (int index = 0; index < 5_000; index++) {
+            largeValue.append("caf\u00e9 \ud83c\udf63 ");
+        }
+        parameters.add(new ApiDataParameter("large", largeValue.toString()));
+        FormUrlEncodedRequest request = FormUrlEncodedRequest.post("http://test.test")
+                .overrideContentType(ContentType.create("application/x-www-form-urlencoded", StandardCharsets.UTF_8))
+                .setStreamBody(true);
+        request.addDataParameters(parameters);
+
+        assertThat(request.body()).isInstanceOf(StreamedRequestBody.class);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ((StreamedRequestBody) request.body()).writeTo(body);
+        assertThat(new String(body.toByteArray(), StandardCharsets.US_ASCII))
+                .isEqualTo(URLEncodedUtils.format(BastionUtils.propertiesToNameValuePairs(parameters), StandardCharsets.UTF_8));
+    }
+
     @Test
     public void overrideContentType() throws Exception {
         FormUrlEncodedRequest request = FormUrlEncodedRequest.withMethod(HttpMethod.POST, "http://test.test");
@@ -0,0 +1,124 @@
+package rocks.bastion.core;
+
+import com.google.common.io.ByteStreams;
+import org.junit.Before;
+import org.junit.Test;
+import rocks.bastion.Bastion;
+import rocks.bastion.core.builder.PostExecutionBuilder;
+import rocks.bastion.core.model.DecodingHints;
+import rocks.bastion.core.model.ResponseDecoder;
+import rocks.bastion.core.model.ResponseDecodersRegistrar;
+import rocks.bastion.support.embedded.Sushi;
+import rocks.bastion.support.embedded.TestWithEmbeddedServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ModelResponseTest extends TestWithEmbeddedServer {
+
+    private static final GeneralRequest NIGIRI_REQUEST = GeneralRequest.get("http://localhost:9876/nigiri");
+
+    private CountingDecoder decoder;
+
+    @Before
+    public void before() {
+        decoder = new CountingDecoder();
+        BastionFactory.setDefaultBastionFactory(new DefaultBastionFactory() {
+            @Override
+            protected void registerModelConverters(ResponseDecodersRegistrar bastion) {
+                bastion.registerModelConverter(decoder);
+            }
+        });
+    }
+
+    @Test
+    public void getModel_lazyModel_decodedOnceOnFirstAccess() {
+        ModelResponse<String> response = ModelResponse.lazy(new RawResponse(200, "OK", Collections.emptyList(), new ByteArrayInputStream(new byte[0])), decoder::decode);
+
+        assertThat(decoder.decodeCount).isEqualTo(0);
+        assertThat(response.getModel()).isEqualTo("decoded");
+        assertThat(response.getModel()).isEqualTo("decoded");
+        assertThat(decoder.decodeCount).isEqualTo(1);
+    }
+
+    @Test
+    public void call_assertionsNotRequiringModel_modelNotDecoded() {
+        PostExecutionBuilder<?> result = Bastion.request("Nigiri", NIGIRI_REQUEST)
+                .withAssertions(StatusCodeAssertions.expecting(new int[]{200}))
+                .call();
+
+        assertThat(decoder.decodeCount).isEqualTo(0);
+        assertThat(result.getModel()).isEqualTo("decoded");
+        assertThat(result.getModel()).isEqualTo("decoded");
+        assertThat(decoder.decodeCount).isEqualTo(1);
+    }
+
+    @Test
+    public void call_assertionsUsingModel_modelDecodedOnce() {
+        PostExecutionBuilder<?> result = Bastion.request("Nigiri", NIGIRI_REQUEST)
+                .withAssertions((statusCode, response, model) -> assertThat(model).isEqualTo("decoded"))
+                .thenDo((statusCode, response, model) -> assertThat(model).isEqualTo("decoded"))
+                .call();
+
+        assertThat(result.getModel()).isEqualTo("decoded");
+        assertThat(decoder.decodeCount).isEqualTo(1);
+    }
+
+    @Test
+    public void call_streamedBodyReadByAssertions_modelDecodedBeforeResponseClosed() {
+        PostExecutionBuilder<?> result = Bastion.request("Nigiri", GeneralRequest.get("http://localhost:9876/nigiri").setStreamResponse(true))
+                .withAssertions(new Assertions<Object>() {
+                    @Override
+                    public void execute(int statusCode, ModelResponse<?> response, Object model) {
+                        assertThat(readFully(response)).isNotEmpty();
+                    }
+
+                    @Override
+                    public boolean requiresModel() {
+                        return false;
+                    }
+                })
+                .call();
+
+        assertThat(decoder.decodeCount).isEqualTo(1);
+        assertThat(result.getModel()).isEqualTo("decoded");
+        assertThat(decoder.decodeCount).isEqualTo(1);
+    }
+
+    @Test
+    public void call_boundModelTypeMismatch_failsWithoutModelAccess() {
+        assertThatThrownBy(() -> Bastion.request("Nigiri", NIGIRI_REQUEST)
+                .bind(Sushi.class)
+                .withAssertions(StatusCodeAssertions.expecting(new int[]{200}))
+                .call()).isInstanceOf(AssertionError.class).hasMessageContaining(Sushi.class.getName());
+    }
+
+    private static byte[] readFully(Response response) {
+        try {
+            return ByteStreams.toByteArray(response.getBody());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class CountingDecoder implements ResponseDecoder {
+
+        private int decodeCount;
+
+        @Override
+        public Optional<?> decode(Response response, DecodingHints hints) {
+            return Optional.of(decode());
+        }
+
+        private String decode() {
+            decodeCount++;
+            return "decoded";
+        }
+    }
+}
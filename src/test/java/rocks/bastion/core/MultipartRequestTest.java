@@ -0,0 +1,163 @@
+package rocks.bastion.core;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CharStreams;
+import org.apache.http.entity.ContentType;
+import org.junit.Test;
+import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.transport.UrlConnectionHttpTransport;
+import rocks.bastion.support.embedded.TestWithEmbeddedServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MultipartRequestTest extends TestWithEmbeddedServer {
+
+    @Test
+    public void body_fieldsAndFile_writesMultipartBody() throws Exception {
+        Path file = Files.createTempFile("bastion-photo", ".jpg");
+        try {
+            Files.write(file, "salmon photo".getBytes(StandardCharsets.UTF_8));
+            MultipartRequest request = MultipartRequest.post("http://test.test")
+                    .addField("name", "Salmon \"Nigiri\"")
+                    .addFile("photo", file, ContentType.create("image/jpeg"));
+            String boundary = request.getBoundary();
+
+            StreamedRequestBody body = (StreamedRequestBody) request.body();
+            byte[] written = write(body);
+
+            assertThat(request.contentType().get().toString()).isEqualTo("multipart/form-data; boundary=" + boundary);
+            assertThat(new String(written, StandardCharsets.UTF_8)).isEqualTo("--" + boundary + "\r\n" +
+                    "Content-Disposition: form-data; name=\"name\"\r\n" +
+                    "\r\n" +
+                    "Salmon \"Nigiri\"\r\n" +
+                    "--" + boundary + "\r\n" +
+                    "Content-Disposition: form-data; name=\"photo\"; filename=\"" + file.getFileName() + "\"\r\n" +
+                    "Content-Type: image/jpeg\r\n" +
+                    "\r\n" +
+                    "salmon photo\r\n" +
+                    "--" + boundary + "--\r\n");
+            assertThat(body.length()).isEqualTo(written.length);
+            try (InputStream opened = body.open()) {
+                assertThat(ByteStreams.toByteArray(opened)).isEqualTo(written);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void body_partOfUnknownLength_lengthNotKnown() throws Exception {
+        MultipartRequest request = MultipartRequest.post("http://test.test")
+                .addField("name", "Salmon")
+                .addPart("photo", "photo.jpg", ContentType.create("image/jpeg"), StreamedRequestBody.fromInputStream(() -> new ByteArrayInputStream(new byte[16])));
+
+        assertThat(((StreamedRequestBody) request.body()).length()).isEqualTo(-1);
+    }
+
+    @Test
+    public void execute_fileOfKnownSize_sentWithContentLength() throws Exception {
+        Path file = Files.createTempFile("bastion-photo", ".jpg");
+        try {
+            Files.write(file, new byte[1024 * 1024]);
+            MultipartRequest request = MultipartRequest.post("http://localhost:9876/photos")
+                    .addField("name", "Salmon")
+                    .addFile("photo", file, ContentType.create("image/jpeg"));
+            long length = ((StreamedRequestBody) request.body()).length();
+
+            Response response = new RequestExecutor(request, new Configuration()).execute();
+
+            assertThat(response.getStatusCode()).isEqualTo(200);
+            assertThat(bodyOf(response))
+                    .contains("\"name\":\"null|null|6\"")
+                    .contains("\"photo\":\"" + file.getFileName() + "|image/jpeg|1048576\"")
+                    .contains("\"Content-Length\":\"" + length + "\"");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void execute_partOfUnknownSize_sentInChunks() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.setTransportType(UrlConnectionHttpTransport.class);
+        MultipartRequest request = MultipartRequest.post("http://localhost:9876/photos")
+                .addPart("photo", "photo.png", ContentType.create("image/png"), StreamedRequestBody.fromInputStream(() -> new ByteArrayInputStream(new byte[300_000])));
+
+        Response response = new RequestExecutor(request, configuration).execute();
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(bodyOf(response))
+                .contains("\"photo\":\"photo.png|image/png|300000\"")
+                .contains("\"Content-Length\":\"-1\"");
+    }
+
+    @Test
+    public void writeTo_fileGrowsAfterLengthTaken_writesAnnouncedLength() throws Exception {
+        Path file = Files.createTempFile("bastion-photo", ".jpg");
+        try {
+            Files.write(file, "salmon".getBytes(StandardCharsets.UTF_8));
+            StreamedRequestBody body = StreamedRequestBody.fromPath(file);
+            long length = body.length();
+            Files.write(file, "salmon photo".getBytes(StandardCharsets.UTF_8));
+
+            ByteArrayOutputStream written = new ByteArrayOutputStream();
+            body.writeTo(written, length);
+
+            assertThat(new String(written.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("salmon");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void writeTo_fileShrinksAfterLengthTaken_throwsIOException() throws Exception {
+        Path file = Files.createTempFile("bastion-photo", ".jpg");
+        try {
+            Files.write(file, "salmon photo".getBytes(StandardCharsets.UTF_8));
+            StreamedRequestBody body = StreamedRequestBody.fromPath(file);
+            long length = body.length();
+            Files.write(file, "salmon".getBytes(StandardCharsets.UTF_8));
+
+            assertThatThrownBy(() -> body.writeTo(new ByteArrayOutputStream(), length)).isInstanceOf(IOException.class);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void writeTo_partGrowsAfterLengthTaken_throwsIOException() throws Exception {
+        Path file = Files.createTempFile("bastion-photo", ".jpg");
+        try {
+            Files.write(file, "salmon".getBytes(StandardCharsets.UTF_8));
+            MultipartRequest request = MultipartRequest.post("http://test.test")
+                    .addFile("photo", file, ContentType.create("image/jpeg"));
+            StreamedRequestBody body = (StreamedRequestBody) request.body();
+            long length = body.length();
+            Files.write(file, "salmon photo".getBytes(StandardCharsets.UTF_8));
+
+            assertThatThrownBy(() -> body.writeTo(new ByteArrayOutputStream(), length)).isInstanceOf(IOException.class);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static byte[] write(StreamedRequestBody body) throws Exception {
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        body.writeTo(written);
+        return written.toByteArray();
+    }
+
+    private static String bodyOf(Response response) throws Exception {
+        return CharStreams.toString(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+package rocks.bastion.core;
+
+import com.google.common.io.ByteStreams;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RawResponseTest {
+
+    @Test
+    public void bodyBelowSpillThreshold_keptInMemory() throws Exception {
+        byte[] content = randomBytes(100);
+
+        RawResponse response = createResponse(content, 0, 100);
+
+        assertThat(response.isSpilledToDisk()).isFalse();
+        assertThat(ByteStreams.toByteArray(response.getBody())).isEqualTo(content);
+    }
+
+    @Test
+    public void bodyAboveSpillThreshold_spilledAndReadableRepeatedly() throws Exception {
+        byte[] content = randomBytes(100_000);
+
+        RawResponse response = createResponse(content, 0, 1024);
+
+        assertThat(response.isSpilledToDisk()).isTrue();
+        InputStream first = response.getBody();
+        InputStream second = response.getBody();
+        assertThat(first.read()).isEqualTo(content[0] & 0xFF);
+        assertThat(ByteStreams.toByteArray(second)).isEqualTo(content);
+        assertThat(first.skip(9)).isEqualTo(9);
+        assertThat(ByteStreams.toByteArray(first)).isEqualTo(Arrays.copyOfRange(content, 10, content.length));
+    }
+
+    @Test
+    public void spilledBodyLargerThanMaxBufferSize_rejected() {
+        byte[] content = randomBytes(10_000);
+
+        assertThatThrownBy(() -> createResponse(content, 5_000, 1024))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("maximum buffer size of [5000] bytes");
+    }
+
+    @Test
+    public void emptyBody_readable() throws Exception {
+        RawResponse response = createResponse(new byte[0], 0, 1024);
+
+        assertThat(response.getBody().read()).isEqualTo(-1);
+    }
+
+    private static RawResponse createResponse(byte[] content, long maxBufferSize, long spillThreshold) {
+        return new RawResponse(200, "OK", Collections.emptyList(), new ByteArrayInputStream(content), maxBufferSize, spillThreshold);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
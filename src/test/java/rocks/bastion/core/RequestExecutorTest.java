@@ -1,10 +1,17 @@
 package rocks.bastion.core;
 
+import com.google.common.io.ByteStreams;
+import org.apache.http.entity.ContentType;
 import org.junit.Test;
 import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.json.JsonRequest;
+import rocks.bastion.core.json.JsonTemplate;
 import rocks.bastion.support.CreateSushiRequest;
 import rocks.bastion.support.embedded.TestWithEmbeddedServer;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -17,4 +24,65 @@ public class RequestExecutorTest extends TestWithEmbeddedServer {
         Response response = new RequestExecutor(new CreateSushiRequest(), new Configuration()).execute();
         assertEquals(201, response.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testResolvedUrl() {
+        Configuration configuration = new Configuration();
+        configuration.getGlobalRequestAttributes().addQueryParam("lang", "en");
+        RequestExecutor executor = new RequestExecutor(GeneralRequest.get("http://localhost:9876/sushi/{id}")
+                .addQueryParam("name", "salmon nigiri")
+                .addRouteParam("id", "a/b"), configuration);
+        assertEquals("http://localhost:9876/sushi/a%2Fb?lang=en&name=salmon+nigiri", executor.getResolvedUrl());
+    }
+
+    @Test
+    public void testQueryParamNamesEncoded() {
+        RequestExecutor executor = new RequestExecutor(GeneralRequest.get("http://localhost:9876/sushi")
+                .addQueryParam("sushi name&type", "salmon"), new Configuration());
+        assertEquals("http://localhost:9876/sushi?sushi+name%26type=salmon", executor.getResolvedUrl());
+    }
+
+    @Test
+    public void testContentTypeNotSentWithoutBody() {
+        RequestExecutor getExecutor = new RequestExecutor(GeneralRequest.get("http://localhost:9876/nigiri"), new Configuration());
+        RequestExecutor deleteExecutor = new RequestExecutor(GeneralRequest.delete("http://localhost:9876/sushi/1", GeneralRequest.EMPTY_BODY), new Configuration());
+        RequestExecutor postExecutor = new RequestExecutor(GeneralRequest.post("http://localhost:9876/restaurant", "Sushi Bar"), new Configuration());
+        assertEquals(0, getExecutor.getHeaders().stream().filter(header -> header.getName().equals("Content-Type")).count());
+        assertEquals(0, deleteExecutor.getHeaders().stream().filter(header -> header.getName().equals("Content-Type")).count());
+        assertEquals(1, postExecutor.getHeaders().stream().filter(header -> header.getValue().equals("text/plain; charset=UTF-8")).count());
+    }
+
+    @Test
+    public void testGeneralRequestBodyEncodedAsUtf8() throws Exception {
+        Response response = new RequestExecutor(GeneralRequest.post("http://localhost:9876/restaurant", "Caf\u00e9 \u65e5"), new Configuration()).execute();
+        assertEquals("Caf\u00e9 \u65e5", new String(ByteStreams.toByteArray(response.getBody()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testEncodedBodyEncodedAgainForOverriddenCharset() throws Exception {
+        JsonRequest request = JsonRequest.fromJsonTemplate(HttpMethod.POST, "http://localhost:9876/restaurant",
+                JsonTemplate.fromString("{ \"name\": \"{{ name }}\" }"), Collections.singletonMap("name", "Caf\u00e9"))
+                .overrideContentType(ContentType.create("application/json", StandardCharsets.ISO_8859_1));
+        Response response = new RequestExecutor(request, new Configuration()).execute();
+        assertEquals("{ \"name\": \"Caf\u00e9\" }", new String(ByteStreams.toByteArray(response.getBody()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testPreparedRequestExecutedRepeatedly() {
+        PreparedRequest preparedRequest = new RequestExecutor(new CreateSushiRequest(), new Configuration()).prepare();
+        assertEquals(201, preparedRequest.execute().getStatusCode());
+        assertEquals(201, preparedRequest.execute().getStatusCode());
+    }
+
+    @Test
+    public void testPreparedRequestNotAffectedByLaterChanges() {
+        Configuration configuration = new Configuration();
+        GeneralRequest request = GeneralRequest.get("http://localhost:9876/nigiri");
+        PreparedRequest preparedRequest = new RequestExecutor(request, configuration).prepare();
+        request.addHeader("X-Later", "true");
+        configuration.getGlobalRequestAttributes().addQueryParam("lang", "en");
+        assertEquals("http://localhost:9876/nigiri", preparedRequest.getResolvedUrl());
+        assertEquals(0, preparedRequest.getHeaders().stream().filter(header -> header.getName().equals("X-Later")).count());
+        assertEquals(200, preparedRequest.execute().getStatusCode());
+    }
+}
@@ -0,0 +1,176 @@
+package rocks.bastion.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.io.CharStreams;
+import org.junit.Before;
+import org.junit.Test;
+import rocks.bastion.Bastion;
+import rocks.bastion.core.builder.PostExecutionBuilder;
+import rocks.bastion.core.configuration.ResponseConfiguration;
+import rocks.bastion.core.json.JsonResponseAssertions;
+import rocks.bastion.core.json.JsonSchemaAssertions;
+import rocks.bastion.support.CreateSushiRequest;
+import rocks.bastion.support.embedded.Sushi;
+import rocks.bastion.support.embedded.TestWithEmbeddedServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StreamingResponseTest extends TestWithEmbeddedServer {
+
+    @Before
+    public void before() {
+        BastionFactory.setDefaultBastionFactory(new DefaultBastionFactory());
+    }
+
+    @Test
+    public void streamResponse_modelIsBodyStream() {
+        PostExecutionBuilder<?> result = Bastion.request("Streamed Nigiri", GeneralRequest.get("http://localhost:9876/nigiri").setStreamResponse(true))
+                .withAssertions((statusCode, response, model) -> {
+                    assertThat(response.isStreamed()).isTrue();
+                    assertThat(model).isInstanceOf(InputStream.class);
+                    assertThat(readFully((InputStream) model)).contains("Salmon Nigiri");
+                    assertThatThrownBy(response::getBody).isInstanceOf(IllegalStateException.class);
+                }).call();
+
+        assertThat(result.getResponse().isStreamed()).isTrue();
+    }
+
+    @Test
+    public void streamingContentType_boundModelDecodedFromStream() {
+        BastionFactory.getDefaultBastionFactory().getConfiguration().setResponseConfiguration(new ResponseConfiguration().addStreamingContentType("Application/JSON"));
+
+        PostExecutionBuilder<? extends Sushi> result = Bastion.request("Streamed Nigiri", GeneralRequest.get("http://localhost:9876/nigiri"))
+                .bind(Sushi.class)
+                .withAssertions(StatusCodeAssertions.expecting(new int[]{200}))
+                .call();
+
+        assertThat(result.getResponse().isStreamed()).isTrue();
+        assertThat(result.getModel().getName()).isEqualTo("Salmon Nigiri");
+    }
+
+    @Test
+    public void streamResponse_jsonAssertions_bodyComparedAndModelDecodedFromTree() {
+        AtomicReference<Object> callbackModel = new AtomicReference<>();
+
+        PostExecutionBuilder<?> result = Bastion.request("Streamed Nigiri", GeneralRequest.get("http://localhost:9876/nigiri").setStreamResponse(true))
+                .withAssertions(JsonResponseAssertions.fromString(200, "{\"id\":5,\"name\":\"Salmon Nigiri\",\"price\":23.55}"))
+                .thenDo((statusCode, response, model) -> callbackModel.set(model))
+                .call();
+
+        assertThat(result.getResponse().isStreamed()).isTrue();
+        assertThat(callbackModel.get()).isInstanceOf(JsonNode.class);
+        assertThat(((JsonNode) callbackModel.get()).get("name").asText()).isEqualTo("Salmon Nigiri");
+    }
+
+    @Test
+    public void streamResponse_jsonAssertionsMismatch_testFails() {
+        assertThatThrownBy(() -> Bastion.request("Streamed Nigiri", GeneralRequest.get("http://localhost:9876/nigiri").setStreamResponse(true))
+                .withAssertions(JsonResponseAssertions.fromString(200, "{\"id\":5,\"name\":\"Tuna Roll\",\"price\":23.55}"))
+                .call())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Actual response body is not as expected.");
+    }
+
+    @Test
+    public void streamResponse_boundModelAndJsonAssertions_bothUseTheBody() {
+        PostExecutionBuilder<? extends Sushi> result = Bastion.request("Streamed Nigiri", GeneralRequest.get("http://localhost:9876/nigiri").setStreamResponse(true))
+                .bind(Sushi.class)
+                .withAssertions(JsonResponseAssertions.fromString(200, "{\"id\":5,\"name\":\"Salmon Nigiri\",\"price\":23.55}"))
+                .call();
+
+        assertThat(result.getModel().getName()).isEqualTo("Salmon Nigiri");
+    }
+
+    @Test
+    public void streamResponse_schemaValidatedWhileStreaming_itemsValidated() {
+        Bastion.request("Create Sushi", new CreateSushiRequest()).call();
+
+        PostExecutionBuilder<?> result = Bastion.request("Streamed Sushi", GeneralRequest.get("http://localhost:9876/sushi").setStreamResponse(true))
+                .withAssertions(JsonSchemaAssertions.fromString("{ \"type\": \"array\", \"items\": { \"type\": \"object\", \"required\": [\"id\", \"name\"] } }")
+                        .validateItemsWhileStreaming(2))
+                .call();
+
+        assertThat(result.getResponse().isStreamed()).isTrue();
+        assertThat(result.getResponse().isBodyAvailable()).isFalse();
+    }
+
+    @Test
+    public void streamResponse_schemaValidatedWhileStreamingInvalidItems_testFails() {
+        Bastion.request("Create Sushi", new CreateSushiRequest()).call();
+
+        assertThatThrownBy(() -> Bastion.request("Streamed Sushi", GeneralRequest.get("http://localhost:9876/sushi").setStreamResponse(true))
+                .withAssertions(JsonSchemaAssertions.fromString("{ \"type\": \"array\", \"items\": { \"type\": \"object\", \"required\": [\"origin\"] } }")
+                        .validateItemsWhileStreaming(2))
+                .call())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("[0] object has missing required properties ([\"origin\"])");
+    }
+
+    @Test
+    public void streamResponse_modelCannotBeBound_testFails() {
+        assertThatThrownBy(() -> Bastion.request("Streamed Nigiri", GeneralRequest.get("http://localhost:9876/nigiri").setStreamResponse(true))
+                .bind(Integer.class)
+                .call())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Could not parse response into model object of type java.lang.Integer");
+    }
+
+    @Test
+    public void streamResponse_bodyNotRead_connectionReleased() {
+        // more requests than the connection pool allows per route: this would block if unread streams kept their connections
+        for (int i = 0; i < 25; i++) {
+            Bastion.request("Unread Nigiri", GeneralRequest.get("http://localhost:9876/nigiri").setStreamResponse(true).setDeadline(5000))
+                    .withAssertions(StatusCodeAssertions.expecting(new int[]{200}))
+                    .call();
+        }
+    }
+
+    @Test
+    public void maxBufferSize_largerBody_rejected() {
+        BastionFactory.getDefaultBastionFactory().getConfiguration().setResponseConfiguration(new ResponseConfiguration().setMaxBufferSize(10));
+
+        assertThatThrownBy(() -> Bastion.request("Nigiri", GeneralRequest.get("http://localhost:9876/nigiri")).call())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("maximum buffer size of [10] bytes");
+    }
+
+    @Test
+    public void maxBufferSize_streamedResponse_notLimited() {
+        BastionFactory.getDefaultBastionFactory().getConfiguration().setResponseConfiguration(new ResponseConfiguration().setMaxBufferSize(10));
+
+        PostExecutionBuilder<? extends Sushi> result = Bastion.request("Nigiri", GeneralRequest.get("http://localhost:9876/nigiri").setStreamResponse(true))
+                .bind(Sushi.class)
+                .call();
+
+        assertThat(result.getModel().getPrice()).isNotNull();
+    }
+
+    @Test
+    public void spillThreshold_largerBody_decodedAndAssertedFromDisk() {
+        BastionFactory.getDefaultBastionFactory().getConfiguration().setResponseConfiguration(new ResponseConfiguration().setSpillThreshold(10));
+
+        PostExecutionBuilder<? extends Sushi> result = Bastion.request("Nigiri", GeneralRequest.get("http://localhost:9876/nigiri"))
+                .bind(Sushi.class)
+                .withAssertions(JsonResponseAssertions.fromString(200, "{\"id\":5,\"name\":\"Salmon Nigiri\",\"price\":23.55}"))
+                .call();
+
+        assertThat(result.getResponse().isStreamed()).isFalse();
+        assertThat(result.getModel().getName()).isEqualTo("Salmon Nigiri");
+    }
+
+    private static String readFully(InputStream body) {
+        try {
+            return CharStreams.toString(new InputStreamReader(body, StandardCharsets.UTF_8));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
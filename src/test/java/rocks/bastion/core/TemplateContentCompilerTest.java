@@ -34,4 +34,16 @@ public class TemplateContentCompilerTest {
         compiler.getContent();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void compile_sameTemplateTwice_reusesCompiledTemplate() throws Exception {
+        TemplateContentCompiler first = new TemplateContentCompiler("{ \"name\": \"{{ name }}\", \"cached\": true }");
+        TemplateContentCompiler second = new TemplateContentCompiler(new String("{ \"name\": \"{{ name }}\", \"cached\": true }"));
+        assertThat(second.getCompiledTemplate()).isSameAs(first.getCompiledTemplate());
+
+        first.addVariableAssignment("name", "john");
+        second.addVariableAssignment("name", "jane");
+        assertThat(first.getContent()).isEqualTo("{ \"name\": \"john\", \"cached\": true }");
+        assertThat(second.getContent()).isEqualTo("{ \"name\": \"jane\", \"cached\": true }");
+    }
+
+}
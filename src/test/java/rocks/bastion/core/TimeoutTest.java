@@ -1,5 +1,6 @@
 package rocks.bastion.core;
 
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.Stopwatch;
@@ -24,6 +25,11 @@ public class TimeoutTest extends TestWithEmbeddedServer {
     public Stopwatch stopwatch = new Stopwatch() {
     };
 
+    @Before
+    public void before() {
+        BastionFactory.setDefaultBastionFactory(new DefaultBastionFactory());
+    }
+
     @Test(timeout = 3000L)
     public void callSlowAPI_jsonRequest_requestTimesOutAndTestFails() {
         JsonRequest request = JsonRequest.fromString(HttpMethod.GET, "http://localhost:9876/chikuzen-ni", "");
@@ -45,6 +51,27 @@ public class TimeoutTest extends TestWithEmbeddedServer {
         performRequestAndAssert(request);
     }
 
+    @Test(timeout = 3000L)
+    public void callSlowAPI_readTimeout_requestTimesOutAndTestFails() {
+        GeneralRequest request = GeneralRequest.get("http://localhost:9876/chikuzen-ni");
+        request.setConnectTimeout(500L);
+        request.setReadTimeout(1500L);
+        assertThatThrownBy(() -> Bastion.request("Create Sushi", request).call())
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("Failed to receive response before timeout of [1500] ms");
+        assertThat(stopwatch.runtime(TimeUnit.MILLISECONDS)).as("Test runtime").isGreaterThanOrEqualTo(1000L);
+    }
+
+    @Test(timeout = 3000L)
+    public void callSlowAPI_deadline_requestAbortedAndTestFails() {
+        GeneralRequest request = GeneralRequest.get("http://localhost:9876/chikuzen-ni");
+        request.setDeadline(1500L);
+        assertThatThrownBy(() -> Bastion.request("Create Sushi", request).call())
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("Failed to receive response before deadline of [1500] ms");
+        assertThat(stopwatch.runtime(TimeUnit.MILLISECONDS)).as("Test runtime").isGreaterThanOrEqualTo(1000L);
+    }
+
     private void performRequestAndAssert(HttpRequest request) {
         assertThatThrownBy(() -> Bastion.request("Create Sushi", request).call())
                 .isInstanceOf(AssertionError.class)
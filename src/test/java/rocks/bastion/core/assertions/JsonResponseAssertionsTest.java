@@ -55,9 +55,9 @@ public class JsonResponseAssertionsTest {
             ModelResponse<String> response = TestModelResponse.prepare("{ \"array\":[\"third\",\"first\"] }");
             assertions.execute(200, response, response.getModel());
         } catch (AssertionError assertionError) {
-            Assert.assertEquals("Assertion Failed Message", assertionError.getMessage(), "Actual response body is not as expected. The following JSON Patch (as per RFC-6902) tells you what operations you need to perform to transform the actual response body into the expected response body:" +
+            Assert.assertEquals("Assertion Failed Message", assertionError.getMessage(), "Actual response body is not as expected." +
                     "\n" +
-                    " [{\"op\":\"add\",\"path\":\"/array/1\",\"value\":\"second\"}]");
+                    " The array /array (ignoring order) is missing the expected elements: [\"second\"]");
             return;
         }
         Assert.fail("An assertion error should have been thrown by the JSON Response Assertions");
@@ -70,9 +70,9 @@ public class JsonResponseAssertionsTest {
             ModelResponse<String> response = TestModelResponse.prepare("{ \"array\":[\"third\",\"first\",\"second\",\"fourth\"] }");
             assertions.execute(200, response, response.getModel());
         } catch (AssertionError assertionError) {
-            Assert.assertEquals("Assertion Failed Message", assertionError.getMessage(), "Actual response body is not as expected. The following JSON Patch (as per RFC-6902) tells you what operations you need to perform to transform the actual response body into the expected response body:" +
+            Assert.assertEquals("Assertion Failed Message", assertionError.getMessage(), "Actual response body is not as expected." +
                     "\n" +
-                    " [{\"op\":\"remove\",\"path\":\"/array/0\"},{\"op\":\"replace\",\"path\":\"/array/2\",\"value\":\"third\"}]");
+                    " The array /array (ignoring order) contains the unexpected elements: [\"fourth\"]");
             return;
         }
         Assert.fail("An assertion error should have been thrown by the JSON Response Assertions");
@@ -141,4 +141,62 @@ public class JsonResponseAssertionsTest {
         Assert.fail("An assertion error should have been thrown by the JSON Response Assertions");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void execute_sameAssertionsReusedForManyResponses_shouldAssertEachResponse() throws Exception {
+        JsonResponseAssertions assertions = JsonResponseAssertions.fromString(200, "{ \"key\":\"kyle\", \"nested\":{ \"a\":1, \"b\":[1, 2] } }");
+        for (int i = 0; i < 3; i++) {
+            ModelResponse<String> response = TestModelResponse.prepare("{ \"nested\":{ \"b\":[1, 2], \"a\":1 }, \"key\":\"kyle\" }");
+            assertions.execute(200, response, response.getModel());
+        }
+        try {
+            ModelResponse<String> response = TestModelResponse.prepare("{ \"nested\":{ \"b\":[2, 1], \"a\":1 }, \"key\":\"kyle\" }");
+            assertions.execute(200, response, response.getModel());
+        } catch (AssertionError assertionError) {
+            Assert.assertTrue("Assertion Failed Message", assertionError.getMessage().contains("/nested/b/"));
+            return;
+        }
+        Assert.fail("An assertion error should have been thrown by the JSON Response Assertions");
+    }
+
+    @Test
+    public void execute_ignoredFieldMissing_shouldThrowErrorWithDiff() throws Exception {
+        try {
+            JsonResponseAssertions assertions = JsonResponseAssertions.fromString(200, "{ \"key\":\"kyle\", \"surname\":\"pullicino\" }").ignoreValuesForProperties("key");
+            ModelResponse<String> response = TestModelResponse.prepare("{ \"surname\":\"pullicino\" }");
+            assertions.execute(200, response, response.getModel());
+        } catch (AssertionError assertionError) {
+            Assert.assertEquals("Assertion Failed Message", assertionError.getMessage(), "Actual response body is not as expected. The following JSON Patch (as per RFC-6902) tells you what operations you need to perform to transform the actual response body into the expected response body:" +
+                    "\n" +
+                    " [{\"op\":\"add\",\"path\":\"/key\",\"value\":\"kyle\"}]");
+            return;
+        }
+        Assert.fail("An assertion error should have been thrown by the JSON Response Assertions");
+    }
+
+    @Test
+    public void execute_ignoredOrderForLargeArrayField_shouldReportOnlyDifferingElements() throws Exception {
+        StringBuilder expected = new StringBuilder("{ \"other\":1, \"array\":[");
+        StringBuilder actual = new StringBuilder("{ \"other\":2, \"array\":[");
+        for (int i = 0; i < 10000; i++) {
+            expected.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"item").append(i).append("\"}");
+            int actualId = (i == 0) ? 10000 : 10000 - i;
+            actual.append(i == 0 ? "" : ",").append("{\"name\":\"item").append(actualId).append("\",\"id\":").append(actualId).append("}");
+        }
+        JsonResponseAssertions assertions = JsonResponseAssertions.fromString(200, expected.append("] }").toString()).ignoreOrderForArrayProperties("array");
+        try {
+            ModelResponse<String> response = TestModelResponse.prepare(actual.append("] }").toString());
+            assertions.execute(200, response, response.getModel());
+        } catch (AssertionError assertionError) {
+            Assert.assertEquals("Assertion Failed Message", assertionError.getMessage(), "Actual response body is not as expected. The following JSON Patch (as per RFC-6902) tells you what operations you need to perform to transform the actual response body into the expected response body:" +
+                    "\n" +
+                    " [{\"op\":\"replace\",\"path\":\"/other\",\"value\":1}]" +
+                    "\n" +
+                    " The array /array (ignoring order) is missing the expected elements: [{\"id\":0,\"name\":\"item0\"}]" +
+                    "\n" +
+                    " The array /array (ignoring order) contains the unexpected elements: [{\"name\":\"item10000\",\"id\":10000}]");
+            return;
+        }
+        Assert.fail("An assertion error should have been thrown by the JSON Response Assertions");
+    }
+
+}
@@ -71,4 +71,158 @@ public class JsonSchemaAssertionsTest {
         assertions.execute(201, response, response.getModel());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void execute_sameSchemaReusedAcrossAssertions_shouldValidateEachResponse() {
+        String schema = "{ \"type\": \"object\", \"required\": [\"id\"] }";
+        for (int i = 0; i < 3; i++) {
+            JsonSchemaAssertions assertions = JsonSchemaAssertions.fromString(schema);
+            ModelResponse<String> response = TestModelResponse.prepare("{ \"id\": 21 }");
+            assertions.execute(200, response, response.getModel());
+            assertions.execute(200, response, response.getModel());
+        }
+        try {
+            ModelResponse<String> response = TestModelResponse.prepare("{ \"number\": 21 }");
+            JsonSchemaAssertions.fromString(schema).execute(200, response, response.getModel());
+        } catch (AssertionError assertionError) {
+            Assert.assertTrue("Assertion Failed Message", assertionError.getMessage().contains("missing required properties"));
+            return;
+        }
+        Assert.fail("An assertion error should have been thrown by the JSON Schema Assertions");
+    }
+
+    @Test
+    public void execute_invalidSchemaExecutedTwice_shouldThrowExceptionEachTime() {
+        JsonSchemaAssertions assertions = JsonSchemaAssertions.fromString("{ \"type\": \"fake-type\" }");
+        ModelResponse<String> response = TestModelResponse.prepare("{ \"id\": 21 }");
+        for (int i = 0; i < 2; i++) {
+            try {
+                assertions.execute(200, response, response.getModel());
+                Assert.fail("An invalid JSON exception should have been thrown by the JSON Schema Assertions");
+            } catch (InvalidJsonException expected) {
+                // the schema is invalid every time it is used
+            }
+        }
+    }
+
+    @Test
+    public void execute_validateItemsWhileStreaming_shouldReportInvalidItemsByIndex() {
+        StringBuilder items = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            items.append(i == 0 ? "" : ",").append((i % 250 == 7) ? "{ \"number\": 21 }" : "{ \"id\": " + i + " }");
+        }
+        JsonSchemaAssertions assertions = JsonSchemaAssertions.fromString("{ \"type\": \"array\", \"items\": { \"type\": \"object\", \"required\": [\"id\"] } }")
+                .validateItemsWhileStreaming(4);
+        try {
+            ModelResponse<String> response = TestModelResponse.prepare(items.append("]").toString());
+            assertions.execute(200, response, response.getModel());
+        } catch (AssertionError assertionError) {
+            Assert.assertEquals("Assertion Failed Message",
+                                "Actual response body is not as specified. The following message(s) where produced during validation; " +
+                                "[7] object has missing required properties ([\"id\"]), [257] object has missing required properties ([\"id\"]), " +
+                                "[507] object has missing required properties ([\"id\"]), [757] object has missing required properties ([\"id\"]).",
+                                assertionError.getMessage());
+            return;
+        }
+        Assert.fail("An assertion error should have been thrown by the JSON Schema Assertions");
+    }
+
+    @Test
+    public void execute_validateItemsWhileStreamingManyInvalidItems_shouldReportFirstItemsAndCount() {
+        StringBuilder items = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            items.append(i == 0 ? "" : ",").append("\"item\"");
+        }
+        JsonSchemaAssertions assertions = JsonSchemaAssertions.fromString("{ \"type\": \"array\", \"items\": { \"type\": \"integer\" } }")
+                .validateItemsWhileStreaming(4);
+        try {
+            ModelResponse<String> response = TestModelResponse.prepare(items.append("]").toString());
+            assertions.execute(200, response, response.getModel());
+        } catch (AssertionError assertionError) {
+            Assert.assertTrue("Assertion Failed Message", assertionError.getMessage().contains("[0] instance type (string)"));
+            Assert.assertTrue("Assertion Failed Message", assertionError.getMessage().contains("[19] instance type (string)"));
+            Assert.assertFalse("Assertion Failed Message", assertionError.getMessage().contains("[20] instance type (string)"));
+            Assert.assertTrue("Assertion Failed Message", assertionError.getMessage().endsWith(" and 980 more invalid items."));
+            return;
+        }
+        Assert.fail("An assertion error should have been thrown by the JSON Schema Assertions");
+    }
+
+    @Test
+    public void execute_validateItemsWhileStreamingAfterExecuting_shouldValidateItemsSchema() {
+        JsonSchemaAssertions assertions = JsonSchemaAssertions.fromString("{ \"type\": \"array\", \"items\": { \"type\": \"integer\" } }");
+        ModelResponse<String> validResponse = TestModelResponse.prepare("[1, 2, 3]");
+        assertions.execute(200, validResponse, validResponse.getModel());
+        assertions.validateItemsWhileStreaming(2);
+        try {
+            ModelResponse<String> response = TestModelResponse.prepare("[1, \"two\", 3]");
+            assertions.execute(200, response, response.getModel());
+        } catch (AssertionError assertionError) {
+            Assert.assertEquals("Assertion Failed Message",
+                                "Actual response body is not as specified. The following message(s) where produced during validation; " +
+                                "[1] instance type (string) does not match any allowed primitive type (allowed: [\"integer\"]).",
+                                assertionError.getMessage());
+            return;
+        }
+        Assert.fail("An assertion error should have been thrown by the JSON Schema Assertions");
+    }
+
+    @Test
+    public void execute_validateItemsWhileStreamingValidItems_shouldAssertSuccessfully() {
+        JsonSchemaAssertions assertions = JsonSchemaAssertions.fromString("{ \"type\": \"array\", \"items\": { \"type\": \"integer\" } }")
+                .validateItemsWhileStreaming();
+        ModelResponse<String> response = TestModelResponse.prepare("[1, 2, 3]");
+        assertions.execute(200, response, response.getModel());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void execute_validateItemsWhileStreamingNotAnArray_assertionErrorShouldBeThrown() {
+        JsonSchemaAssertions assertions = JsonSchemaAssertions.fromString("{ \"type\": \"array\", \"items\": { \"type\": \"integer\" } }")
+                .validateItemsWhileStreaming();
+        ModelResponse<String> response = TestModelResponse.prepare("{ \"id\": 21 }");
+        assertions.execute(200, response, response.getModel());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void execute_validateItemsWhileStreamingTupleItems_shouldThrowException() {
+        JsonSchemaAssertions assertions = JsonSchemaAssertions.fromString("{ \"type\": \"array\", \"items\": [{ \"type\": \"integer\" }, { \"type\": \"string\" }] }")
+                .validateItemsWhileStreaming();
+        ModelResponse<String> response = TestModelResponse.prepare("[1, \"two\"]");
+        assertions.execute(200, response, response.getModel());
+    }
+
+    @Test
+    public void execute_validateItemsWhileStreamingTooFewItems_assertionErrorShouldBeThrown() {
+        JsonSchemaAssertions assertions = JsonSchemaAssertions.fromString("{ \"type\": \"array\", \"minItems\": 4, \"items\": { \"type\": \"integer\" } }")
+                .validateItemsWhileStreaming(2);
+        try {
+            ModelResponse<String> response = TestModelResponse.prepare("[1, \"two\", 3]");
+            assertions.execute(200, response, response.getModel());
+        } catch (AssertionError assertionError) {
+            Assert.assertEquals("Assertion Failed Message",
+                                "Actual response body is not as specified. The following message(s) where produced during validation; " +
+                                "array is too short: must have at least 4 elements but instance has 3 elements, " +
+                                "[1] instance type (string) does not match any allowed primitive type (allowed: [\"integer\"]).",
+                                assertionError.getMessage());
+            return;
+        }
+        Assert.fail("An assertion error should have been thrown by the JSON Schema Assertions");
+    }
+
+    @Test
+    public void execute_validateItemsWhileStreamingTooManyItems_assertionErrorShouldBeThrown() {
+        JsonSchemaAssertions assertions = JsonSchemaAssertions.fromString("{ \"type\": \"array\", \"maxItems\": 2, \"items\": { \"type\": \"integer\" } }")
+                .validateItemsWhileStreaming(2);
+        try {
+            ModelResponse<String> response = TestModelResponse.prepare("[1, 2, 3]");
+            assertions.execute(200, response, response.getModel());
+        } catch (AssertionError assertionError) {
+            Assert.assertEquals("Assertion Failed Message",
+                                "Actual response body is not as specified. The following message(s) where produced during validation; " +
+                                "array is too long: must have at most 2 elements but instance has 3 elements.",
+                                assertionError.getMessage());
+            return;
+        }
+        Assert.fail("An assertion error should have been thrown by the JSON Schema Assertions");
+    }
+
+}
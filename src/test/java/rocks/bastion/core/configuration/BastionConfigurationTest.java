@@ -6,9 +6,26 @@ import rocks.bastion.Bastion;
 import rocks.bastion.core.ApiHeader;
 import rocks.bastion.core.ApiQueryParam;
 import rocks.bastion.core.BastionFactory;
+import rocks.bastion.core.GeneralRequest;
+import rocks.bastion.core.RawResponse;
+import rocks.bastion.core.RequestExecutor;
+import rocks.bastion.core.Response;
 import rocks.bastion.core.RouteParam;
-
+import rocks.bastion.core.transport.HttpTransport;
+import rocks.bastion.core.transport.HttpClientTransport;
+import rocks.bastion.core.transport.TransportRequest;
+import rocks.bastion.core.transport.UrlConnectionHttpTransport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
     
@@ -71,5 +88,98 @@ public class BastionConfigurationTest {
         assertThat(routeParams).containsExactly(new RouteParam("routeParam1", "value1"));
 
         assertThat(globals.getGlobalRequestTimeout()).isEqualTo(15000);
+
+        ConnectionConfiguration connectionConfiguration = config.getConnectionConfiguration();
+        assertThat(connectionConfiguration.getMaxTotalConnections()).isEqualTo(100);
+        assertThat(connectionConfiguration.getMaxConnectionsPerRoute()).isEqualTo(50);
+        assertThat(connectionConfiguration.getKeepAliveDuration()).isEqualTo(30000);
+        assertThat(connectionConfiguration.getIdleEvictionInterval()).isEqualTo(5000);
+        assertThat(connectionConfiguration.isTcpNoDelay()).isFalse();
+        assertThat(connectionConfiguration.getSocketSendBufferSize()).isEqualTo(65536);
+        assertThat(connectionConfiguration.getSocketReceiveBufferSize()).isEqualTo(131072);
+
+        assertThat(config.getResponseConfiguration().getStreamingContentTypes()).containsExactly("text/csv");
+        assertThat(config.getResponseConfiguration().isStreamingContentType("TEXT/CSV")).isTrue();
+        assertThat(config.getResponseConfiguration().getMaxBufferSize()).isEqualTo(10485760);
+        assertThat(config.getResponseConfiguration().getSpillThreshold()).isEqualTo(1048576);
+
+        assertThat(config.getTransportType()).isEqualTo(HttpClientTransport.class);
+        assertThat(config.getTransport()).isInstanceOf(HttpClientTransport.class);
+    }
+
+    @Test
+    public void programmaticConfiguration_transportSelected() {
+        Configuration config = new Configuration();
+        config.setTransportType(UrlConnectionHttpTransport.class);
+
+        HttpTransport transport = config.getTransport();
+        assertThat(transport).isInstanceOf(UrlConnectionHttpTransport.class);
+        assertThat(config.getTransport()).isSameAs(transport);
+    }
+
+    @Test
+    public void programmaticConfiguration_connectionConfigurationChanged_transportRecreated() {
+        Configuration config = new Configuration();
+        HttpTransport transport = config.getTransport();
+
+        config.setConnectionConfiguration(new ConnectionConfiguration().setMaxConnectionsPerRoute(100));
+
+        assertThat(config.getConnectionConfiguration().getMaxConnectionsPerRoute()).isEqualTo(100);
+        assertThat(config.getTransport()).isNotSameAs(transport);
+    }
+
+    @Test
+    public void programmaticConfiguration_transportReplacedDuringRequest_closedAfterRequestCompletes() throws Exception {
+        Configuration config = new Configuration();
+        BlockingTransport transport = new BlockingTransport();
+        config.setTransport(transport);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Response> response = executor.submit(() -> new RequestExecutor(GeneralRequest.get("http://test.test"), config).execute());
+            assertThat(transport.requestStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            config.setTransportType(UrlConnectionHttpTransport.class);
+
+            assertThat(transport.closed).isFalse();
+            transport.responseAllowed.countDown();
+            assertThat(response.get(10, TimeUnit.SECONDS).getStatusCode()).isEqualTo(200);
+            assertThat(transport.closed).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void programmaticConfiguration_transportReplacedWithoutRequests_closedImmediately() {
+        Configuration config = new Configuration();
+        BlockingTransport transport = new BlockingTransport();
+        config.setTransport(transport);
+
+        config.setTransportType(UrlConnectionHttpTransport.class);
+
+        assertThat(transport.closed).isTrue();
+    }
+
+    private static final class BlockingTransport implements HttpTransport {
+
+        private final CountDownLatch requestStarted = new CountDownLatch(1);
+        private final CountDownLatch responseAllowed = new CountDownLatch(1);
+        private volatile boolean closed;
+
+        @Override
+        public Response execute(TransportRequest request) throws IOException {
+            requestStarted.countDown();
+            try {
+                responseAllowed.await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            return new RawResponse(200, "OK", Collections.emptyList(), new ByteArrayInputStream(new byte[0]));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,134 @@
+package rocks.bastion.core.feeder;
+
+import org.junit.Test;
+import rocks.bastion.core.resource.InvalidResourceException;
+import rocks.bastion.core.resource.ResourceNotFoundException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FeederTest {
+
+    private static final String CSV = "classpath:/rocks/bastion/core/feeder/sushi.csv";
+    private static final String JSON_LINES = "classpath:/rocks/bastion/core/feeder/sushi.jsonl";
+
+    @Test
+    public void fromCsv_quotedValuesAndBlankLines_rowsParsed() {
+        try (Feeder feeder = Feeder.fromCsv(CSV)) {
+            List<Map<String, String>> rows = feeder.stream().collect(Collectors.toList());
+
+            assertThat(rows).hasSize(3);
+            assertThat(rows.get(0)).isEqualTo(row("name", "Salmon Nigiri", "price", "23.55", "description", "plain"));
+            assertThat(rows.get(1).get("description")).isEqualTo("spicy, with \"mayo\"");
+            assertThat(rows.get(2).get("description")).isEqualTo("two\nlines");
+            assertThat(rows.get(2).keySet()).containsExactly("name", "price", "description");
+        }
+    }
+
+    @Test
+    public void fromCsv_recordWithMissingValues_throwsAnException() {
+        try (Feeder feeder = Feeder.fromCsv("classpath:/rocks/bastion/core/feeder/invalid.csv")) {
+            assertThatThrownBy(feeder::next).isInstanceOf(InvalidResourceException.class).hasMessageContaining("Record 2");
+        }
+    }
+
+    @Test
+    public void fromCsv_inexistantResource_throwsAnException() {
+        assertThatThrownBy(() -> Feeder.fromCsv("classpath:/rocks/bastion/core/feeder/inexistant.csv")).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void fromJsonLines_objects_rowsParsed() {
+        try (Feeder feeder = Feeder.fromJsonLines(JSON_LINES)) {
+            List<Map<String, String>> rows = feeder.stream().collect(Collectors.toList());
+
+            assertThat(rows).hasSize(3);
+            assertThat(rows.get(0)).isEqualTo(row("name", "Salmon Nigiri", "price", "23.55", "tags", "[\"raw\",\"fish\"]"));
+            assertThat(rows.get(1)).isEqualTo(row("name", "Tuna Roll", "price", "9.80", "vegetarian", "false"));
+            assertThat(rows.get(2)).isEqualTo(row("name", "Cucumber Roll", "price", ""));
+        }
+    }
+
+    @Test
+    public void next_sequential_runsOutOfRows() {
+        try (Feeder feeder = Feeder.fromCsv(CSV, FeedStrategy.SEQUENTIAL)) {
+            assertThat(names(feeder, 3)).containsExactly("Salmon Nigiri", "Tuna Roll", "Eel Nigiri");
+            assertThat(feeder.next().isPresent()).isFalse();
+        }
+    }
+
+    @Test
+    public void next_circular_startsAgainAfterTheLastRow() {
+        try (Feeder feeder = Feeder.fromCsv(CSV, FeedStrategy.CIRCULAR)) {
+            assertThat(names(feeder, 7)).containsExactly("Salmon Nigiri", "Tuna Roll", "Eel Nigiri", "Salmon Nigiri", "Tuna Roll", "Eel Nigiri", "Salmon Nigiri");
+        }
+    }
+
+    @Test
+    public void next_random_returnsRowsOfTheResource() {
+        try (Feeder feeder = Feeder.fromJsonLines(JSON_LINES, FeedStrategy.RANDOM)) {
+            assertThat(new HashSet<>(names(feeder, 200))).containsOnly("Salmon Nigiri", "Tuna Roll", "Cucumber Roll").hasSize(3);
+        }
+    }
+
+    @Test
+    public void next_uniqueAfterTheLastRow_throwsAnException() {
+        try (Feeder feeder = Feeder.fromCsv(CSV, FeedStrategy.UNIQUE)) {
+            names(feeder, 3);
+            assertThatThrownBy(feeder::next).isInstanceOf(FeederExhaustedException.class).hasMessageContaining(CSV);
+        }
+    }
+
+    @Test
+    public void next_circularFromManyThreads_eachRowReturnedEvenly() throws Exception {
+        try (Feeder feeder = Feeder.fromCsv(CSV, FeedStrategy.CIRCULAR)) {
+            // a circular feeder never runs out, so count how often each row is returned across threads
+            ConcurrentLinkedQueue<String> names = new ConcurrentLinkedQueue<>();
+            CountDownLatch done = new CountDownLatch(4);
+            for (int thread = 0; thread < 4; thread++) {
+                new Thread(() -> {
+                    names.addAll(names(feeder, 300));
+                    done.countDown();
+                }).start();
+            }
+            done.await();
+
+            Map<String, Long> counts = names.stream().collect(Collectors.groupingBy(name -> name, Collectors.counting()));
+            assertThat(counts).containsOnlyKeys("Salmon Nigiri", "Tuna Roll", "Eel Nigiri");
+            assertThat(new HashSet<>(counts.values())).containsOnly(400L);
+        }
+    }
+
+    @Test
+    public void next_closedFeeder_throwsAnException() {
+        Feeder feeder = Feeder.fromCsv(CSV);
+        feeder.next();
+        feeder.close();
+        assertThatThrownBy(feeder::next).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static List<String> names(Feeder feeder, int count) {
+        List<String> names = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            names.add(feeder.next().orElseThrow(AssertionError::new).get("name"));
+        }
+        return names;
+    }
+
+    private static Map<String, String> row(String... columnsAndValues) {
+        Map<String, String> row = new HashMap<>();
+        for (int index = 0; index < columnsAndValues.length; index += 2) {
+            row.put(columnsAndValues[index], columnsAndValues[index + 1]);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,98 @@
+package rocks.bastion.core.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import rocks.bastion.core.EncodedRequestBody;
+import rocks.bastion.core.TemplateCompilationException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonTemplateTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void render_stringAndValueSlots_rendersJson() throws Exception {
+        JsonTemplate template = JsonTemplate.fromString("{ \"name\": \"{{ name }} Nigiri\", \"price\": {{ price }}, \"tags\": {{tags}} }");
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", "Salmon");
+        variables.put("price", 23.55);
+        variables.put("tags", "[\"raw\"]");
+
+        EncodedRequestBody body = template.render(variables);
+
+        assertThat(template.getVariables()).containsExactly("name", "price", "tags");
+        assertThat(body.toString()).isEqualTo("{ \"name\": \"Salmon Nigiri\", \"price\": 23.55, \"tags\": [\"raw\"] }");
+    }
+
+    @Test
+    public void render_valueNeedingEscaping_escapedAsJsonString() throws Exception {
+        JsonTemplate template = JsonTemplate.fromString("{ \"name\": \"{{ name }}\", \"literal\": \"\\\"{{ price }}\\\"\" }");
+        String name = "\"Tuna\" \\ Roll\n\t\u0001 caf\u00e9 \u65e5 \ud83c\udf63";
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("price", 9);
+
+        JsonNode rendered = MAPPER.readTree(template.render(variables).getBytes());
+
+        assertThat(rendered.get("name").asText()).isEqualTo(name);
+        assertThat(rendered.get("literal").asText()).isEqualTo("\"9\"");
+    }
+
+    @Test
+    public void render_nullValues_rendersNullAndEmptyString() throws Exception {
+        JsonTemplate template = JsonTemplate.fromString("{ \"name\": \"{{ name }}\", \"price\": {{ price }} }");
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", null);
+        variables.put("price", null);
+
+        assertThat(template.render(variables).toString()).isEqualTo("{ \"name\": \"\", \"price\": null }");
+    }
+
+    @Test
+    public void render_blankValues_rendersNullInValueSlots() throws Exception {
+        JsonTemplate template = JsonTemplate.fromString("{ \"name\": \"{{ name }}\", \"price\": {{ price }}, \"pieces\": {{ pieces }} }");
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", "");
+        variables.put("price", "");
+        variables.put("pieces", " ");
+
+        EncodedRequestBody body = template.render(variables);
+
+        assertThat(body.toString()).isEqualTo("{ \"name\": \"\", \"price\": null, \"pieces\": null }");
+        assertThat(MAPPER.readTree(body.getBytes()).get("price").isNull()).isTrue();
+    }
+
+    @Test
+    public void render_missingVariable_throwsAnException() {
+        JsonTemplate template = JsonTemplate.fromString("{ \"name\": \"{{ name }}\" }");
+
+        assertThatThrownBy(() -> template.render(Collections.singletonMap("nom", "Salmon")))
+                .isInstanceOf(TemplateCompilationException.class)
+                .hasMessageContaining("name");
+    }
+
+    @Test
+    public void fromString_section_throwsAnException() {
+        assertThatThrownBy(() -> JsonTemplate.fromString("{ \"names\": [ {{#names}}\"{{.}}\"{{/names}} ] }"))
+                .isInstanceOf(TemplateCompilationException.class);
+    }
+
+    @Test
+    public void fromString_invalidJson_throwsAnException() {
+        assertThatThrownBy(() -> JsonTemplate.fromString("{ \"name\": \"{{ name }}\", }")).isInstanceOf(InvalidJsonException.class);
+    }
+
+    @Test
+    public void fromString_sameTemplateTwice_reusesTokenizedTemplate() {
+        JsonTemplate template = JsonTemplate.fromString("{ \"id\": {{ id }} }");
+
+        assertThat(JsonTemplate.fromString(new String("{ \"id\": {{ id }} }"))).isSameAs(template);
+    }
+}
@@ -0,0 +1,61 @@
+package rocks.bastion.core.load;
+
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptyHistogram_reportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getTotalCount()).isEqualTo(0);
+        assertThat(histogram.getValueAtPercentile(99)).isEqualTo(0);
+        assertThat(histogram.getMinValue()).isEqualTo(0);
+        assertThat(histogram.getMaxValue()).isEqualTo(0);
+    }
+
+    @Test
+    public void smallValues_recordedExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.rangeClosed(1, 100).forEach(histogram::record);
+
+        assertThat(histogram.getTotalCount()).isEqualTo(100);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(50);
+        assertThat(histogram.getValueAtPercentile(90)).isEqualTo(90);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100);
+        assertThat(histogram.getMinValue()).isEqualTo(1);
+        assertThat(histogram.getMean()).isEqualTo(50.5);
+    }
+
+    @Test
+    public void largeValues_withinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1_000_000; value <= 100_000_000; value += 1_000_000) {
+            histogram.record(value);
+        }
+
+        assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(50_000_000, within(50_000_000 / 256.0));
+        assertThat((double) histogram.getValueAtPercentile(99)).isCloseTo(99_000_000, within(99_000_000 / 256.0));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100_000_000);
+        assertThat(histogram.getMaxValue()).isEqualTo(100_000_000);
+    }
+
+    @Test
+    public void hugeValue_recorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void negativeValue_rejected() {
+        assertThatThrownBy(() -> new LatencyHistogram().record(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
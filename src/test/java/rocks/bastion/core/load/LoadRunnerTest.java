@@ -0,0 +1,164 @@
+package rocks.bastion.core.load;
+
+import org.junit.Before;
+import org.junit.Test;
+import rocks.bastion.Bastion;
+import rocks.bastion.core.BastionFactory;
+import rocks.bastion.core.DefaultBastionFactory;
+import rocks.bastion.core.GeneralRequest;
+import rocks.bastion.core.HttpMethod;
+import rocks.bastion.core.StatusCodeAssertions;
+import rocks.bastion.core.feeder.FeedStrategy;
+import rocks.bastion.core.feeder.Feeder;
+import rocks.bastion.core.feeder.FeederExhaustedException;
+import rocks.bastion.core.json.JsonRequest;
+import rocks.bastion.support.embedded.Sushi;
+import rocks.bastion.support.embedded.TestWithEmbeddedServer;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LoadRunnerTest extends TestWithEmbeddedServer {
+
+    @Before
+    public void before() {
+        BastionFactory.setDefaultBastionFactory(new DefaultBastionFactory());
+    }
+
+    @Test
+    public void run_iterations_allRequestsReported() {
+        LoadReport report = Bastion.load(GeneralRequest.get("http://localhost:9876/nigiri"))
+                .bind(Sushi.class)
+                .withAssertions((statusCode, response, model) -> assertThat(model.getName()).isEqualTo("Salmon Nigiri"))
+                .iterations(50)
+                .concurrency(4)
+                .warmUp(10)
+                .run();
+
+        assertThat(report.getIterations()).isEqualTo(50);
+        assertThat(report.getSuccessCount()).isEqualTo(50);
+        assertThat(report.getFailureCount()).isEqualTo(0);
+        assertThat(report.getErrorCount()).isEqualTo(0);
+        assertThat(report.getStatusCodeCounts()).isEqualTo(Collections.singletonMap(200, 50L));
+        assertThat(report.getLatencyHistogram().getTotalCount()).isEqualTo(50);
+        assertThat(report.getLatency(50)).isGreaterThan(Duration.ZERO);
+        assertThat(report.getLatency(99.9)).isLessThanOrEqualTo(report.getMaxLatency());
+        assertThat(report.getThroughput()).isGreaterThan(0);
+    }
+
+    @Test
+    public void run_feeder_oneRequestSentPerRow() {
+        try (Feeder feeder = Feeder.fromCsv("classpath:/rocks/bastion/core/feeder/sushi.csv")) {
+            LoadReport report = Bastion.load(feeder,
+                    row -> JsonRequest.fromTemplate(HttpMethod.POST, "http://localhost:9876/sushi", "classpath:/rocks/bastion/core/feeder/sushi-template.json", row))
+                    .bind(Sushi.class)
+                    .withAssertions(StatusCodeAssertions.expecting(new int[]{201}))
+                    .iterations(10)
+                    .concurrency(2)
+                    .run();
+
+            assertThat(report.getIterations()).isEqualTo(3);
+            assertThat(report.getSuccessCount()).isEqualTo(3);
+            assertThat(report.getStatusCodeCounts()).isEqualTo(Collections.singletonMap(201, 3L));
+        }
+    }
+
+    @Test
+    public void run_feederAtFixedRate_stopsWhenRowsRunOut() {
+        try (Feeder feeder = Feeder.fromCsv("classpath:/rocks/bastion/core/feeder/sushi.csv")) {
+            LoadReport report = Bastion.load(feeder,
+                    row -> JsonRequest.fromTemplate(HttpMethod.POST, "http://localhost:9876/sushi", "classpath:/rocks/bastion/core/feeder/sushi-template.json", row))
+                    .withAssertions(StatusCodeAssertions.expecting(new int[]{201}))
+                    .iterations(10)
+                    .atFixedRate(100)
+                    .run();
+
+            assertThat(report.getIterations()).isEqualTo(3);
+            assertThat(report.getSuccessCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void run_uniqueFeederRunsOutOfRows_throwsAnException() {
+        try (Feeder feeder = Feeder.fromCsv("classpath:/rocks/bastion/core/feeder/sushi.csv", FeedStrategy.UNIQUE)) {
+            LoadRunner<Object> runner = Bastion.load(feeder,
+                    row -> JsonRequest.fromTemplate(HttpMethod.POST, "http://localhost:9876/sushi", "classpath:/rocks/bastion/core/feeder/sushi-template.json", row))
+                    .iterations(5);
+
+            assertThatThrownBy(runner::run).isInstanceOf(FeederExhaustedException.class);
+        }
+    }
+
+    @Test
+    public void run_failingAssertions_failuresCounted() {
+        LoadReport report = Bastion.load(GeneralRequest.get("http://localhost:9876/sushi/{id}").addRouteParam("id", "9999"))
+                .withAssertions(StatusCodeAssertions.expecting(new int[]{200}))
+                .iterations(10)
+                .run();
+
+        assertThat(report.getFailureCount()).isEqualTo(10);
+        assertThat(report.getStatusCodeCounts()).isEqualTo(Collections.singletonMap(404, 10L));
+    }
+
+    @Test
+    public void run_unreachableServer_errorsCounted() {
+        LoadReport report = Bastion.load(GeneralRequest.get("http://localhost:9875/nigiri"))
+                .iterations(5)
+                .run();
+
+        assertThat(report.getErrorCount()).isEqualTo(5);
+        assertThat(report.getStatusCodeCounts()).isEmpty();
+    }
+
+    @Test
+    public void run_duration_stopsAfterDuration() {
+        LoadReport report = Bastion.load(GeneralRequest.get("http://localhost:9876/nigiri"))
+                .duration(Duration.ofMillis(300))
+                .concurrency(2)
+                .run();
+
+        assertThat(report.getIterations()).isGreaterThan(0);
+        assertThat(report.getElapsedTime()).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+    }
+
+    @Test
+    public void run_fixedRate_requestsSpacedBySchedule() {
+        LoadReport report = Bastion.load(GeneralRequest.get("http://localhost:9876/nigiri"))
+                .withAssertions(StatusCodeAssertions.expecting(new int[]{200}))
+                .atFixedRate(100)
+                .iterations(20)
+                .concurrency(4)
+                .run();
+
+        assertThat(report.getIterations()).isEqualTo(20);
+        assertThat(report.getSuccessCount()).isEqualTo(20);
+        assertThat(report.getElapsedTime()).isGreaterThanOrEqualTo(Duration.ofMillis(190));
+    }
+
+    @Test
+    public void run_fixedRateFasterThanServer_missedScheduleCounted() {
+        LoadReport report = Bastion.load(GeneralRequest.get("http://localhost:9876/nigiri"))
+                .atFixedRate(1_000_000)
+                .iterations(20)
+                .run();
+
+        assertThat(report.getIterations()).isEqualTo(20);
+        assertThat(report.getMissedScheduleCount()).isGreaterThan(0);
+        assertThat(report.getMaxLatency()).isGreaterThan(Duration.ofNanos(report.getLatencyHistogram().getMinValue()));
+    }
+
+    @Test
+    public void atFixedRate_invalidRate_rejected() {
+        assertThatThrownBy(() -> Bastion.load(GeneralRequest.get("http://localhost:9876/nigiri")).atFixedRate(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void run_noLimit_rejected() {
+        assertThatThrownBy(() -> Bastion.load(GeneralRequest.get("http://localhost:9876/nigiri")).run())
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
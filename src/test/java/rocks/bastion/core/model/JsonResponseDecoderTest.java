@@ -0,0 +1,58 @@
+package rocks.bastion.core.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+import rocks.bastion.core.ApiHeader;
+import rocks.bastion.core.RawResponse;
+import rocks.bastion.core.Response;
+import rocks.bastion.support.embedded.Sushi;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonResponseDecoderTest {
+
+    private static final String SUSHI_JSON = "{\"id\":5,\"name\":\"Salmon Nigiri\",\"price\":23.55}";
+
+    @Test
+    public void decode_modelType_boundWithoutJsonTree() {
+        Response response = jsonResponse(SUSHI_JSON);
+
+        Optional<?> model = new JsonResponseDecoder().decode(response, new DecodingHints(Sushi.class));
+
+        assertThat(model.get()).isInstanceOf(Sushi.class);
+        assertThat(((Sushi) model.get()).getName()).isEqualTo("Salmon Nigiri");
+        assertThat(response.getDecodedCache().getCachedJsonTree()).isEmpty();
+    }
+
+    @Test
+    public void decode_jsonTreeAlreadyParsed_modelBoundFromTree() {
+        Response response = jsonResponse(SUSHI_JSON);
+        JsonResponseDecoder decoder = new JsonResponseDecoder();
+
+        Object tree = decoder.decode(response, new DecodingHints(null)).get();
+        Object model = decoder.decode(response, new DecodingHints(Sushi.class)).get();
+
+        assertThat(tree).isInstanceOf(JsonNode.class);
+        assertThat(((Sushi) model).getPrice()).isNotNull();
+        assertThat(response.getDecodedCache().getCachedJsonTree()).containsSame((JsonNode) tree);
+    }
+
+    @Test
+    public void decode_modelTypeMismatch_fallsBackToJsonTree() {
+        Response response = jsonResponse("[1, 2, 3]");
+
+        Optional<?> model = new JsonResponseDecoder().decode(response, new DecodingHints(Sushi.class));
+
+        assertThat(model.get()).isInstanceOf(JsonNode.class);
+    }
+
+    private static Response jsonResponse(String json) {
+        return new RawResponse(200, "OK", Collections.singletonList(new ApiHeader("Content-Type", "application/json")),
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,124 @@
+package rocks.bastion.core.model;
+
+import org.junit.Test;
+import rocks.bastion.core.BastionBuilderImpl;
+import rocks.bastion.core.DefaultBastionFactory;
+import rocks.bastion.core.GeneralRequest;
+import rocks.bastion.core.Response;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseDecoderRegistryTest {
+
+    @Test
+    public void getDecoders_registeredMimeType_specificDecodersBeforeWildcards() {
+        ResponseDecoder wildcard = new StringResponseDecoder();
+        ResponseDecoder json = new JsonResponseDecoder();
+        ResponseDecoder xml = mimeTypeDecoder("application/xml", "text/xml");
+        ResponseDecoderRegistry registry = new ResponseDecoderRegistry();
+        registry.registerModelConverter(wildcard);
+        registry.registerModelConverter(json);
+        registry.registerModelConverter(xml);
+
+        assertThat(registry.getDecoders("application/json")).containsExactly(json, wildcard);
+        assertThat(registry.getDecoders("Text/XML")).containsExactly(xml, wildcard);
+        assertThat(registry.getDecoders("text/plain")).containsExactly(wildcard);
+        assertThat(registry.getDecoders(null)).containsExactly(wildcard);
+    }
+
+    @Test
+    public void copy_registerWithCopy_originalUnchanged() {
+        ResponseDecoderRegistry registry = new ResponseDecoderRegistry();
+        registry.registerModelConverter(new JsonResponseDecoder());
+        ResponseDecoderRegistry copy = new ResponseDecoderRegistry(registry);
+        copy.registerModelConverter(new StringResponseDecoder());
+
+        assertThat(registry.getDecoders()).hasSize(1);
+        assertThat(registry.getDecoders("text/plain")).isEmpty();
+        assertThat(copy.getDecoders()).hasSize(2);
+        assertThat(copy.getDecoders("application/json")).hasSize(2);
+    }
+
+    @Test
+    public void defaultFactory_decodersRegisteredOnce() {
+        DefaultBastionFactory factory = new DefaultBastionFactory();
+
+        assertThat(factory.getDecoderRegistry().getDecoders()).hasSize(2);
+        assertThat(factory.getDecoderRegistry().getDecoders("application/json")).hasSize(2);
+        assertThat(factory.getDecoderRegistry().getDecoders("application/json").get(0)).isInstanceOf(JsonResponseDecoder.class);
+        assertThat(factory.getDecoderRegistry().getDecoders("text/html")).hasSize(1);
+        assertThat(factory.getDecoderRegistry().getDecoders("text/html").get(0)).isInstanceOf(StringResponseDecoder.class);
+    }
+
+    @Test
+    public void defaultFactory_overrideUsingSubclassField_registeredLazily() {
+        ResponseDecoder xml = mimeTypeDecoder("application/xml");
+        DefaultBastionFactory factory = new DefaultBastionFactory() {
+            private final ResponseDecoder xmlDecoder = xml;
+
+            @Override
+            protected void registerModelConverters(ResponseDecodersRegistrar bastion) {
+                bastion.registerModelConverter(xmlDecoder);
+            }
+        };
+
+        assertThat(factory.getDecoderRegistry().getDecoders()).containsExactly(xml);
+    }
+
+    @Test
+    public void defaultFactory_subclassRegisteringWithEveryBuilder_registeredWithBuilder() {
+        List<ResponseDecodersRegistrar> registrars = new ArrayList<>();
+        DefaultBastionFactory factory = new DefaultBastionFactory() {
+            @Override
+            protected void prepareBastion(BastionBuilderImpl<?> bastion) {
+                registerModelConverters(bastion);
+                bastion.registerListener(this);
+            }
+
+            @Override
+            protected void registerModelConverters(ResponseDecodersRegistrar bastion) {
+                registrars.add(bastion);
+                super.registerModelConverters(bastion);
+            }
+        };
+
+        BastionBuilderImpl<?> bastion = (BastionBuilderImpl<?>) factory.getBastion("Nigiri", GeneralRequest.get("http://localhost:9876/nigiri"));
+
+        assertThat(registrars).containsExactly(factory.getDecoderRegistry(), bastion);
+        assertThat(factory.getDecoderRegistry().getDecoders()).hasSize(2);
+    }
+
+    @Test
+    public void defaultFactory_sharedConvertersOverridden_registeredWithSharedRegistryOnly() {
+        ResponseDecoder xml = mimeTypeDecoder("application/xml");
+        DefaultBastionFactory factory = new DefaultBastionFactory() {
+            @Override
+            protected void registerSharedModelConverters(ResponseDecoderRegistry decoderRegistry) {
+                super.registerSharedModelConverters(decoderRegistry);
+                decoderRegistry.registerModelConverter(xml);
+            }
+        };
+
+        assertThat(factory.getDecoderRegistry().getDecoders()).hasSize(3).endsWith(xml);
+    }
+
+    private static ResponseDecoder mimeTypeDecoder(String... mimeTypes) {
+        return new ResponseDecoder() {
+            @Override
+            public Optional<?> decode(Response response, DecodingHints hints) {
+                return Optional.empty();
+            }
+
+            @Override
+            public Collection<String> getSupportedMimeTypes() {
+                return Arrays.asList(mimeTypes);
+            }
+        };
+    }
+}
@@ -9,8 +9,10 @@ import rocks.bastion.core.Response;
 import javax.servlet.http.HttpServletResponse;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,4 +40,27 @@ public class ResponsePrinterTest {
                 "}");
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getAsString_contentTypeCharset_bodyDecodedWithCharsetAndNotCached() throws Exception {
+        RawResponse response = new RawResponse(HttpServletResponse.SC_OK, "OK",
+                Arrays.asList(new ApiHeader("Content-type", "text/plain; charset=UTF-8")),
+                new ByteArrayInputStream("Caf\u00e9 \u65e5".getBytes(StandardCharsets.UTF_8)));
+
+        String printed = new ResponsePrinter(response).getAsString();
+
+        assertThat(printed).endsWith("\r\n\r\nCaf\u00e9 \u65e5");
+        assertThat(response.getDecodedCache().getText(StandardCharsets.UTF_8, () -> "not cached")).isEqualTo("not cached");
+    }
+
+    @Test
+    public void getAsString_maxBodyLength_bodyTruncated() throws Exception {
+        ResponsePrinter printer = new ResponsePrinter(new RawResponse(HttpServletResponse.SC_OK, "OK", Collections.emptyList(),
+                new ByteArrayInputStream("Salmon Nigiri".getBytes(StandardCharsets.UTF_8)))).setMaxBodyLength(6);
+
+        assertThat(printer.getAsString()).isEqualTo("HTTP/1.1 200 OK\r\n" +
+                "\r\n" +
+                "Salmon\r\n" +
+                "[response body truncated after 6 characters]");
+    }
+}
@@ -4,12 +4,17 @@ import org.apache.http.entity.ContentType;
 import org.junit.Test;
 import rocks.bastion.core.ApiHeader;
 import rocks.bastion.core.ApiQueryParam;
+import rocks.bastion.core.EncodedRequestBody;
 import rocks.bastion.core.HttpMethod;
+import rocks.bastion.core.StreamedRequestBody;
 import rocks.bastion.core.json.InvalidJsonException;
 import rocks.bastion.core.json.JsonRequest;
+import rocks.bastion.core.json.JsonTemplate;
 import rocks.bastion.core.resource.ResourceNotFoundException;
 
+import java.io.ByteArrayOutputStream;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -82,6 +87,28 @@ public class JsonRequestTest {
                 "}");
     }
 
+    @Test
+    public void fromJsonTemplate_validJson_shouldReturnARequest() throws Exception {
+        JsonTemplate template = JsonTemplate.fromResource(getValidJsonTemplateFile());
+        JsonRequest request = JsonRequest.fromJsonTemplate(HttpMethod.POST, "http://test.test", template, Collections.singletonMap("food", "apples"));
+        assertThat(request.name()).isEqualTo("POST http://test.test");
+        assertThat(request.contentType()).isEqualTo(Optional.of(ContentType.APPLICATION_JSON));
+        assertThat(request.body()).isInstanceOf(EncodedRequestBody.class);
+        assertThat(request.body().toString()).isEqualTo(JsonRequest.fromTemplate(HttpMethod.POST, "http://test.test", getValidJsonTemplateFile(),
+                Collections.singletonMap("food", "apples")).body());
+    }
+
+    @Test
+    public void streamedFromTemplate_validJson_shouldRenderTheBodyWhenWritten() throws Exception {
+        JsonRequest request = JsonRequest.streamedFromTemplate(HttpMethod.POST, "http://test.test", getValidJsonTemplateFile(), Collections.singletonMap("food", "apples"));
+        assertThat(request.body()).isInstanceOf(StreamedRequestBody.class);
+        assertThat(request.contentType()).isEqualTo(Optional.of(ContentType.APPLICATION_JSON));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ((StreamedRequestBody) request.body()).writeTo(body);
+        assertThat(new String(body.toByteArray(), StandardCharsets.UTF_8)).contains("\"food\": \"apples\"").startsWith("{").endsWith("}");
+    }
+
     @Test(expected = ResourceNotFoundException.class)
     public void putFromFile_inexistantFile_shouldThrowAnException() throws Exception {
         JsonRequest request = JsonRequest.putFromResource("http://test.test", "inexistant.json");
@@ -0,0 +1,90 @@
+package rocks.bastion.core.resource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResourceCacheTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("bastion-resource-", ".json");
+        write("{ \"name\":\"first\" }", 10_000);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ResourceCache.setDefaultCache(new ResourceCache());
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Test
+    public void load_sameResource_readOnce() {
+        ResourceCache cache = new ResourceCache();
+        ResourceCache.setDefaultCache(cache);
+
+        String first = new ResourceLoader("classpath:/rocks/bastion/core/request/test-body.json").load();
+        String second = new ResourceLoader("classpath:/rocks/bastion/core/request/test-body.json").load();
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void load_fileModified_readAgain() throws Exception {
+        ResourceCache.setDefaultCache(new ResourceCache());
+        String location = file.toURI().toString();
+
+        assertThat(new ResourceLoader(location).load()).contains("first");
+        write("{ \"name\":\"second\" }", 20_000);
+
+        assertThat(new ResourceLoader(location).load()).contains("second");
+    }
+
+    @Test
+    public void load_modificationTimeNotChecked_cachedContentReturned() throws Exception {
+        ResourceCache.setDefaultCache(new ResourceCache(10, 0, false));
+        String location = file.toURI().toString();
+
+        assertThat(new ResourceLoader(location).load()).contains("first");
+        write("{ \"name\":\"second\" }", 20_000);
+
+        assertThat(new ResourceLoader(location).load()).contains("first");
+        ResourceCache.getDefaultCache().invalidate(location);
+        assertThat(new ResourceLoader(location).load()).contains("second");
+    }
+
+    @Test
+    public void load_missingResource_notCached() {
+        ResourceCache cache = new ResourceCache();
+        ResourceCache.setDefaultCache(cache);
+
+        assertThatThrownBy(() -> new ResourceLoader("classpath:/rocks/bastion/core/request/missing.json")).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void load_zeroMaximumSize_nothingCached() {
+        ResourceCache cache = new ResourceCache(0, 0, true);
+        ResourceCache.setDefaultCache(cache);
+
+        new ResourceLoader("classpath:/rocks/bastion/core/request/test-body.json").load();
+
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    private void write(String content, long lastModified) throws IOException {
+        Files.write(file.toPath(), content.getBytes(Charset.defaultCharset()));
+        assertThat(file.setLastModified(lastModified)).isTrue();
+    }
+}
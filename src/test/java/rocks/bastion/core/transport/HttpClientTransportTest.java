@@ -0,0 +1,111 @@
+package rocks.bastion.core.transport;
+
+import com.google.common.io.CharStreams;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import rocks.bastion.core.ApiHeader;
+import rocks.bastion.core.Response;
+import rocks.bastion.core.StreamedRequestBody;
+import rocks.bastion.core.configuration.ConnectionConfiguration;
+import rocks.bastion.core.configuration.ResponseConfiguration;
+import rocks.bastion.support.embedded.TestWithEmbeddedServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpClientTransportTest extends TestWithEmbeddedServer {
+
+    private HttpClientTransport transport;
+
+    @Before
+    public void before() {
+        transport = new HttpClientTransport();
+    }
+
+    @After
+    public void after() {
+        transport.close();
+    }
+
+    @Test
+    public void execute_configuredConnections_concurrentRequestsSucceed() throws Exception {
+        transport.configure(new ConnectionConfiguration()
+                .setMaxTotalConnections(8)
+                .setMaxConnectionsPerRoute(8)
+                .setKeepAliveDuration(10000)
+                .setIdleEvictionInterval(1000)
+                .setSocketSendBufferSize(32 * 1024)
+                .setSocketReceiveBufferSize(32 * 1024));
+
+        List<CompletableFuture<Response>> responses = IntStream.range(0, 32).mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return transport.execute(getNigiri());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        })).collect(Collectors.toList());
+
+        for (CompletableFuture<Response> response : responses) {
+            assertThat(response.get().getStatusCode()).isEqualTo(200);
+            assertThat(response.get().getHeaders()).contains(new ApiHeader("content-type", "application/json"));
+        }
+    }
+
+    @Test
+    public void execute_notConfigured_usesDefaultConnectionSettings() throws Exception {
+        assertThat(transport.execute(getNigiri()).getStatusCode()).isEqualTo(200);
+    }
+
+    @Test
+    public void configure_afterClose_transportUsable() throws Exception {
+        transport.configure(new ConnectionConfiguration());
+        transport.close();
+        transport.configure(new ConnectionConfiguration().setTcpNoDelay(false));
+
+        assertThat(transport.execute(getNigiri()).getStatusCode()).isEqualTo(200);
+    }
+
+    @Test
+    public void execute_afterClose_lastConnectionSettingsReused() throws Exception {
+        List<ConnectionConfiguration> configurations = new ArrayList<>();
+        transport = new HttpClientTransport() {
+            @Override
+            public synchronized void configure(ConnectionConfiguration connectionConfiguration) {
+                configurations.add(connectionConfiguration);
+                super.configure(connectionConfiguration);
+            }
+        };
+        ConnectionConfiguration connectionConfiguration = new ConnectionConfiguration().setMaxTotalConnections(4).setKeepAliveDuration(5000);
+        transport.configure(connectionConfiguration);
+        transport.close();
+
+        assertThat(transport.execute(getNigiri()).getStatusCode()).isEqualTo(200);
+        assertThat(configurations).containsExactly(connectionConfiguration, connectionConfiguration);
+    }
+
+    @Test
+    public void execute_streamedBody_bodySent() throws Exception {
+        byte[] body = "{\"name\":\"streamed happiness\",\"price\":5.85}".getBytes(StandardCharsets.UTF_8);
+        TransportRequest request = new TransportRequest("POST", "http://localhost:9876/sushi", Collections.singletonList(new ApiHeader("Content-Type", "application/json")),
+                null, StreamedRequestBody.fromInputStream(() -> new ByteArrayInputStream(body), body.length), 1000, 1000, 0, false, new ResponseConfiguration());
+
+        Response response = transport.execute(request);
+
+        assertThat(response.getStatusCode()).isEqualTo(201);
+        assertThat(CharStreams.toString(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))).contains("\"name\":\"streamed happiness\"");
+    }
+
+    private static TransportRequest getNigiri() {
+        return new TransportRequest("GET", "http://localhost:9876/nigiri", Collections.emptyList(), null, 1000, 1000, 0);
+    }
+}
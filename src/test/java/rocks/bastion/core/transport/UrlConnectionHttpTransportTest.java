@@ -0,0 +1,140 @@
+package rocks.bastion.core.transport;
+
+import com.google.common.io.CharStreams;
+import org.apache.http.entity.ContentType;
+import org.junit.Before;
+import org.junit.Test;
+import rocks.bastion.core.ApiHeader;
+import rocks.bastion.core.GeneralRequest;
+import rocks.bastion.core.RequestExecutor;
+import rocks.bastion.core.Response;
+import rocks.bastion.core.StreamedRequestBody;
+import rocks.bastion.core.StreamingResponse;
+import rocks.bastion.core.TemplateContentCompiler;
+import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.configuration.ResponseConfiguration;
+import rocks.bastion.support.CreateSushiRequest;
+import rocks.bastion.support.embedded.TestWithEmbeddedServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class UrlConnectionHttpTransportTest extends TestWithEmbeddedServer {
+
+    private Configuration configuration;
+
+    @Before
+    public void before() {
+        configuration = new Configuration();
+        configuration.setTransportType(UrlConnectionHttpTransport.class);
+    }
+
+    @Test
+    public void execute_get_receivesResponse() throws Exception {
+        Response response = new RequestExecutor(GeneralRequest.get("http://localhost:9876/nigiri"), configuration).execute();
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.getStatusText()).isEqualTo("OK");
+        assertThat(response.getHeaders()).contains(new ApiHeader("content-type", "application/json"));
+        assertThat(CharStreams.toString(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8)))
+                .isEqualTo("{\"id\":5,\"name\":\"Salmon Nigiri\",\"price\":23.55}");
+    }
+
+    @Test
+    public void execute_postWithBody_bodySent() throws Exception {
+        Response response = new RequestExecutor(new CreateSushiRequest(), configuration).execute();
+
+        assertThat(response.getStatusCode()).isEqualTo(201);
+        assertThat(CharStreams.toString(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))).contains("\"name\":\"happiness\"");
+    }
+
+    @Test
+    public void execute_postWithStreamedFileBody_bodySent() throws Exception {
+        Path file = Files.createTempFile("bastion-request-", ".json");
+        try {
+            Files.write(file, "{\"name\":\"streamed happiness\",\"price\":5.85}".getBytes(StandardCharsets.UTF_8));
+            GeneralRequest request = GeneralRequest.post("http://localhost:9876/sushi", StreamedRequestBody.fromPath(file)).setContentType(ContentType.APPLICATION_JSON);
+            RequestExecutor executor = new RequestExecutor(request, configuration);
+
+            for (int i = 0; i < 2; i++) {
+                Response response = executor.execute();
+                assertThat(response.getStatusCode()).isEqualTo(201);
+                assertThat(CharStreams.toString(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))).contains("\"name\":\"streamed happiness\"");
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void execute_postWithTemplateBody_templateRenderedIntoTheRequest() throws Exception {
+        TemplateContentCompiler compiler = new TemplateContentCompiler("{\"name\":\"{{ name }}\",\"price\":5.85}");
+        compiler.addVariableAssignment("name", "rendered happiness");
+        GeneralRequest request = GeneralRequest.post("http://localhost:9876/sushi", StreamedRequestBody.fromTemplate(compiler))
+                .setContentType(ContentType.APPLICATION_JSON);
+
+        Response response = new RequestExecutor(request, configuration).execute();
+
+        assertThat(response.getStatusCode()).isEqualTo(201);
+        assertThat(CharStreams.toString(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))).contains("\"name\":\"rendered happiness\"");
+    }
+
+    @Test
+    public void execute_postWithStreamedBodyOfUnknownLength_bodySentInChunks() throws Exception {
+        byte[] body = "{\"name\":\"chunked happiness\",\"price\":5.85}".getBytes(StandardCharsets.UTF_8);
+        GeneralRequest request = GeneralRequest.post("http://localhost:9876/sushi", StreamedRequestBody.fromInputStream(() -> new ByteArrayInputStream(body)))
+                .setContentType(ContentType.APPLICATION_JSON);
+
+        Response response = new RequestExecutor(request, configuration).execute();
+
+        assertThat(response.getStatusCode()).isEqualTo(201);
+        assertThat(CharStreams.toString(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))).contains("\"name\":\"chunked happiness\"");
+    }
+
+    @Test
+    public void execute_notFound_errorBodyRead() {
+        Response response = new RequestExecutor(GeneralRequest.get("http://localhost:9876/sushi/{id}").addRouteParam("id", "9999"), configuration).execute();
+
+        assertThat(response.getStatusCode()).isEqualTo(404);
+    }
+
+    @Test
+    public void execute_patch_unsupported() {
+        RequestExecutor executor = new RequestExecutor(GeneralRequest.patch("http://localhost:9876/sushi", "{}"), configuration);
+
+        assertThatThrownBy(executor::execute).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test(timeout = 3000L)
+    public void execute_deadlineExpires_requestAborted() {
+        RequestExecutor executor = new RequestExecutor(GeneralRequest.get("http://localhost:9876/chikuzen-ni").setDeadline(1000L), configuration);
+
+        assertThatThrownBy(executor::execute)
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("Failed to receive response before deadline of [1000] ms");
+    }
+
+    @Test
+    public void execute_streamResponse_bodyReadFromConnection() throws Exception {
+        Response response = new RequestExecutor(GeneralRequest.get("http://localhost:9876/nigiri").setStreamResponse(true), configuration).execute();
+
+        assertThat(response).isInstanceOf(StreamingResponse.class);
+        try (StreamingResponse streamingResponse = (StreamingResponse) response) {
+            assertThat(CharStreams.toString(new InputStreamReader(streamingResponse.getBody(), StandardCharsets.UTF_8))).contains("Salmon Nigiri");
+        }
+    }
+
+    @Test
+    public void execute_bodyLargerThanMaxBufferSize_rejected() {
+        configuration.setResponseConfiguration(new ResponseConfiguration().setMaxBufferSize(10));
+        RequestExecutor executor = new RequestExecutor(GeneralRequest.get("http://localhost:9876/nigiri"), configuration);
+
+        assertThatThrownBy(executor::execute).isInstanceOf(IllegalStateException.class);
+    }
+}
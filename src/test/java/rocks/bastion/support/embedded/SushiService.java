@@ -5,8 +5,11 @@ import com.google.gson.JsonParseException;
 import spark.ResponseTransformer;
 import spark.Spark;
 
+import javax.servlet.MultipartConfigElement;
+import javax.servlet.http.Part;
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -110,6 +113,17 @@ public class SushiService {
             return sushi;
         }, json);
 
+        post("/photos", (req, res) -> {
+            res.header("Content-type", "application/json");
+            req.raw().setAttribute("org.eclipse.jetty.multipartConfig", new MultipartConfigElement(System.getProperty("java.io.tmpdir")));
+            Map<String, String> uploadedParts = new LinkedHashMap<>();
+            for (Part part : req.raw().getParts()) {
+                uploadedParts.put(part.getName(), part.getSubmittedFileName() + "|" + part.getContentType() + "|" + part.getSize());
+            }
+            uploadedParts.put("Content-Length", String.valueOf(req.raw().getContentLengthLong()));
+            return uploadedParts;
+        }, json);
+
         get("/chikuzen-ni", (req, res) -> {
                     res.header("Content-type", "application/json");
                     Sushi sushi = new Sushi();